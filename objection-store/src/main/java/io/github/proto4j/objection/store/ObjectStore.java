@@ -0,0 +1,633 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.store; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.ObjectSerializer;
+import io.github.proto4j.objection.Objection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An embedded key-value store that writes every change as an
+ * Objection-encoded record to append-only segment files. An in-memory hash
+ * index maps each key to the location of its latest value, so a lookup reads
+ * and decodes exactly one value:
+ * <pre>
+ *     try (ObjectStore&lt;String, Account&gt; store = ObjectStore.open(dir, String.class, config)) {
+ *         store.put("alice", account);
+ *         Account value = store.get("alice");
+ *     }
+ * </pre>
+ * Keys are encoded with the serializer the configuration provides for the key
+ * type, values with the given {@link Marshaller}. The index is rebuilt from
+ * the segment files when the store is opened; records that are incomplete at
+ * the end of the last segment, e.g. after a crash, are dropped.
+ * <p>
+ * Overwritten and removed values remain in their segment until it is
+ * compacted. Each completed segment whose share of dead records exceeds the
+ * compaction ratio is compacted on its own: its live records are copied into
+ * a new file without blocking writers, which then replaces the segment. This
+ * runs in the background if enabled in the {@link StoreOptions} or can be
+ * triggered via {@link #compact()}.
+ * <p>
+ * Decoded values are kept in a cache with least-recently-used eviction, so
+ * the returned instances are shared and must not be modified. All methods
+ * are thread-safe; writes are serialized.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see StoreOptions
+ */
+public final class ObjectStore<K, V> implements Closeable {
+
+    private final Path directory;
+    private final Class<K> keyType;
+    private final Marshaller<V> marshaller;
+    private final OSharedConfiguration configuration;
+    private final StoreOptions options;
+    private final ObjectSerializer keySerializer;
+    private final OSerializationContext keyContext;
+
+    private final ConcurrentHashMap<K, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, StoreSegment> segments = new ConcurrentSkipListMap<>();
+    private final Map<K, Cached<V>> cache;
+
+    // guards the lifetime of segments: reads hold the read lock, deleting
+    // segments requires the write lock
+    private final ReadWriteLock segmentLock = new ReentrantReadWriteLock();
+    private final Object writeLock = new Object();
+    // serializes compactions; held by close() to wait for a running one
+    private final Object compactionLock = new Object();
+    private final ScheduledExecutorService compactor;
+
+    private StoreSegment active;
+    private volatile boolean closed;
+
+    private ObjectStore(Path directory, Class<K> keyType, Marshaller<V> marshaller,
+                        OSharedConfiguration configuration, StoreOptions options) {
+        this.directory = directory;
+        this.keyType = keyType;
+        this.marshaller = marshaller;
+        this.configuration = configuration;
+        this.options = options;
+        this.keySerializer = configuration.forType(keyType);
+        if (keySerializer == null) {
+            throw new IllegalArgumentException("No serializer for key type " + keyType.getName());
+        }
+        this.keyContext = new BasicSerializationContext(null, null, configuration);
+
+        int cacheSize = options.getCacheSize();
+        this.cache = cacheSize == 0 ? null : Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Cached<V>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+
+        if (options.getCompactionIntervalMillis() > 0) {
+            this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "objection-store-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.compactor = null;
+        }
+    }
+
+    /**
+     * Opens or creates the store in the given directory with the default
+     * options.
+     *
+     * @param directory the directory of the segment files
+     * @param keyType the key type, which must have a serializer
+     * @param configuration the configuration used to read and write values
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the opened store
+     * @throws IOException if the store could not be opened
+     */
+    public static <K, V> ObjectStore<K, V> open(Path directory, Class<K> keyType,
+                                                OSharedConfiguration configuration) throws IOException {
+        return open(directory, keyType, Objection.createMarshaller(configuration), configuration,
+                StoreOptions.defaults());
+    }
+
+    /**
+     * Opens or creates the store in the given directory.
+     *
+     * @param directory the directory of the segment files
+     * @param keyType the key type, which must have a serializer
+     * @param marshaller the marshaller used to encode the values
+     * @param configuration the configuration used to read and write values
+     * @param options the store settings
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the opened store
+     * @throws IOException if the store could not be opened
+     */
+    public static <K, V> ObjectStore<K, V> open(Path directory, Class<K> keyType, Marshaller<V> marshaller,
+                                                OSharedConfiguration configuration, StoreOptions options)
+            throws IOException {
+        Files.createDirectories(directory);
+        ObjectStore<K, V> store = new ObjectStore<>(directory, keyType, marshaller, configuration, options);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        if (store.compactor != null) {
+            long interval = options.getCompactionIntervalMillis();
+            store.compactor.scheduleWithFixedDelay(store::compactIfNeeded, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return store;
+    }
+
+    /**
+     * Returns the value stored for the given key.
+     *
+     * @param key the key
+     * @return the stored value or {@code null} if there is none
+     * @throws IOException if the value could not be read
+     * @throws ReflectiveOperationException if the value could not be created
+     */
+    public V get(K key) throws IOException, ReflectiveOperationException {
+        Objects.requireNonNull(key);
+        ensureOpen();
+        segmentLock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            if (cache != null) {
+                Cached<V> cached = cache.get(key);
+                // entries of older locations are outdated
+                if (cached != null && cached.location == location) {
+                    return cached.value;
+                }
+            }
+
+            byte[] data = location.segment.read(location.valueOffset(), location.valueLength());
+            V value = marshaller.getInstance(new DataInputStream(new ByteArrayInputStream(data)), configuration);
+            if (cache != null) {
+                cache.put(key, new Cached<>(location, value));
+            }
+            return value;
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the given value for the given key.
+     *
+     * @param key the key
+     * @param value the value to store
+     * @throws IOException if the value could not be written
+     * @throws ReflectiveOperationException if the value could not be marshalled
+     */
+    public void put(K key, V value) throws IOException, ReflectiveOperationException {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        byte[] keyData = encodeKey(key);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        marshaller.marshall(value, new DataOutputStream(bytes));
+        write(key, StoreSegment.newRecord(StoreSegment.PUT, keyData, bytes.toByteArray()));
+    }
+
+    /**
+     * Removes the value of the given key.
+     *
+     * @param key the key
+     * @return true, if a value was removed
+     * @throws IOException if the removal could not be written
+     */
+    public boolean remove(K key) throws IOException {
+        Objects.requireNonNull(key);
+        if (!index.containsKey(key)) {
+            return false;
+        }
+        return write(key, StoreSegment.newRecord(StoreSegment.DELETE, encodeKey(key), null));
+    }
+
+    /**
+     * @param key the key
+     * @return true, if a value is stored for the given key
+     */
+    public boolean containsKey(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * @return the amount of stored values
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return a snapshot of all stored keys
+     */
+    public Set<K> keySet() {
+        return new HashSet<>(index.keySet());
+    }
+
+    /**
+     * @return the amount of bytes occupied by overwritten or removed values
+     */
+    public long getDeadBytes() {
+        long dead = 0;
+        for (StoreSegment segment : segments.values()) {
+            dead += segment.getDeadBytes();
+        }
+        return dead;
+    }
+
+    /**
+     * @return the amount of bytes of all segment files
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (StoreSegment segment : segments.values()) {
+            total += segment.getSize();
+        }
+        return total;
+    }
+
+    /**
+     * @return the amount of segment files
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Forces all written records to disk.
+     *
+     * @throws IOException if an error occurs
+     */
+    public void sync() throws IOException {
+        synchronized (writeLock) {
+            ensureOpen();
+            active.sync();
+        }
+    }
+
+    /**
+     * Compacts all segments that contain overwritten or removed records.
+     *
+     * @throws IOException if an error occurs while copying
+     */
+    public void compact() throws IOException {
+        compact(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        if (compactor != null) {
+            compactor.shutdown();
+        }
+
+        // a running compaction stops at the next record
+        synchronized (compactionLock) {
+            segmentLock.writeLock().lock();
+            try {
+                IOException error = null;
+                for (StoreSegment segment : segments.values()) {
+                    try {
+                        if (segment == active) {
+                            segment.sync();
+                        }
+                        segment.close();
+                    } catch (IOException e) {
+                        if (error == null) error = e;
+                    }
+                }
+                if (error != null) {
+                    throw error;
+                }
+            } finally {
+                segmentLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + StoreSegment.SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String id = name.substring(0, name.length() - StoreSegment.SUFFIX.length());
+                if (id.matches("\\d{10}")) {
+                    ids.add(Integer.parseInt(id));
+                }
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                "*" + StoreSegment.COMPACTION_SUFFIX)) {
+            // left behind by an interrupted compaction
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Collections.sort(ids);
+        if (ids.isEmpty()) {
+            ids.add(0);
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            StoreSegment segment = StoreSegment.open(directory, ids.get(i));
+            segments.put(segment.getId(), segment);
+            // only the last segment may end with an incomplete record
+            boolean last = i == ids.size() - 1;
+            segment.scan(last, (kind, key, position, recordLength) -> {
+                K k = decodeKey(key);
+                Location previous = kind == StoreSegment.PUT
+                        ? index.put(k, new Location(segment, position, recordLength, key.length))
+                        : index.remove(k);
+                if (previous != null) {
+                    previous.segment.addDeadBytes(previous.recordLength);
+                }
+                if (kind == StoreSegment.DELETE) {
+                    segment.addDeadBytes(recordLength);
+                }
+            });
+            active = segment;
+        }
+    }
+
+    private boolean write(K key, ByteBuffer record) throws IOException {
+        synchronized (writeLock) {
+            ensureOpen();
+            int recordLength = record.remaining();
+            if (active.getSize() > 0 && active.getSize() + recordLength > options.getSegmentSize()) {
+                roll();
+            }
+
+            Location previous;
+            if (record.get(StoreSegment.HEADER_SIZE) == StoreSegment.PUT) {
+                int keyLength = record.getInt(StoreSegment.HEADER_SIZE + 1);
+                previous = index.put(key, append(record, keyLength));
+            } else {
+                append(record, 0);
+                previous = index.remove(key);
+                active.addDeadBytes(recordLength);
+            }
+            if (previous != null) {
+                previous.segment.addDeadBytes(previous.recordLength);
+            }
+            if (options.isSyncOnWrite()) {
+                active.sync();
+            }
+            return previous != null;
+        }
+    }
+
+    private Location append(ByteBuffer record, int keyLength) throws IOException {
+        int recordLength = record.remaining();
+        long position = active.append(record);
+        return new Location(active, position, recordLength, keyLength);
+    }
+
+    private void roll() throws IOException {
+        if (active.getSize() == 0) {
+            return;
+        }
+        active.sync();
+        StoreSegment segment = StoreSegment.open(directory, active.getId() + 1);
+        segments.put(segment.getId(), segment);
+        active = segment;
+    }
+
+    private void compactIfNeeded() {
+        if (closed) {
+            return;
+        }
+        try {
+            compact(options.getCompactionRatio());
+        } catch (IOException | RuntimeException e) {
+            // the records are still present, so the compaction is simply
+            // retried on the next run. Exceptions must not escape, as they
+            // would cancel all further runs.
+        }
+    }
+
+    private void compact(double ratio) throws IOException {
+        synchronized (compactionLock) {
+            List<StoreSegment> targets = new ArrayList<>();
+            synchronized (writeLock) {
+                ensureOpen();
+                if (needsCompaction(active, ratio)) {
+                    roll();
+                }
+                for (StoreSegment segment : segments.headMap(active.getId()).values()) {
+                    if (needsCompaction(segment, ratio)) {
+                        targets.add(segment);
+                    }
+                }
+            }
+            for (StoreSegment segment : targets) {
+                compact(segment);
+            }
+        }
+    }
+
+    private static boolean needsCompaction(StoreSegment segment, double ratio) {
+        long dead = segment.getDeadBytes();
+        return dead > 0 && dead >= segment.getSize() * ratio;
+    }
+
+    /**
+     * Copies the live records of the given completed segment into a new file
+     * and replaces the segment afterwards. Only the replacement blocks
+     * writers; index entries that changed in the meantime are left as they
+     * are.
+     */
+    private void compact(StoreSegment segment) throws IOException {
+        // segments are never added in front of a completed one
+        boolean oldest = segments.firstKey() == segment.getId();
+        List<Moved<K>> moved = new ArrayList<>();
+        StoreSegment copy = StoreSegment.openCompaction(directory, segment.getId());
+        boolean replaced = false;
+        try {
+            segment.scan(false, (kind, key, position, recordLength) -> {
+                if (closed) {
+                    throw new IOException("Store is closed");
+                }
+                K k = decodeKey(key);
+                Location location = index.get(k);
+                if (kind == StoreSegment.PUT) {
+                    if (location == null || location.segment != segment || location.position != position) {
+                        return;
+                    }
+                } else if (oldest || location != null) {
+                    // removals are only needed while an older segment may
+                    // still contain a value of the key
+                    return;
+                }
+                long target = copy.append(ByteBuffer.wrap(segment.read(position, recordLength)));
+                if (location != null) {
+                    moved.add(new Moved<>(k, location, new Location(copy, target, recordLength, location.keyLength)));
+                }
+            });
+            copy.sync();
+
+            synchronized (writeLock) {
+                ensureOpen();
+                if (copy.getSize() == 0) {
+                    segments.remove(segment.getId());
+                } else {
+                    copy.replace(segment);
+                    replaced = true;
+                    for (Moved<K> entry : moved) {
+                        if (!index.replace(entry.key, entry.from, entry.to)) {
+                            // overwritten or removed while copying
+                            copy.addDeadBytes(entry.to.recordLength);
+                        }
+                    }
+                    segments.put(segment.getId(), copy);
+                }
+            }
+        } finally {
+            if (!replaced) {
+                copy.delete();
+            }
+        }
+
+        segmentLock.writeLock().lock();
+        try {
+            // the file of a replaced segment already belongs to the copy
+            if (replaced) {
+                segment.close();
+            } else {
+                segment.delete();
+            }
+        } finally {
+            segmentLock.writeLock().unlock();
+        }
+    }
+
+    private byte[] encodeKey(K key) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        keySerializer.writeObject(new DataOutputStream(bytes), key, keyContext);
+        return bytes.toByteArray();
+    }
+
+    private K decodeKey(byte[] key) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(key));
+        return keyType.cast(keySerializer.getInstance(keyType, input, keyContext));
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Store is closed");
+        }
+    }
+
+    /**
+     * The location of a record within a segment.
+     */
+    private static final class Location {
+        final StoreSegment segment;
+        final long position;
+        final int recordLength;
+        final int keyLength;
+
+        Location(StoreSegment segment, long position, int recordLength, int keyLength) {
+            this.segment = segment;
+            this.position = position;
+            this.recordLength = recordLength;
+            this.keyLength = keyLength;
+        }
+
+        long valueOffset() {
+            return position + StoreSegment.HEADER_SIZE + StoreSegment.ENTRY_HEADER_SIZE + keyLength;
+        }
+
+        int valueLength() {
+            return recordLength - StoreSegment.HEADER_SIZE - StoreSegment.ENTRY_HEADER_SIZE - keyLength;
+        }
+    }
+
+    private static final class Moved<K> {
+        final K key;
+        final Location from;
+        final Location to;
+
+        Moved(K key, Location from, Location to) {
+            this.key = key;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private static final class Cached<V> {
+        final Location location;
+        final V value;
+
+        Cached(Location location, V value) {
+            this.location = location;
+            this.value = value;
+        }
+    }
+}
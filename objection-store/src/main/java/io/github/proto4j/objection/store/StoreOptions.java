@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.store; //@date 19.10.2026
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable settings of an {@link ObjectStore}.
+ * <p>
+ * A segment file is completed as soon as the next record would exceed the
+ * segment size. Records that were overwritten or removed stay in their
+ * segment until it is compacted; this happens in the background once the
+ * share of such records within a segment exceeds the compaction ratio.
+ * Decoded values are kept in a cache of the given size.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see ObjectStore
+ */
+public final class StoreOptions {
+
+    /**
+     * The default maximum size of a segment file.
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * The default amount of cached values.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    /**
+     * The default share of dead records that triggers a compaction.
+     */
+    public static final double DEFAULT_COMPACTION_RATIO = 0.5;
+
+    /**
+     * The default interval in which the need for a compaction is checked.
+     */
+    public static final long DEFAULT_COMPACTION_INTERVAL_MILLIS = 60_000;
+
+    private final long segmentSize;
+    private final int cacheSize;
+    private final double compactionRatio;
+    private final long compactionIntervalMillis;
+    private final boolean syncOnWrite;
+
+    private StoreOptions(long segmentSize, int cacheSize, double compactionRatio,
+                         long compactionIntervalMillis, boolean syncOnWrite) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Invalid cache size: " + cacheSize);
+        }
+        if (!(compactionRatio > 0 && compactionRatio <= 1)) {
+            throw new IllegalArgumentException("Invalid compaction ratio: " + compactionRatio);
+        }
+        if (compactionIntervalMillis < 0) {
+            throw new IllegalArgumentException("Invalid compaction interval: " + compactionIntervalMillis);
+        }
+        this.segmentSize = segmentSize;
+        this.cacheSize = cacheSize;
+        this.compactionRatio = compactionRatio;
+        this.compactionIntervalMillis = compactionIntervalMillis;
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    /**
+     * @return the default options, which do not force every write to disk
+     */
+    public static StoreOptions defaults() {
+        return new StoreOptions(DEFAULT_SEGMENT_SIZE, DEFAULT_CACHE_SIZE, DEFAULT_COMPACTION_RATIO,
+                DEFAULT_COMPACTION_INTERVAL_MILLIS, false);
+    }
+
+    /**
+     * @param segmentSize the maximum size of a segment file in bytes
+     * @return a copy of these options with the given segment size
+     */
+    public StoreOptions withSegmentSize(long segmentSize) {
+        return new StoreOptions(segmentSize, cacheSize, compactionRatio, compactionIntervalMillis, syncOnWrite);
+    }
+
+    /**
+     * @param cacheSize the amount of cached values, zero disables the cache
+     * @return a copy of these options with the given cache size
+     */
+    public StoreOptions withCacheSize(int cacheSize) {
+        return new StoreOptions(segmentSize, cacheSize, compactionRatio, compactionIntervalMillis, syncOnWrite);
+    }
+
+    /**
+     * @param compactionRatio the share of dead records of a segment that
+     *         triggers its compaction, in {@code (0, 1]}
+     * @return a copy of these options with the given ratio
+     */
+    public StoreOptions withCompactionRatio(double compactionRatio) {
+        return new StoreOptions(segmentSize, cacheSize, compactionRatio, compactionIntervalMillis, syncOnWrite);
+    }
+
+    /**
+     * @param interval the interval of the background compaction check, zero
+     *         disables background compaction
+     * @param unit the unit of the interval
+     * @return a copy of these options with the given interval
+     */
+    public StoreOptions withCompactionInterval(long interval, TimeUnit unit) {
+        return new StoreOptions(segmentSize, cacheSize, compactionRatio, unit.toMillis(interval), syncOnWrite);
+    }
+
+    /**
+     * @param syncOnWrite whether every write is forced to disk
+     * @return a copy of these options with the given setting
+     */
+    public StoreOptions withSyncOnWrite(boolean syncOnWrite) {
+        return new StoreOptions(segmentSize, cacheSize, compactionRatio, compactionIntervalMillis, syncOnWrite);
+    }
+
+    /**
+     * @return the maximum size of a segment file in bytes
+     */
+    public long getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * @return the amount of cached values
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @return the share of dead records of a segment that triggers its compaction
+     */
+    public double getCompactionRatio() {
+        return compactionRatio;
+    }
+
+    /**
+     * @return the interval of the background compaction check in milliseconds
+     */
+    public long getCompactionIntervalMillis() {
+        return compactionIntervalMillis;
+    }
+
+    /**
+     * @return whether every write is forced to disk
+     */
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.store; //@date 19.10.2026
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A single append-only segment file of an {@link ObjectStore}. Each record is
+ * stored as follows:
+ * <pre>
+ * ┌──────────┬────────────┬────────────┬──────────────┬─────────────┬────────────────┐
+ * │ len: int │ crc32: int │ kind: byte │ key_len: int │ key: byte[] │ value: byte[]  │
+ * └──────────┴────────────┴────────────┴──────────────┴─────────────┴────────────────┘
+ * </pre>
+ * The length and checksum cover everything behind the checksum. Records of
+ * kind {@link #DELETE} carry no value.
+ * <p>
+ * A segment is compacted by copying its live records into a new file, which
+ * then atomically replaces the original one.
+ */
+final class StoreSegment implements Closeable {
+
+    static final String SUFFIX = ".seg";
+    static final String COMPACTION_SUFFIX = ".compact";
+
+    static final byte PUT = 0;
+    static final byte DELETE = 1;
+
+    // length and CRC-32 of the record
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+    // kind and key length
+    static final int ENTRY_HEADER_SIZE = 1 + Integer.BYTES;
+
+    /**
+     * Receives the records of a segment while it is scanned.
+     */
+    interface Visitor {
+        void visit(byte kind, byte[] key, long position, int recordLength) throws IOException;
+    }
+
+    private final int id;
+    private final FileChannel channel;
+    private volatile Path path;
+    private volatile long size;
+    // only modified while holding the write lock of the store
+    private volatile long deadBytes;
+
+    private StoreSegment(int id, Path path, FileChannel channel) throws IOException {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.size = channel.size();
+    }
+
+    static StoreSegment open(Path directory, int id) throws IOException {
+        return openFile(directory.resolve(String.format("%010d%s", id, SUFFIX)), id);
+    }
+
+    /**
+     * Creates an empty file that receives the compacted records of the
+     * segment with the given id.
+     */
+    static StoreSegment openCompaction(Path directory, int id) throws IOException {
+        Path path = directory.resolve(String.format("%010d%s", id, COMPACTION_SUFFIX));
+        Files.deleteIfExists(path);
+        return openFile(path, id);
+    }
+
+    private static StoreSegment openFile(Path path, int id) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new StoreSegment(id, path, channel);
+    }
+
+    /**
+     * Creates a record with the given content and a valid checksum.
+     */
+    static ByteBuffer newRecord(byte kind, byte[] key, byte[] value) {
+        int length = ENTRY_HEADER_SIZE + key.length + (value != null ? value.length : 0);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + length);
+        record.putInt(length).putInt(0).put(kind).putInt(key.length).put(key);
+        if (value != null) {
+            record.put(value);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), HEADER_SIZE, length);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return record.flip();
+    }
+
+    int getId() {
+        return id;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the amount of bytes of records that were overwritten or removed
+     */
+    long getDeadBytes() {
+        return deadBytes;
+    }
+
+    void addDeadBytes(long bytes) {
+        deadBytes += bytes;
+    }
+
+    /**
+     * Appends the given record and returns its position.
+     */
+    long append(ByteBuffer record) throws IOException {
+        long position = size;
+        long offset = position;
+        while (record.hasRemaining()) {
+            offset += channel.write(record, offset);
+        }
+        size = offset;
+        return position;
+    }
+
+    /**
+     * Reads the given range of the segment file.
+     */
+    byte[] read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of segment " + path);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Passes all records to the given visitor. If requested, every record is
+     * validated and the file is truncated in front of the first record that
+     * is incomplete or fails its checksum.
+     */
+    void scan(boolean verify, Visitor visitor) throws IOException {
+        long end = channel.size();
+        long position = 0;
+        while (position + HEADER_SIZE + ENTRY_HEADER_SIZE <= end) {
+            ByteBuffer header = ByteBuffer.wrap(read(position, HEADER_SIZE + ENTRY_HEADER_SIZE));
+            int length = header.getInt();
+            int crc = header.getInt();
+            byte kind = header.get();
+            int keyLength = header.getInt();
+            if (length < ENTRY_HEADER_SIZE || keyLength < 0 || keyLength > length - ENTRY_HEADER_SIZE
+                    || position + HEADER_SIZE + length > end) {
+                break;
+            }
+
+            byte[] key;
+            if (verify) {
+                byte[] content = read(position + HEADER_SIZE, length);
+                CRC32 checksum = new CRC32();
+                checksum.update(content);
+                if ((int) checksum.getValue() != crc) {
+                    break;
+                }
+                key = new byte[keyLength];
+                System.arraycopy(content, ENTRY_HEADER_SIZE, key, 0, keyLength);
+            } else {
+                key = read(position + HEADER_SIZE + ENTRY_HEADER_SIZE, keyLength);
+            }
+            visitor.visit(kind, key, position, HEADER_SIZE + length);
+            position += HEADER_SIZE + length;
+        }
+
+        if (position != end) {
+            if (!verify) {
+                throw new IOException("Corrupted segment " + path + " at " + position);
+            }
+            channel.truncate(position);
+        }
+        size = position;
+    }
+
+    void sync() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Atomically replaces the file of the given segment with the file of this
+     * segment. The channel of the original segment stays readable until it is
+     * closed.
+     */
+    void replace(StoreSegment original) throws IOException {
+        Files.move(path, original.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        path = original.path;
+    }
+
+    /**
+     * Closes and removes the segment file.
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.proto4j.test.objection.store; //@date 19.10.2026
+
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.store.ObjectStore;
+import io.github.proto4j.objection.store.StoreOptions;
+import io.github.proto4j.test.objection.store.model.Account;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+//! Model class: .model.Account
+public class StoreTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        StoreOptions options = StoreOptions.defaults()
+                .withSegmentSize(4096)
+                .withCacheSize(16)
+                .withCompactionInterval(0, TimeUnit.MILLISECONDS);
+        Path directory = Files.createTempDirectory("objection-store");
+        try {
+            // 1. Puts, overwrites and removals across several segments
+            try (ObjectStore<String, Account> store = open(directory, config, options)) {
+                for (int i = 0; i < 200; i++) {
+                    store.put("key-" + i, account(i, 0));
+                }
+                for (int i = 0; i < 100; i++) {
+                    store.put("key-" + i, account(i, 1));
+                }
+                for (int i = 150; i < 200; i++) {
+                    assert store.remove("key-" + i) : "Not removed";
+                }
+                assert !store.remove("key-199");
+                assert store.size() == 150 : "Wrong size: " + store.size();
+                assert store.getSegmentCount() > 1 : "No segments created";
+                assert store.get("key-42").equals(account(42, 1)) : "Not equal";
+                assert store.get("key-120").equals(account(120, 0)) : "Not equal";
+                assert store.get("key-160") == null && !store.containsKey("key-160");
+                // cached values are shared, but replaced on update
+                assert store.get("key-42") == store.get("key-42") : "Not cached";
+                store.put("key-42", account(42, 2));
+                assert store.get("key-42").getRevision() == 2 : "Stale cache entry";
+            }
+
+            // 2. Reopening rebuilds the index
+            try (ObjectStore<String, Account> store = open(directory, config, options)) {
+                assert store.size() == 150 : "Index not rebuilt";
+                assert store.get("key-42").equals(account(42, 2));
+                assert store.get("key-199") == null;
+                assert store.getDeadBytes() > 0;
+
+                // 3. Compaction keeps live values only
+                long before = store.getTotalBytes();
+                store.compact();
+                assert store.getDeadBytes() == 0;
+                assert store.getTotalBytes() < before : "Nothing compacted";
+                assert store.get("key-0").equals(account(0, 1));
+                assert store.get("key-149").equals(account(149, 0));
+                assert store.get("key-170") == null;
+            }
+
+            // 4. A torn record at the tail is dropped
+            Path last;
+            try (Stream<Path> files = Files.list(directory)) {
+                last = files.max(Comparator.naturalOrder()).get();
+            }
+            try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+                file.seek(file.length());
+                file.writeInt(1000);
+                file.writeInt(42);
+                file.writeByte(0);
+            }
+            try (ObjectStore<String, Account> store = open(directory, config, options)) {
+                assert store.size() == 150 : "Records lost after recovery";
+                assert store.get("key-170") == null && store.get("key-42").equals(account(42, 2));
+                store.put("key-500", account(500, 0));
+            }
+            try (ObjectStore<String, Account> store = open(directory, config, options)) {
+                assert store.get("key-500").equals(account(500, 0)) : "Write after recovery lost";
+            }
+
+            // 5. Background compaction runs concurrently with writes
+            StoreOptions background = options.withCompactionRatio(0.3)
+                    .withCompactionInterval(1, TimeUnit.MILLISECONDS);
+            try (ObjectStore<String, Account> store = open(directory, config, background)) {
+                store.put("gone", account(-1, 0));
+                for (int revision = 1; revision <= 40; revision++) {
+                    for (int i = 0; i < 50; i++) {
+                        store.put("key-" + i, account(i, revision));
+                    }
+                    if (revision == 20) {
+                        assert store.remove("gone");
+                    }
+                }
+                for (int i = 0; i < 50; i++) {
+                    assert store.get("key-" + i).equals(account(i, 40)) : "Lost update of key-" + i;
+                }
+            }
+            try (ObjectStore<String, Account> store = open(directory, config, options)) {
+                assert store.size() == 151 : "Wrong size after compaction: " + store.size();
+                assert store.get("gone") == null : "Removed value restored";
+                assert store.get("key-7").equals(account(7, 40)) && store.get("key-149").equals(account(149, 0));
+                store.compact();
+                assert store.getDeadBytes() == 0;
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static ObjectStore<String, Account> open(Path directory, OSharedConfiguration config,
+                                                     StoreOptions options) throws IOException {
+        return ObjectStore.open(directory, String.class, Objection.createMarshaller(config), config, options);
+    }
+
+    private static Account account(int i, int revision) {
+        return new Account("owner-" + i, i * 100L + revision, revision);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.proto4j.test.objection.store.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.util.Objects;
+
+@Serialize
+public class Account {
+
+    private String owner;
+    private long balance;
+    private int revision;
+
+    public Account() {
+    }
+
+    public Account(String owner, long balance, int revision) {
+        this.owner = owner;
+        this.balance = balance;
+        this.revision = revision;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    @Override // generated
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Account account = (Account) o;
+
+        if (balance != account.balance) return false;
+        if (revision != account.revision) return false;
+        return Objects.equals(owner, account.owner);
+    }
+
+    @Override // generated
+    public int hashCode() {
+        return Objects.hash(owner, balance, revision);
+    }
+}
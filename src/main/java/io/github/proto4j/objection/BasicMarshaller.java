@@ -24,6 +24,11 @@
 
 package io.github.proto4j.objection; //@date 27.08.2022
 
+import io.github.proto4j.objection.internal.CountingDataInput;
+import io.github.proto4j.objection.internal.CountingDataOutput;
+import io.github.proto4j.objection.internal.LargeFrameEvent;
+import io.github.proto4j.objection.internal.MarshallEvent;
+import io.github.proto4j.objection.internal.UnmarshallEvent;
 import io.github.proto4j.objection.model.OClass;
 import io.github.proto4j.objection.model.OField;
 
@@ -31,7 +36,6 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InvalidClassException;
-import java.lang.reflect.Field;
 import java.util.Objects;
 
 public class BasicMarshaller<V> extends AbstractMarshaller<V> {
@@ -51,25 +55,35 @@ public class BasicMarshaller<V> extends AbstractMarshaller<V> {
         Objects.requireNonNull(value);
         Objects.requireNonNull(output);
 
-        ObjectSerializer sr = getConfiguration().forType(OClass.class);
-        if (sr == null) {
-            throw new InvalidClassException("No OClass serializer specified");
+        OInstrumentation instrumentation = getConfiguration().getInstrumentation();
+        MarshallEvent event = new MarshallEvent();
+        LargeFrameEvent frame = new LargeFrameEvent();
+        if (instrumentation == null && !event.isEnabled() && !frame.isEnabled()) {
+            write(value, output);
+            return getConfiguration();
         }
 
-        getConfiguration().addType(value.getClass());
-        OClass<V> cls = OClass.klass(value, getConfiguration());
+        CountingDataOutput counting = new CountingDataOutput(output);
+        long start = System.nanoTime();
+        event.begin();
+        write(value, counting);
+        event.end();
 
-        Object o = Objects.requireNonNull(cls.getInstance());
-        for (OField field : cls.getDeclaredFields()) {
-            if (field.getValue() == null) {
-                Field linked = field.getLinkedField();
-                linked.setAccessible(true);
-                field.setValue(linked.get(o));
-            }
+        long bytes = counting.getCount();
+        if (instrumentation != null) {
+            instrumentation.onMarshall(value.getClass(), bytes, System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            event.typeName = value.getClass().getName();
+            event.bytes = bytes;
+            event.commit();
+        }
+        // the frame size setting is evaluated by shouldCommit()
+        frame.bytes = bytes;
+        if (frame.shouldCommit()) {
+            frame.typeName = value.getClass().getName();
+            frame.commit();
         }
-
-        OSerializationContext ctx = new BasicSerializationContext(cls, null, getConfiguration());
-        sr.writeObject(output, cls, ctx);
         return getConfiguration();
     }
 
@@ -82,6 +96,71 @@ public class BasicMarshaller<V> extends AbstractMarshaller<V> {
         Objects.requireNonNull(configuration);
 
         setConfiguration(configuration);
+        OInstrumentation instrumentation = configuration.getInstrumentation();
+        UnmarshallEvent event = new UnmarshallEvent();
+        if (instrumentation == null && !event.isEnabled()) {
+            return read(input);
+        }
+
+        CountingDataInput counting = new CountingDataInput(input);
+        long start = System.nanoTime();
+        event.begin();
+        OClass<V> cls = read(counting);
+        event.end();
+
+        if (instrumentation != null) {
+            instrumentation.onUnmarshall(cls.getType(), counting.getCount(), System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            event.typeName = cls.getName();
+            event.bytes = counting.getCount();
+            event.commit();
+        }
+        return cls;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long computeSize(V value) throws IOException, ReflectiveOperationException {
+        Objects.requireNonNull(value);
+
+        ObjectSerializer sr = getConfiguration().forType(OClass.class);
+        if (sr == null) {
+            throw new InvalidClassException("No OClass serializer specified");
+        }
+
+        OClass<V> cls = prepare(value);
+        OSerializationContext ctx = new BasicSerializationContext(cls, null, getConfiguration());
+        return sr.sizeOf(cls, ctx);
+    }
+
+    private void write(V value, DataOutput output) throws IOException, ReflectiveOperationException {
+        ObjectSerializer sr = getConfiguration().forType(OClass.class);
+        if (sr == null) {
+            throw new InvalidClassException("No OClass serializer specified");
+        }
+
+        OClass<V> cls = prepare(value);
+        OSerializationContext ctx = new BasicSerializationContext(cls, null, getConfiguration());
+        sr.writeObject(output, cls, ctx);
+    }
+
+    private OClass<V> prepare(V value) throws ReflectiveOperationException {
+        getConfiguration().addType(value.getClass());
+        OClass<V> cls = OClass.klass(value, getConfiguration());
+
+        Object o = Objects.requireNonNull(cls.getInstance());
+        for (OField field : cls.getDeclaredFields()) {
+            if (field.getValue() == null) {
+                field.setValue(field.getLinkedField().get(o));
+            }
+        }
+        return cls;
+    }
+
+    private OClass<V> read(DataInput input) throws IOException {
         ObjectSerializer sr = getConfiguration().forType(OClass.class);
         if (sr == null) {
             throw new InvalidClassException("No OClass serializer specified");
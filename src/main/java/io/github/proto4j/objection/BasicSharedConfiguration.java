@@ -24,16 +24,49 @@
 
 package io.github.proto4j.objection; //@date 26.08.2022
 
-import java.util.LinkedList;
+import io.github.proto4j.objection.internal.InstrumentedSerializer;
+import io.github.proto4j.objection.internal.SerializerLookupMissEvent;
+import io.github.proto4j.objection.model.OField;
+
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Base implementation of {@link OSharedConfiguration}. All serializers and
+ * registered types are stored in an immutable {@link ConfigurationSnapshot}.
+ * Lookups only read the current snapshot and never take a lock, while
+ * {@link #addSerializer(ObjectSerializer)} and {@link #addType(Class)} publish
+ * a derived copy. Therefore, types and serializers can be registered at any
+ * time, even if other threads are marshalling objects concurrently.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
 public abstract class BasicSharedConfiguration implements OSharedConfiguration {
 
-    private final ConcurrentMap<String, Class<?>> registeredClasses = new ConcurrentHashMap<>();
-    private final List<ObjectSerializer> serializers = new LinkedList<>();
+    private final AtomicReference<ConfigurationSnapshot> snapshot;
+    // null if instrumentation is disabled
+    private volatile Instrumented instrumented;
+    private volatile ParallelOptions parallelOptions;
+
+    protected BasicSharedConfiguration() {
+        this(ConfigurationSnapshot.EMPTY);
+    }
+
+    protected BasicSharedConfiguration(ConfigurationSnapshot snapshot) {
+        this.snapshot = new AtomicReference<>(Objects.requireNonNull(snapshot));
+    }
+
+    /**
+     * @return the current state of the serializer registry
+     */
+    public ConfigurationSnapshot getSnapshot() {
+        return snapshot.get();
+    }
 
     /**
      * {@inheritDoc}
@@ -41,11 +74,60 @@ public abstract class BasicSharedConfiguration implements OSharedConfiguration {
     @Override
     public Class<?> forName(String name) {
         Objects.requireNonNull(name);
+        return snapshot.get().forName(name);
+    }
+
+    /**
+     * Registers the given serializer behind all existing serializers.
+     *
+     * @param serializer the serializer to add
+     */
+    @Override
+    public void addSerializer(ObjectSerializer serializer) {
+        Objects.requireNonNull(serializer);
+        snapshot.updateAndGet(current -> current.withSerializer(serializer));
+    }
 
-        if (!isRegistered(name)) {
-            return null;
+    /**
+     * Registers the given serializer behind all existing serializers with the
+     * same or a higher priority.
+     *
+     * @param serializer the serializer to add
+     * @param priority the lookup priority, higher values are asked first
+     * @see ConfigurationSnapshot
+     */
+    public void addSerializer(ObjectSerializer serializer, int priority) {
+        Objects.requireNonNull(serializer);
+        snapshot.updateAndGet(current -> current.withSerializer(serializer, priority));
+    }
+
+    /**
+     * Registers the given serializer for exactly the given type. Such
+     * serializers take precedence over all serializers that are selected
+     * via {@link ObjectSerializer#accept(Class)}.
+     *
+     * @param type the type to be handled
+     * @param serializer the serializer to add
+     * @see ConfigurationSnapshot
+     */
+    public void addSerializer(Class<?> type, ObjectSerializer serializer) {
+        Objects.requireNonNull(serializer);
+        snapshot.updateAndGet(current -> current.withSerializer(type, serializer));
+    }
+
+    /**
+     * Registers the given type, so that it can be read from any source. This
+     * method returns immediately if the type is already registered.
+     *
+     * @param type the type to register
+     */
+    @Override
+    public void addType(Class<?> type) {
+        Objects.requireNonNull(type);
+        if (snapshot.get().forName(type.getName()) == type) {
+            return;
         }
-        return registeredClasses.get(name);
+        snapshot.updateAndGet(current -> current.withType(type));
     }
 
     /**
@@ -55,12 +137,41 @@ public abstract class BasicSharedConfiguration implements OSharedConfiguration {
     public ObjectSerializer forType(Class<?> type) {
         Objects.requireNonNull(type);
 
-        for (ObjectSerializer serializer : serializers) {
-            if (serializer.accept(type)) {
-                return serializer;
-            }
+        ObjectSerializer sr = lookup(type);
+        if (sr == null) {
+            SerializerLookupMissEvent.emit(type);
+        }
+        Instrumented instrumented = this.instrumented;
+        if (instrumented == null || sr == null || type == OField.class) {
+            // Fields are always written within the context of their parent
+            // class, so there is no need to measure them separately.
+            return sr;
         }
-        return null;
+        return instrumented.decorate(sr);
+    }
+
+    /**
+     * Resolves the registered {@link ObjectSerializer} for the given type (see
+     * {@link ConfigurationSnapshot#lookup(Class)}). Subclasses may override
+     * this method to provide serializers that are created dynamically.
+     *
+     * @param type the type to be read or written
+     * @return the resolved serializer or {@code null}
+     */
+    protected ObjectSerializer lookup(Class<?> type) {
+        return snapshot.get().lookup(type);
+    }
+
+    /**
+     * Resolves the given encoded class name. Registered types are indexed by
+     * their name bytes, so no {@code String} is created.
+     *
+     * @param name the UTF-8 encoded class name
+     * @return the registered class or {@code null} if the type is not registered
+     */
+    @Override
+    public Class<?> forName(byte[] name) {
+        return snapshot.get().forName(name);
     }
 
     /**
@@ -68,14 +179,83 @@ public abstract class BasicSharedConfiguration implements OSharedConfiguration {
      */
     @Override
     public boolean isRegistered(String name) {
-        return registeredClasses.containsKey(name);
+        return snapshot.get().isRegistered(name);
     }
 
-    public ConcurrentMap<String, Class<?>> getRegisteredClasses() {
-        return registeredClasses;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRegistered(byte[] name) {
+        return forName(name) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OInstrumentation getInstrumentation() {
+        Instrumented instrumented = this.instrumented;
+        return instrumented != null ? instrumented.instrumentation : null;
+    }
+
+    /**
+     * Installs the given {@link OInstrumentation} instance. Use {@code null}
+     * to disable instrumentation.
+     *
+     * @param instrumentation the new instrumentation instance or {@code null}
+     */
+    public void setInstrumentation(OInstrumentation instrumentation) {
+        // the decorators are replaced together with the instrumentation, so
+        // lookups never see serializers of the previous instance
+        this.instrumented = instrumentation != null ? new Instrumented(instrumentation) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ParallelOptions getParallelOptions() {
+        return parallelOptions;
+    }
+
+    /**
+     * Enables parallel encoding of large sequences with the given settings.
+     * Use {@code null} to write all sequences sequentially.
+     *
+     * @param parallelOptions the new settings or {@code null}
+     */
+    public void setParallelOptions(ParallelOptions parallelOptions) {
+        this.parallelOptions = parallelOptions;
     }
 
+    /**
+     * @return an unmodifiable view of the currently registered types
+     */
+    public Map<String, Class<?>> getRegisteredClasses() {
+        return snapshot.get().getRegisteredClasses();
+    }
+
+    /**
+     * @return an unmodifiable view of the currently registered serializers
+     */
     public List<ObjectSerializer> getSerializers() {
-        return serializers;
+        return snapshot.get().getSerializers();
+    }
+
+    /**
+     * An {@link OInstrumentation} together with the serializers it decorates.
+     */
+    private static final class Instrumented {
+        final OInstrumentation instrumentation;
+        final ConcurrentMap<ObjectSerializer, ObjectSerializer> decorators = new ConcurrentHashMap<>();
+
+        Instrumented(OInstrumentation instrumentation) {
+            this.instrumentation = instrumentation;
+        }
+
+        ObjectSerializer decorate(ObjectSerializer sr) {
+            return decorators.computeIfAbsent(sr, s -> new InstrumentedSerializer(s, instrumentation));
+        }
     }
 }
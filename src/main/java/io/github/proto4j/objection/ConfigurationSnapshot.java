@@ -0,0 +1,393 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.internal.DefaultSharedConfiguration;
+import io.github.proto4j.objection.internal.TypeNameCache;
+
+import java.io.DataOutput;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An immutable state of the serializer registry of a {@link BasicSharedConfiguration}.
+ * A snapshot contains the registered {@link ObjectSerializer}s and all
+ * registered types, which are additionally indexed by their encoded name.
+ * <p>
+ * The serializer for a type is resolved in the following order:
+ * <ol>
+ *     <li>a serializer that was registered for exactly this class,</li>
+ *     <li>a serializer that was registered for exactly one of its superclasses
+ *     or interfaces, where superclasses are visited before interfaces and
+ *     closer types before more distant ones,</li>
+ *     <li>the first serializer whose {@link ObjectSerializer#accept(Class)}
+ *     returns {@code true}. Serializers with a higher priority are asked
+ *     first and serializers with the same priority in registration
+ *     order.</li>
+ * </ol>
+ * The result is memoized per class, so that repeated lookups of the same
+ * type are a single map access. Hot types can therefore be served by a
+ * specialized serializer, even if a more general one like the
+ * {@code CollectionSerializer} accepts them too:
+ * <pre>
+ *     builder.addSerializer(ArrayList.class, new FastListSerializer());
+ * </pre>
+ * <p>
+ * Snapshots are never modified. Additions create a derived copy, which is
+ * then published by the configuration, so that readers never have to take a
+ * lock and always see a consistent registry:
+ * <pre>
+ *     ConfigurationSnapshot next = snapshot.withType(Plugin.class);
+ * </pre>
+ * Instances can be created with a {@link Builder}, see
+ * {@link OSharedConfiguration#builder()}.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
+public final class ConfigurationSnapshot {
+
+    /**
+     * The priority of serializers that were registered without one.
+     */
+    public static final int DEFAULT_PRIORITY = 0;
+
+    /**
+     * A snapshot without any serializers or types.
+     */
+    public static final ConfigurationSnapshot EMPTY = new ConfigurationSnapshot(new ObjectSerializer[0],
+            new int[0], Collections.emptyMap(), Collections.emptyMap(), new TypeNameCache(Collections.emptyList()));
+
+    // marks memoized lookups without a result
+    private static final ObjectSerializer NONE = new BasicObjectSerializer() {
+        @Override
+        public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx) {
+        }
+
+        @Override
+        public boolean accept(Class<?> type) {
+            return false;
+        }
+    };
+
+    private final ObjectSerializer[] serializers;
+    private final int[] priorities;
+    private final Map<Class<?>, ObjectSerializer> exactSerializers;
+    private final Map<String, Class<?>> registeredClasses;
+    private final TypeNameCache typeNames;
+    private final ConcurrentMap<Class<?>, ObjectSerializer> resolved = new ConcurrentHashMap<>();
+
+    private ConfigurationSnapshot(ObjectSerializer[] serializers, int[] priorities,
+                                  Map<Class<?>, ObjectSerializer> exactSerializers,
+                                  Map<String, Class<?>> registeredClasses, TypeNameCache typeNames) {
+        this.serializers = serializers;
+        this.priorities = priorities;
+        this.exactSerializers = exactSerializers;
+        this.registeredClasses = registeredClasses;
+        this.typeNames = typeNames;
+    }
+
+    /**
+     * @return a new builder without any serializers or types
+     */
+    public static Builder builder() {
+        return new Builder(EMPTY);
+    }
+
+    /**
+     * @return a new builder containing all serializers and types of this
+     *         snapshot
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * Returns a snapshot that additionally contains the given serializer with
+     * the {@link #DEFAULT_PRIORITY}.
+     *
+     * @param serializer the serializer to add
+     * @return the derived snapshot
+     */
+    public ConfigurationSnapshot withSerializer(ObjectSerializer serializer) {
+        return withSerializer(serializer, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Returns a snapshot that additionally contains the given serializer. The
+     * serializer is placed behind all existing serializers with the same or
+     * a higher priority.
+     *
+     * @param serializer the serializer to add
+     * @param priority the lookup priority, higher values are asked first
+     * @return the derived snapshot
+     */
+    public ConfigurationSnapshot withSerializer(ObjectSerializer serializer, int priority) {
+        Objects.requireNonNull(serializer);
+        int index = 0;
+        while (index < priorities.length && priorities[index] >= priority) {
+            index++;
+        }
+
+        ObjectSerializer[] values = new ObjectSerializer[serializers.length + 1];
+        int[] valuePriorities = new int[priorities.length + 1];
+        System.arraycopy(serializers, 0, values, 0, index);
+        System.arraycopy(priorities, 0, valuePriorities, 0, index);
+        values[index] = serializer;
+        valuePriorities[index] = priority;
+        System.arraycopy(serializers, index, values, index + 1, serializers.length - index);
+        System.arraycopy(priorities, index, valuePriorities, index + 1, priorities.length - index);
+        return new ConfigurationSnapshot(values, valuePriorities, exactSerializers, registeredClasses, typeNames);
+    }
+
+    /**
+     * Returns a snapshot that uses the given serializer for exactly the given
+     * type and all of its subtypes that have no closer exact serializer.
+     *
+     * @param type the type to be handled
+     * @param serializer the serializer to add
+     * @return the derived snapshot
+     */
+    public ConfigurationSnapshot withSerializer(Class<?> type, ObjectSerializer serializer) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(serializer);
+        Map<Class<?>, ObjectSerializer> exact = new HashMap<>(exactSerializers);
+        exact.put(type, serializer);
+        return new ConfigurationSnapshot(serializers, priorities, Collections.unmodifiableMap(exact),
+                registeredClasses, typeNames);
+    }
+
+    /**
+     * Returns a snapshot that additionally contains the given type.
+     *
+     * @param type the type to register
+     * @return the derived snapshot or this instance if the type is already
+     *         registered
+     */
+    public ConfigurationSnapshot withType(Class<?> type) {
+        if (registeredClasses.get(type.getName()) == type) {
+            return this;
+        }
+        Map<String, Class<?>> types = new HashMap<>(registeredClasses);
+        types.put(type.getName(), type);
+        return new ConfigurationSnapshot(serializers, priorities, exactSerializers,
+                Collections.unmodifiableMap(types), new TypeNameCache(types.values()));
+    }
+
+    /**
+     * Resolves the serializer of the given type as described above.
+     *
+     * @param type the type to be read or written
+     * @return the resolved serializer or {@code null} if no serializer
+     *         accepts the given type
+     */
+    public ObjectSerializer lookup(Class<?> type) {
+        ObjectSerializer sr = resolved.get(type);
+        if (sr == null) {
+            sr = resolve(type);
+            resolved.putIfAbsent(type, sr != null ? sr : NONE);
+        }
+        return sr != NONE ? sr : null;
+    }
+
+    private ObjectSerializer resolve(Class<?> type) {
+        if (!exactSerializers.isEmpty()) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                ObjectSerializer sr = exactSerializers.get(current);
+                if (sr != null) {
+                    return sr;
+                }
+            }
+            ObjectSerializer sr = resolveInterfaces(type, new HashSet<>());
+            if (sr != null) {
+                return sr;
+            }
+        }
+
+        for (ObjectSerializer serializer : serializers) {
+            if (serializer.accept(type)) {
+                return serializer;
+            }
+        }
+        return null;
+    }
+
+    private ObjectSerializer resolveInterfaces(Class<?> type, Set<Class<?>> visited) {
+        // breadth-first, so that directly implemented interfaces win
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            queue.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        while (!queue.isEmpty()) {
+            Class<?> next = queue.poll();
+            if (!visited.add(next)) {
+                continue;
+            }
+            ObjectSerializer sr = exactSerializers.get(next);
+            if (sr != null) {
+                return sr;
+            }
+            queue.addAll(Arrays.asList(next.getInterfaces()));
+        }
+        return null;
+    }
+
+    /**
+     * @param name the class name
+     * @return the registered type or {@code null}
+     */
+    public Class<?> forName(String name) {
+        return registeredClasses.get(name);
+    }
+
+    /**
+     * @param name the UTF-8 encoded class name
+     * @return the registered type or {@code null}
+     */
+    public Class<?> forName(byte[] name) {
+        return typeNames.get(name);
+    }
+
+    public boolean isRegistered(String name) {
+        return registeredClasses.containsKey(name);
+    }
+
+    /**
+     * @return all serializers that are selected via their {@code accept}
+     *         method in lookup order
+     */
+    public List<ObjectSerializer> getSerializers() {
+        return Collections.unmodifiableList(Arrays.asList(serializers));
+    }
+
+    /**
+     * @return all serializers that were registered for an exact type
+     */
+    public Map<Class<?>, ObjectSerializer> getExactSerializers() {
+        return exactSerializers;
+    }
+
+    /**
+     * @return all registered types by their name
+     */
+    public Map<String, Class<?>> getRegisteredClasses() {
+        return registeredClasses;
+    }
+
+    /**
+     * A mutable builder for {@link ConfigurationSnapshot} and
+     * {@link OSharedConfiguration} instances. Additions are collected in
+     * mutable structures and the snapshot is created once it is requested.
+     * Builders are not thread-safe.
+     */
+    public static final class Builder {
+
+        private final List<ObjectSerializer> serializers;
+        private final List<Integer> priorities;
+        private final Map<Class<?>, ObjectSerializer> exactSerializers;
+        private final Map<String, Class<?>> registeredClasses;
+        private ParallelOptions parallelOptions;
+        private OInstrumentation instrumentation;
+
+        private Builder(ConfigurationSnapshot snapshot) {
+            this.serializers = new ArrayList<>(Arrays.asList(snapshot.serializers));
+            this.priorities = new ArrayList<>(snapshot.priorities.length);
+            for (int priority : snapshot.priorities) {
+                priorities.add(priority);
+            }
+            this.exactSerializers = new HashMap<>(snapshot.exactSerializers);
+            this.registeredClasses = new HashMap<>(snapshot.registeredClasses);
+        }
+
+        public Builder addSerializer(ObjectSerializer serializer) {
+            return addSerializer(serializer, DEFAULT_PRIORITY);
+        }
+
+        public Builder addSerializer(ObjectSerializer serializer, int priority) {
+            Objects.requireNonNull(serializer);
+            // same order as withSerializer(ObjectSerializer, int)
+            int index = 0;
+            while (index < priorities.size() && priorities.get(index) >= priority) {
+                index++;
+            }
+            serializers.add(index, serializer);
+            priorities.add(index, priority);
+            return this;
+        }
+
+        public Builder addSerializer(Class<?> type, ObjectSerializer serializer) {
+            exactSerializers.put(Objects.requireNonNull(type), Objects.requireNonNull(serializer));
+            return this;
+        }
+
+        public Builder addType(Class<?> type) {
+            registeredClasses.put(type.getName(), type);
+            return this;
+        }
+
+        public Builder addTypes(Class<?>... types) {
+            for (Class<?> type : types) {
+                addType(type);
+            }
+            return this;
+        }
+
+        public Builder setParallelOptions(ParallelOptions parallelOptions) {
+            this.parallelOptions = parallelOptions;
+            return this;
+        }
+
+        public Builder setInstrumentation(OInstrumentation instrumentation) {
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
+        /**
+         * @return an immutable snapshot of the current builder state
+         */
+        public ConfigurationSnapshot snapshot() {
+            int[] values = new int[priorities.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = priorities.get(i);
+            }
+            Map<String, Class<?>> types = new HashMap<>(registeredClasses);
+            return new ConfigurationSnapshot(serializers.toArray(new ObjectSerializer[0]), values,
+                    Collections.unmodifiableMap(new HashMap<>(exactSerializers)),
+                    Collections.unmodifiableMap(types), new TypeNameCache(types.values()));
+        }
+
+        /**
+         * @return a new configuration that starts with the current builder
+         *         state
+         */
+        public OSharedConfiguration build() {
+            BasicSharedConfiguration config = new DefaultSharedConfiguration(snapshot());
+            config.setParallelOptions(parallelOptions);
+            config.setInstrumentation(instrumentation);
+            return config;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.model.OClass;
+import io.github.proto4j.objection.model.OField;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.util.Objects;
+
+/**
+ * A {@link Marshaller} that is able to write objects relative to a previously
+ * transferred state of the same entity. Full frames are written and read just
+ * like with the {@link BasicMarshaller}; delta frames only contain the fields
+ * whose value changed:
+ * <pre>
+ * ┌─────────┬────┬─────────────┬────────────────┬─────────────┬────────────────┐
+ * │ version │ id │ field_count │ changed_bitmap │ null_bitmap │ changed values │
+ * └─────────┴────┴─────────────┴────────────────┴─────────────┴────────────────┘
+ * </pre>
+ * Values of nested types without a dedicated serializer are written as a delta
+ * against the nested base value if possible. Because fields are addressed by
+ * their index, a delta can only be applied to a base instance with the same
+ * schema fingerprint.
+ * <pre>
+ *     DeltaMarshaller&lt;Entity&gt; m = Objection.createDeltaMarshaller(config);
+ *     m.marshallDelta(previous, current, output);
+ *
+ *     // and on the other side
+ *     Entity current = m.unmarshallDelta(previous, input, config);
+ * </pre>
+ *
+ * @param <V> the type of objects to read/write
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see BasicMarshaller
+ */
+public class DeltaMarshaller<V> extends BasicMarshaller<V> {
+
+    private static final byte MODE_FULL = 0;
+    private static final byte MODE_DELTA = 1;
+
+    public DeltaMarshaller() {
+    }
+
+    public DeltaMarshaller(OSharedConfiguration configuration) {
+        super(configuration);
+    }
+
+    /**
+     * Writes only the fields of the given value that differ from the given
+     * base instance.
+     *
+     * @param base the previously transferred state
+     * @param value the current state
+     * @param output the resource stream
+     * @return the configuration used while writing
+     * @throws IOException if an error occurs while writing
+     * @throws ReflectiveOperationException if a field could not be read
+     */
+    public OSharedConfiguration marshallDelta(V base, V value, DataOutput output)
+            throws IOException, ReflectiveOperationException {
+        Objects.requireNonNull(base);
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(output);
+        if (base.getClass() != value.getClass()) {
+            throw new InvalidClassException("Base and value must be of the same type");
+        }
+
+        writeDelta(diff(base, value), output);
+        return getConfiguration();
+    }
+
+    /**
+     * Writes only the fields of the given value that differ from the given
+     * full frame, e.g. a cached encoding of the last transferred state.
+     *
+     * @param encodedBase the full frame of the previous state
+     * @param value the current state
+     * @param output the resource stream
+     * @return the configuration used while writing
+     * @throws IOException if an error occurs while reading or writing
+     * @throws ReflectiveOperationException if a field could not be read
+     */
+    public OSharedConfiguration marshallDelta(byte[] encodedBase, V value, DataOutput output)
+            throws IOException, ReflectiveOperationException {
+        Objects.requireNonNull(encodedBase);
+        DataInput input = new DataInputStream(new ByteArrayInputStream(encodedBase));
+        return marshallDelta(unmarshall(input, getConfiguration()).newInstance(), value, output);
+    }
+
+    /**
+     * Computes the amount of bytes {@link #marshallDelta(Object, Object, DataOutput)}
+     * would write. Both instances are still compared field by field, but the
+     * changed values are only measured via {@link ObjectSerializer#sizeOf}.
+     *
+     * @param base the previously transferred state
+     * @param value the current state
+     * @return the size of the delta frame in bytes
+     * @throws IOException if the size could not be computed
+     * @throws ReflectiveOperationException if a field could not be read
+     */
+    public long computeDeltaSize(V base, V value) throws IOException, ReflectiveOperationException {
+        Objects.requireNonNull(base);
+        Objects.requireNonNull(value);
+        if (base.getClass() != value.getClass()) {
+            throw new InvalidClassException("Base and value must be of the same type");
+        }
+        return sizeOf(diff(base, value));
+    }
+
+    /**
+     * Reads a delta frame and applies it to the given base instance. The base
+     * is not modified, a new instance is returned instead. Unchanged values
+     * are shared with the base instance.
+     *
+     * @param base the state the delta was written against
+     * @param input the resource stream
+     * @param configuration the configuration used while writing
+     * @return a new instance with the changes applied
+     * @throws IOException if an error occurs while reading
+     */
+    public V unmarshallDelta(V base, DataInput input, OSharedConfiguration configuration) throws IOException {
+        Objects.requireNonNull(base);
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(configuration);
+
+        setConfiguration(configuration);
+        return readDelta(base, input);
+    }
+
+    private Delta diff(Object base, Object value) {
+        OClass<?> baseClass = OClass.klass(base, getConfiguration());
+        OClass<?> valueClass = OClass.klass(value, getConfiguration());
+
+        OField[] fields = valueClass.getDeclaredFields();
+        OField[] baseFields = baseClass.getDeclaredFields();
+        Delta delta = new Delta(valueClass, fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            Object current = fields[i].getValue();
+            Object previous = baseFields[i].getValue();
+            delta.values[i] = current;
+
+            if (fields[i].getLinkedFieldType() == OClass.class
+                    && current != null && previous != null
+                    && current.getClass() == previous.getClass()) {
+                Delta nested = diff(previous, current);
+                if (nested.count > 0) {
+                    delta.nested[i] = nested;
+                    delta.mark(i);
+                }
+            } else if (!Objects.deepEquals(current, previous)) {
+                delta.mark(i);
+            }
+        }
+        return delta;
+    }
+
+    private void writeDelta(Delta delta, DataOutput output) throws IOException {
+        OClass<?> cls = delta.cls;
+        output.writeByte(cls.getVersion());
+        output.writeInt(cls.getClassId());
+
+        OField[] fields = cls.getDeclaredFields();
+        output.writeInt(fields.length);
+
+        byte[] nulls = new byte[delta.changed.length];
+        for (int i = 0; i < fields.length; i++) {
+            if (delta.isChanged(i) && delta.values[i] == null) {
+                nulls[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        output.write(delta.changed);
+        output.write(nulls);
+
+        for (int i = 0; i < fields.length; i++) {
+            Object value = delta.values[i];
+            if (!delta.isChanged(i) || value == null) {
+                continue;
+            }
+
+            if (fields[i].getLinkedFieldType() != OClass.class) {
+                OSerializationContext ctx = new BasicSerializationContext(cls, fields[i], getConfiguration());
+                getSerializer(fields[i]).writeObject(output, value, ctx);
+            } else if (delta.nested[i] != null) {
+                output.writeByte(MODE_DELTA);
+                writeDelta(delta.nested[i], output);
+            } else {
+                output.writeByte(MODE_FULL);
+                OClass<?> nested = OClass.klass(value, getConfiguration());
+                OSerializationContext ctx = new BasicSerializationContext(nested, null, getConfiguration());
+                getSerializer(OClass.class).writeObject(output, nested, ctx);
+            }
+        }
+    }
+
+    private long sizeOf(Delta delta) throws IOException {
+        OClass<?> cls = delta.cls;
+        OField[] fields = cls.getDeclaredFields();
+        // version, id, field count and both bitmaps
+        long size = 1 + 2 * Integer.BYTES + 2L * delta.changed.length;
+        for (int i = 0; i < fields.length; i++) {
+            Object value = delta.values[i];
+            if (!delta.isChanged(i) || value == null) {
+                continue;
+            }
+
+            if (fields[i].getLinkedFieldType() != OClass.class) {
+                OSerializationContext ctx = new BasicSerializationContext(cls, fields[i], getConfiguration());
+                size += getSerializer(fields[i]).sizeOf(value, ctx);
+            } else if (delta.nested[i] != null) {
+                size += 1 + sizeOf(delta.nested[i]);
+            } else {
+                OClass<?> nested = OClass.klass(value, getConfiguration());
+                OSerializationContext ctx = new BasicSerializationContext(nested, null, getConfiguration());
+                size += 1 + getSerializer(OClass.class).sizeOf(nested, ctx);
+            }
+        }
+        return size;
+    }
+
+    private <T> T readDelta(T base, DataInput input) throws IOException {
+        OClass<?> baseClass = OClass.klass(base, getConfiguration());
+        byte version = input.readByte();
+        int id = input.readInt();
+        int fieldCount = input.readInt();
+
+        OField[] baseFields = baseClass.getDeclaredFields();
+        if (version != baseClass.getVersion() || id != baseClass.getClassId()
+                || fieldCount != baseFields.length) {
+            throw new InvalidClassException(baseClass.getName(), "Delta does not match the base schema");
+        }
+
+        byte[] changed = new byte[(fieldCount + 7) >> 3];
+        byte[] nulls = new byte[changed.length];
+        input.readFully(changed);
+        input.readFully(nulls);
+
+        // the runtime class of T is always a T
+        @SuppressWarnings("unchecked")
+        Class<T> baseType = (Class<T>) base.getClass();
+        OClass<T> result = OClass.klass(baseType, getConfiguration());
+        OField[] fields = result.getDeclaredFields();
+        for (int i = 0; i < fieldCount; i++) {
+            Object previous = baseFields[i].getValue();
+            if ((changed[i >> 3] & (1 << (i & 7))) == 0) {
+                fields[i].setValue(previous);
+            } else if ((nulls[i >> 3] & (1 << (i & 7))) != 0) {
+                fields[i].setValue(null);
+            } else if (fields[i].getLinkedFieldType() != OClass.class) {
+                Class<?> type = fields[i].getLinkedFieldType();
+                OSerializationContext ctx = new BasicSerializationContext(result, fields[i], getConfiguration());
+                fields[i].setValue(getSerializer(fields[i]).getInstance(type, input, ctx));
+            } else if (input.readByte() == MODE_DELTA) {
+                if (previous == null) {
+                    throw new InvalidClassException(result.getName(), "Missing base value for nested delta");
+                }
+                fields[i].setValue(readDelta(previous, input));
+            } else {
+                OSerializationContext ctx = new BasicSerializationContext(null, null, getConfiguration());
+                OClass<?> nested = (OClass<?>) getSerializer(OClass.class).getInstance(OClass.class, input, ctx);
+                fields[i].setValue(nested.newInstance());
+            }
+        }
+        return result.newInstance();
+    }
+
+    private ObjectSerializer getSerializer(OField field) throws InvalidClassException {
+        // Both sides only know the declared type, so the value is always
+        // written with the serializer of that type.
+        return getSerializer(field.getLinkedFieldType());
+    }
+
+    private ObjectSerializer getSerializer(Class<?> type) throws InvalidClassException {
+        ObjectSerializer sr = getConfiguration().forType(type);
+        if (sr == null) {
+            throw new InvalidClassException("No serializer specified for " + type.getName());
+        }
+        return sr;
+    }
+
+    private static final class Delta {
+        final OClass<?> cls;
+        final Object[] values;
+        final Delta[] nested;
+        final byte[] changed;
+        int count;
+
+        Delta(OClass<?> cls, int fieldCount) {
+            this.cls = cls;
+            this.values = new Object[fieldCount];
+            this.nested = new Delta[fieldCount];
+            this.changed = new byte[(fieldCount + 7) >> 3];
+        }
+
+        void mark(int index) {
+            changed[index >> 3] |= (byte) (1 << (index & 7));
+            count++;
+        }
+
+        boolean isChanged(int index) {
+            return (changed[index >> 3] & (1 << (index & 7))) != 0;
+        }
+    }
+}
@@ -24,11 +24,15 @@
 
 package io.github.proto4j.objection;//@date 27.08.2022
 
+import io.github.proto4j.objection.internal.CountingDataOutput;
+import io.github.proto4j.objection.internal.FrameSpliterator;
 import io.github.proto4j.objection.model.OClass;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The base class for objects that are used to serialize and de-serialize
@@ -64,6 +68,30 @@ public interface Marshaller<V> {
      */
     OSharedConfiguration marshall(V value, DataOutput output) throws IOException, ReflectiveOperationException;
 
+    /**
+     * Computes the exact amount of bytes {@link #marshall(Object, DataOutput)}
+     * would write for the given value. This method can be used to allocate
+     * buffers of the right size or to write a length prefix in front of the
+     * serialized object:
+     * <pre>
+     *     long size = m.computeSize(value);
+     *     ByteArrayOutputStream bout = new ByteArrayOutputStream((int) size);
+     *     m.marshall(value, new DataOutputStream(bout));
+     * </pre>
+     * The default implementation serializes the value into a sink that only
+     * counts the written bytes.
+     *
+     * @param value the type instance
+     * @return the encoded length of the given value in bytes
+     * @throws IOException                  if the size could not be computed
+     * @throws ReflectiveOperationException if values could not be fetched dynamically
+     */
+    default long computeSize(V value) throws IOException, ReflectiveOperationException {
+        CountingDataOutput output = CountingDataOutput.nullOutput();
+        marshall(value, output);
+        return output.getCount();
+    }
+
     /**
      * Tries to read the binary representation of type {@code V} from the given
      * {@link DataInput} object with a {@link OSharedConfiguration}.
@@ -96,4 +124,24 @@ public interface Marshaller<V> {
         return cls.newInstance();
     }
 
+    /**
+     * Returns a lazy {@link Stream} over objects that were marshalled one
+     * after another into the given input. Each object is read only when the
+     * stream requests it, so inputs of any size can be processed with
+     * constant memory:
+     * <pre>
+     *     m.stream(input, config).filter(...).forEach(...);
+     * </pre>
+     * The stream ends at the end of the input. Errors while reading are
+     * thrown as {@link java.io.UncheckedIOException}s.
+     *
+     * @param input the input source
+     * @param configuration an object containing all registered and usable
+     *         serializers and readable types.
+     * @return a sequential stream of all objects in the input
+     */
+    default Stream<V> stream(DataInput input, OSharedConfiguration configuration) {
+        return StreamSupport.stream(new FrameSpliterator<>(this, input, configuration), false);
+    }
+
 }
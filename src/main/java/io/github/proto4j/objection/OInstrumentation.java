@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection; //@date 19.10.2026
+
+/**
+ * Service provider interface for objects that want to observe the serialization
+ * process. An instance can be installed on a {@link BasicSharedConfiguration}
+ * and will be notified whenever a {@link Marshaller} writes or reads a top-level
+ * object and whenever an {@link ObjectSerializer} was dispatched for a specific
+ * type.
+ * <p>
+ * Instrumentation is disabled by default: {@link OSharedConfiguration#getInstrumentation()}
+ * returns {@code null} and no serializer will be decorated. Therefore, this
+ * feature costs nothing if it is not used.
+ * <p>
+ * <b>INFO:</b> Timings reported through {@link #onWrite(Class, long, long)} and
+ * {@link #onRead(Class, long, long)} are inclusive, which means the time needed
+ * to write nested values is contained in the time of the parent object. Byte
+ * counts are reported as {@code -1} if the underlying stream could not be
+ * measured.
+ * <p>
+ * Implementations must be thread-safe, because one configuration may be shared
+ * across multiple threads.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see io.github.proto4j.objection.metrics.ObjectionMetrics
+ */
+public interface OInstrumentation {
+
+    /**
+     * Called after a {@link Marshaller} has written a top-level object.
+     *
+     * @param type the type of the written object
+     * @param bytes the amount of bytes produced
+     * @param nanos the time needed to write the object in nanoseconds
+     */
+    void onMarshall(Class<?> type, long bytes, long nanos);
+
+    /**
+     * Called after a {@link Marshaller} has read a top-level object.
+     *
+     * @param type the type of the read object
+     * @param bytes the amount of bytes consumed
+     * @param nanos the time needed to read the object in nanoseconds
+     */
+    void onUnmarshall(Class<?> type, long bytes, long nanos);
+
+    /**
+     * Called after an {@link ObjectSerializer} has written a single value.
+     *
+     * @param type the type of the written value
+     * @param bytes the amount of bytes produced or {@code -1} if unknown
+     * @param nanos the time needed to write the value in nanoseconds
+     */
+    void onWrite(Class<?> type, long bytes, long nanos);
+
+    /**
+     * Called after an {@link ObjectSerializer} has read a single value.
+     *
+     * @param type the type of the read value
+     * @param bytes the amount of bytes consumed or {@code -1} if unknown
+     * @param nanos the time needed to read the value in nanoseconds
+     */
+    void onRead(Class<?> type, long bytes, long nanos);
+}
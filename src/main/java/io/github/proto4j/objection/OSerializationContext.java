@@ -37,8 +37,10 @@ import io.github.proto4j.objection.model.OField;
  *     <li>the {@link OField} instance when processing fields</li>
  * </ul>
  *
- * <b>INFO:</b> The {@link #getReference()} method is currently unused, but was
- * implemented in recent versions.
+ * <b>INFO:</b> The {@link #getReference()} method returns {@code null} unless
+ * the value of a field is processed. Serializers may use it to inspect the
+ * declared (generic) type of the field, for instance to resolve the element
+ * type of empty collections.
  *
  * @author MatrixEditor
  * @version 0.2.0
@@ -58,6 +60,5 @@ public interface OSerializationContext {
     /**
      * @return the linked {@link OField} instance when processing field data.
      */
-    @SuppressWarnings("unused")
     OField getReference();
 }
@@ -24,6 +24,8 @@
 
 package io.github.proto4j.objection; //@date 25.08.2022
 
+import io.github.proto4j.objection.internal.DefaultSharedConfiguration;
+
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -36,6 +38,23 @@ import java.nio.charset.StandardCharsets;
  */
 public interface OSharedConfiguration {
 
+    /**
+     * Returns a builder for new configurations, which already contains the
+     * default serializers. Additional serializers and types can be added
+     * before the configuration is created:
+     * <pre>
+     *     OSharedConfiguration config = OSharedConfiguration.builder()
+     *             .addSerializer(new PluginSerializer())
+     *             .addType(Plugin.class)
+     *             .build();
+     * </pre>
+     *
+     * @return a new configuration builder
+     */
+    static ConfigurationSnapshot.Builder builder() {
+        return DefaultSharedConfiguration.defaults().toBuilder();
+    }
+
     ObjectSerializer forType(Class<?> type);
 
     Class<?> forName(String name);
@@ -53,4 +72,27 @@ public interface OSharedConfiguration {
     void addType(Class<?> cls);
 
     void addSerializer(ObjectSerializer serializer);
+
+    /**
+     * Returns the {@link OInstrumentation} instance that should be notified
+     * about serialization events. Marshallers and serializers check this value
+     * before measuring anything, so there is no overhead if no instance is
+     * installed.
+     *
+     * @return the installed instrumentation or {@code null} if disabled.
+     */
+    default OInstrumentation getInstrumentation() {
+        return null;
+    }
+
+    /**
+     * Returns the settings for encoding large collections and arrays in
+     * parallel.
+     *
+     * @return the parallel encoding settings or {@code null} if large
+     *         sequences should be written sequentially.
+     */
+    default ParallelOptions getParallelOptions() {
+        return null;
+    }
 }
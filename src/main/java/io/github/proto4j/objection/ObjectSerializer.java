@@ -24,6 +24,8 @@
 
 package io.github.proto4j.objection; //@date 25.08.2022
 
+import io.github.proto4j.objection.internal.CountingDataOutput;
+
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
@@ -103,4 +105,37 @@ public interface ObjectSerializer {
      */
     boolean accept(Class<?> type);
 
+    /**
+     * Computes the exact amount of bytes that {@link #writeObject(DataOutput, Object, OSerializationContext)}
+     * would produce for the given object without writing anything. The default
+     * implementation writes the object into a sink that only counts the bytes,
+     * so implementations should override this method if the size can be
+     * computed directly.
+     *
+     * @param writableObject the object to be measured
+     * @param ctx a general context object storing informational resources, such
+     *         as the configuration with all registered {@link ObjectSerializer}
+     *         instances.
+     * @return the encoded length of the given object in bytes
+     * @throws IOException if the size could not be computed
+     */
+    default long sizeOf(Object writableObject, OSerializationContext ctx) throws IOException {
+        CountingDataOutput output = CountingDataOutput.nullOutput();
+        writeObject(output, writableObject, ctx);
+        return output.getCount();
+    }
+
+    /**
+     * Returns the amount of bytes every instance of the given type occupies if
+     * that value is constant. Callers may use this value to cache sizes of
+     * whole schemas.
+     *
+     * @param type the type to be written
+     * @return the constant encoded length of the given type or {@code -1} if
+     *         the length depends on the written value.
+     */
+    default int getFixedSize(Class<?> type) {
+        return -1;
+    }
+
 }
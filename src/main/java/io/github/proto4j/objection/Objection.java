@@ -25,8 +25,10 @@
 package io.github.proto4j.objection; //@date 26.08.2022
 
 import io.github.proto4j.objection.internal.DefaultSharedConfiguration;
+import io.github.proto4j.objection.model.OSchema;
 
 import java.io.*;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -72,6 +74,19 @@ public final class Objection {
         return new BasicMarshaller<>(config);
     }
 
+    /**
+     * Creates a new {@link DeltaMarshaller} instance with the given
+     * configuration values.
+     *
+     * @param config the given configuration instance
+     * @param <T> the type this marshaller should be serializing and de-serializing
+     * @return a new {@link DeltaMarshaller} instance with the given
+     *         configuration values.
+     */
+    public static <T> DeltaMarshaller<T> createDeltaMarshaller(OSharedConfiguration config) {
+        return new DeltaMarshaller<>(config);
+    }
+
     /**
      * Creates a new {@link DataInput} instance from the given {@link InputStream}
      * object. The supplier can be used within {@link java.net.Socket} instances,
@@ -110,6 +125,9 @@ public final class Objection {
      *     Socket socket = new Socket(...);
      *     DataOutput output = Objection.createDataOutput(socket::getOutputStream());
      * </pre>
+     * The returned output is not buffered and does not mark where an object
+     * ends. To exchange many messages over a connection, use a
+     * {@link io.github.proto4j.objection.net.MessageWriter} instead.
      *
      * @param supplier a {@link Supplier} of the resource output
      * @return a new {@link DataOutput} instance from the given {@link OutputStream}
@@ -139,4 +157,51 @@ public final class Objection {
         return new DefaultSharedConfiguration();
     }
 
+    /**
+     * Prepares the given types for serialization with the given configuration.
+     * The schema of each type is built (unless it was restored from a
+     * snapshot) and a default instance is marshalled and read back the given
+     * amount of times, so that the involved code paths are compiled and the
+     * caches of the configuration are filled before the first real request.
+     * Types are processed in parallel on the common
+     * {@link java.util.concurrent.ForkJoinPool}.
+     * <p>
+     * Instances are created like during de-serialization, so records and
+     * types without a public constructor are supported as well. Fields keep
+     * the values assigned by their constructor, which means that only the
+     * serializers of fields with a non-null default value are used.
+     *
+     * @param types the types to prepare
+     * @param config the configuration that will be used by the application
+     * @param iterations the amount of synthetic round trips per type
+     * @return the amount of types that could be marshalled
+     * @see io.github.proto4j.objection.model.OSchemaSnapshot
+     */
+    public static int warmUp(Collection<? extends Class<?>> types, OSharedConfiguration config, int iterations) {
+        Objects.requireNonNull(config);
+        return (int) types.parallelStream()
+                .filter(type -> warmUp(type, config, iterations))
+                .count();
+    }
+
+    private static <T> boolean warmUp(Class<T> type, OSharedConfiguration config, int iterations) {
+        OSchema schema = OSchema.of(type);
+        try {
+            int fieldCount = schema.getFieldCount();
+            T value = type.cast(schema.newInstance(new Object[fieldCount], new boolean[fieldCount]));
+            Marshaller<T> marshaller = createMarshaller(config);
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            for (int i = 0; i < iterations; i++) {
+                buffer.reset();
+                marshaller.marshall(value, new DataOutputStream(buffer));
+                marshaller.getInstance(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())), config);
+            }
+            return true;
+        } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+            // types that can't be instantiated are only prepared
+            return false;
+        }
+    }
+
 }
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection; //@date 19.10.2026
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Immutable settings for the parallel encoding of large sequences. If a
+ * {@link OSharedConfiguration} returns an instance of this class, collections
+ * and arrays with at least {@link #getThreshold()} elements are split into
+ * chunks of {@link #getChunkSize()} elements, which are then encoded on the
+ * configured {@link ForkJoinPool}. The chunks are written in order, each
+ * behind its length, as soon as they are encoded:
+ * <pre>
+ * ┌──────────────────────────────────────────────────────────────┐
+ * │ Chunked Sequence                                             │
+ * ├─────────────────┬──────────────────┬─────────────────────────┤
+ * │ chunk_size: int │ chunk_count: int │ ...                     │
+ * ├─────────────────┴─┬────────────────┴┬────────────────────────┤
+ * │ chunk0_len: int   │ chunk0: byte[]  │ chunk1_len: int ...    │
+ * └───────────────────┴─────────────────┴────────────────────────┘
+ * </pre>
+ * Readers always decode such sequences in parallel, regardless of their own
+ * settings.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see BasicSharedConfiguration#setParallelOptions(ParallelOptions)
+ */
+public final class ParallelOptions {
+
+    /**
+     * The default minimum amount of elements to enable parallel encoding.
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    /**
+     * The default amount of elements per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+
+    /**
+     * The maximum amount of elements per chunk. Readers reject sequences
+     * with larger chunks.
+     */
+    public static final int MAX_CHUNK_SIZE = 1 << 24;
+
+    private final int threshold;
+    private final int chunkSize;
+    private final ForkJoinPool executor;
+
+    private ParallelOptions(int threshold, int chunkSize, ForkJoinPool executor) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold: " + threshold);
+        }
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+        this.threshold = threshold;
+        // Chunks always have to cover whole null bitmaps
+        this.chunkSize = (chunkSize + Byte.SIZE - 1) & -Byte.SIZE;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * @return options with the default threshold and chunk size that use the
+     *         common {@link ForkJoinPool}.
+     */
+    public static ParallelOptions defaults() {
+        return new ParallelOptions(DEFAULT_THRESHOLD, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param threshold the minimum amount of elements
+     * @return a copy of these options with the given threshold
+     */
+    public ParallelOptions withThreshold(int threshold) {
+        return new ParallelOptions(threshold, chunkSize, executor);
+    }
+
+    /**
+     * @param chunkSize the amount of elements per chunk; rounded up to a
+     *         multiple of eight
+     * @return a copy of these options with the given chunk size
+     * @throws IllegalArgumentException if the chunk size is less than one or
+     *         greater than {@link #MAX_CHUNK_SIZE}
+     */
+    public ParallelOptions withChunkSize(int chunkSize) {
+        return new ParallelOptions(threshold, chunkSize, executor);
+    }
+
+    /**
+     * @param executor the pool used to encode and decode chunks
+     * @return a copy of these options with the given pool
+     */
+    public ParallelOptions withExecutor(ForkJoinPool executor) {
+        return new ParallelOptions(threshold, chunkSize, executor);
+    }
+
+    /**
+     * @return the minimum amount of elements to enable parallel encoding
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return the amount of elements per chunk
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the pool used to encode and decode chunks
+     */
+    public ForkJoinPool getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns whether a sequence of the given length should be encoded in
+     * parallel.
+     *
+     * @param length the amount of elements
+     * @return true, if the length reaches the threshold
+     */
+    public boolean isParallel(int length) {
+        return length >= threshold;
+    }
+}
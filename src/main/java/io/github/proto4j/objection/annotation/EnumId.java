@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.annotation; //@date 19.10.2026
+
+import java.lang.annotation.*;
+
+/**
+ * Assigns a stable id to an enum constant. By default, enum values are written
+ * by their ordinal, which changes whenever constants are reordered or inserted
+ * in the middle of the declaration. Enums whose constants are annotated with
+ * this {@link Annotation} are written by the given id instead:
+ * <pre>
+ *     public enum Color {
+ *         &#064;EnumId(1) RED,
+ *         &#064;EnumId(3) BLUE,   // added in version 2
+ *         &#064;EnumId(2) GREEN
+ *     }
+ * </pre>
+ * If one constant of an enum is annotated, all constants have to be annotated
+ * and the ids must be unique and non-negative. Ids that are unknown to the
+ * reading side are decoded as {@code null}.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface EnumId {
+
+    /**
+     * @return the stable id of the annotated enum constant
+     */
+    int value();
+}
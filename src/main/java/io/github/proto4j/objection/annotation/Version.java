@@ -41,6 +41,11 @@ import java.lang.annotation.Target;
  * </pre>
  * All annotated fields with a version number higher than the given value at
  * the class definition will not be serialized.
+ * <p>
+ * Readers accept objects written with other versions of a class: fields that
+ * are unknown to the reader or whose version does not match are skipped, and
+ * fields missing in the binary data keep the value assigned by the default
+ * constructor.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD, ElementType.TYPE})
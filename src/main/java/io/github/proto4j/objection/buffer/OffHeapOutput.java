@@ -0,0 +1,368 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.buffer; //@date 19.10.2026
+
+import java.io.Closeable;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link DataOutput} that stores all written data in direct
+ * {@link ByteBuffer}s outside the Java heap. The output grows by chaining new
+ * chunks, each twice as large as the previous one up to a maximum chunk size,
+ * so large payloads never require a single huge allocation or a copy of
+ * already written data:
+ * <pre>
+ *     try (OffHeapOutput output = new OffHeapOutput()) {
+ *         marshaller.marshall(value, output);
+ *         output.writeTo(fileChannel);
+ *     }
+ * </pre>
+ * The written chunks can be handed over to a {@link GatheringByteChannel}
+ * (e.g. a {@code FileChannel} or {@code SocketChannel}) without copying them.
+ * Memory is released deterministically when the output is closed.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
+public final class OffHeapOutput implements DataOutput, Closeable {
+
+    /**
+     * The default size of the first chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * The default maximum chunk size.
+     */
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final int maxChunkSize;
+    private int nextChunkSize;
+
+    private ByteBuffer current;
+    private int index;
+    private long size;
+    private boolean closed;
+
+    public OffHeapOutput() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CHUNK_SIZE);
+    }
+
+    public OffHeapOutput(int chunkSize, int maxChunkSize) {
+        if (chunkSize < Long.BYTES || maxChunkSize < chunkSize) {
+            throw new IllegalArgumentException("Invalid chunk sizes: " + chunkSize + ", " + maxChunkSize);
+        }
+        this.nextChunkSize = chunkSize;
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    /**
+     * @return the amount of written bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the amount of allocated off-heap memory in bytes
+     */
+    public long capacity() {
+        long capacity = 0;
+        for (ByteBuffer chunk : chunks) {
+            capacity += chunk.capacity();
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns read-only views of all chunks that contain written data. The
+     * views share their content with this output and become invalid once it
+     * is closed.
+     *
+     * @return the written data
+     */
+    public ByteBuffer[] buffers() {
+        int count = current == null ? 0 : index + 1;
+        ByteBuffer[] buffers = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            ByteBuffer chunk = chunks.get(i);
+            ByteBuffer view = chunk.asReadOnlyBuffer();
+            view.position(0).limit(chunk.position());
+            buffers[i] = view;
+        }
+        return buffers;
+    }
+
+    /**
+     * Writes all data to the given channel with gathering writes. The channel
+     * must be in blocking mode, as this method only returns after all data
+     * has been written.
+     *
+     * @param channel the destination, e.g. a {@code FileChannel}
+     * @return the amount of transferred bytes
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the channel is in non-blocking mode
+     */
+    public long writeTo(GatheringByteChannel channel) throws IOException {
+        ensureOpen();
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            // partial writes would have to be retried in a busy loop
+            throw new IllegalArgumentException("Channel is in non-blocking mode");
+        }
+        ByteBuffer[] buffers = buffers();
+        long written = 0;
+        int offset = 0;
+        while (offset < buffers.length) {
+            written += channel.write(buffers, offset, buffers.length - offset);
+            while (offset < buffers.length && !buffers[offset].hasRemaining()) {
+                offset++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Discards all written data but keeps the allocated chunks for reuse.
+     */
+    public void reset() {
+        for (ByteBuffer chunk : chunks) {
+            chunk.clear();
+        }
+        current = chunks.isEmpty() ? null : chunks.get(0);
+        index = 0;
+        size = 0;
+    }
+
+    /**
+     * Releases all off-heap memory. Buffers returned by {@link #buffers()}
+     * must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer chunk : chunks) {
+            Cleaner.free(chunk);
+        }
+        chunks.clear();
+        current = null;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Output already closed");
+        }
+    }
+
+    private ByteBuffer require(int length) throws IOException {
+        ensureOpen();
+        if (current == null || current.remaining() < length) {
+            nextChunk(length);
+        }
+        size += length;
+        return current;
+    }
+
+    private void nextChunk(int length) {
+        if (current != null && index + 1 < chunks.size()) {
+            // reuse chunks that were allocated before a reset
+            ByteBuffer next = chunks.get(index + 1);
+            if (next.capacity() >= length) {
+                current = next;
+                index++;
+                return;
+            }
+        }
+
+        int capacity = Math.max(nextChunkSize, length);
+        nextChunkSize = (int) Math.min((long) nextChunkSize * 2, maxChunkSize);
+        ByteBuffer chunk = ByteBuffer.allocateDirect(capacity);
+        if (current == null) {
+            chunks.add(0, chunk);
+            index = 0;
+        } else {
+            chunks.add(++index, chunk);
+        }
+        current = chunk;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        require(1).put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (current == null || !current.hasRemaining()) {
+                nextChunk(1);
+            }
+            int count = Math.min(len, current.remaining());
+            current.put(b, off, count);
+            size += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        require(1).put((byte) (v ? 1 : 0));
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        require(1).put((byte) v);
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        require(Short.BYTES).putShort((short) v);
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        require(Character.BYTES).putChar((char) v);
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        require(Integer.BYTES).putInt(v);
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        require(Long.BYTES).putLong(v);
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        require(Float.BYTES).putFloat(v);
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        require(Double.BYTES).putDouble(v);
+    }
+
+    @Override
+    public void writeBytes(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            writeByte(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(String s) throws IOException {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            length += (c >= 0x0001 && c <= 0x007F) ? 1 : (c > 0x07FF ? 3 : 2);
+        }
+        if (length > 0xFFFF) {
+            throw new UTFDataFormatException("Encoded string too long: " + length + " bytes");
+        }
+
+        writeShort(length);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                writeByte(c);
+            } else if (c > 0x07FF) {
+                writeByte(0xE0 | ((c >> 12) & 0x0F));
+                writeByte(0x80 | ((c >> 6) & 0x3F));
+                writeByte(0x80 | (c & 0x3F));
+            } else {
+                writeByte(0xC0 | ((c >> 6) & 0x1F));
+                writeByte(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Frees direct buffers immediately via {@code sun.misc.Unsafe.invokeCleaner}.
+     * If that method is not available, the memory is released by the garbage
+     * collector once the buffers are unreachable.
+     */
+    private static final class Cleaner {
+
+        private static final Object UNSAFE;
+        private static final Method INVOKE_CLEANER;
+
+        static {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+            try {
+                Class<?> type = Class.forName("sun.misc.Unsafe");
+                Field field = type.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                unsafe = field.get(null);
+                invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // not supported on this runtime
+            }
+            UNSAFE = unsafe;
+            INVOKE_CLEANER = invokeCleaner;
+        }
+
+        static void free(ByteBuffer buffer) {
+            if (INVOKE_CLEANER == null || !buffer.isDirect()) {
+                return;
+            }
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // the buffer will be released by the garbage collector
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.flat; //@date 19.10.2026
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.nio.ByteBuffer;
+
+/**
+ * An indexable sequence of fixed-size records:
+ * <pre>
+ * ┌─────────┬──────────────────┬────────────┬─────────────────────────────┐
+ * │ id: int │ record_size: int │ count: int │ record_0 record_1 ...       │
+ * └─────────┴──────────────────┴────────────┴─────────────────────────────┘
+ * </pre>
+ * The record at index {@code i} starts at {@code HEADER_SIZE + i * record_size},
+ * so single records and fields can be read in constant time without decoding
+ * the preceding ones. The id is the schema fingerprint of the record type and
+ * is verified when the array is wrapped.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see FlatLayout
+ */
+public final class FlatArray {
+
+    /**
+     * The size of the header in front of the records.
+     */
+    public static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final FlatLayout layout;
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int size;
+
+    private FlatArray(FlatLayout layout, ByteBuffer buffer, int start, int size) {
+        this.layout = layout;
+        this.buffer = buffer;
+        this.start = start;
+        this.size = size;
+    }
+
+    /**
+     * Encodes the given values into a new heap buffer.
+     *
+     * @param layout the layout of the values
+     * @param values the values to encode, must not contain {@code null}
+     * @return the encoded array, positioned at zero
+     */
+    public static ByteBuffer encode(FlatLayout layout, Object[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(sizeOf(layout, values.length));
+        write(buffer, layout, values);
+        return buffer.flip();
+    }
+
+    /**
+     * Writes the given values at the current position of the buffer and
+     * advances the position behind the last record.
+     *
+     * @param buffer the target buffer
+     * @param layout the layout of the values
+     * @param values the values to encode, must not contain {@code null}
+     */
+    public static void write(ByteBuffer buffer, FlatLayout layout, Object[] values) {
+        int position = buffer.position();
+        int recordSize = layout.getRecordSize();
+        if (buffer.remaining() < sizeOf(layout, values.length)) {
+            throw new IndexOutOfBoundsException("Not enough space for " + values.length + " records");
+        }
+
+        buffer.putInt(position, layout.getFingerprint());
+        buffer.putInt(position + Integer.BYTES, recordSize);
+        buffer.putInt(position + 2 * Integer.BYTES, values.length);
+        int offset = position + HEADER_SIZE;
+        for (Object value : values) {
+            layout.write(buffer, offset, value);
+            offset += recordSize;
+        }
+        buffer.position(offset);
+    }
+
+    /**
+     * Writes the given values to the given output.
+     *
+     * @param dataOutput the resource stream
+     * @param layout the layout of the values
+     * @param values the values to encode, must not contain {@code null}
+     * @throws IOException if an error occurs while writing
+     */
+    public static void write(DataOutput dataOutput, FlatLayout layout, Object[] values) throws IOException {
+        dataOutput.write(encode(layout, values).array());
+    }
+
+    /**
+     * Wraps the array that starts at the current position of the given buffer.
+     * The buffer is shared, not copied; its position is not changed.
+     *
+     * @param buffer the buffer containing the array
+     * @param layout the expected record layout
+     * @return a view on the records
+     * @throws InvalidClassException if the array was written for another schema
+     */
+    public static FlatArray wrap(ByteBuffer buffer, FlatLayout layout) throws InvalidClassException {
+        int position = buffer.position();
+        int id = buffer.getInt(position);
+        int recordSize = buffer.getInt(position + Integer.BYTES);
+        int count = buffer.getInt(position + 2 * Integer.BYTES);
+        if (id != layout.getFingerprint() || recordSize != layout.getRecordSize()) {
+            throw new InvalidClassException(layout.getType().getName(), "Flat array does not match the layout");
+        }
+        if (count < 0 || (long) count * recordSize > buffer.limit() - position - HEADER_SIZE) {
+            throw new IndexOutOfBoundsException("Flat array exceeds the buffer limit");
+        }
+        return new FlatArray(layout, buffer, position + HEADER_SIZE, count);
+    }
+
+    /**
+     * @param layout the layout of the records
+     * @param count the amount of records
+     * @return the encoded size of an array with the given amount of records
+     */
+    public static int sizeOf(FlatLayout layout, int count) {
+        return Math.toIntExact(HEADER_SIZE + (long) count * layout.getRecordSize());
+    }
+
+    /**
+     * @return the amount of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the layout of the records
+     */
+    public FlatLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Points the given flyweight to the record at the given index.
+     *
+     * @param index the record index
+     * @param record the flyweight to reuse
+     * @return the given flyweight
+     */
+    public FlatRecord get(int index, FlatRecord record) {
+        return record.wrap(buffer, offsetOf(index));
+    }
+
+    /**
+     * @param index the record index
+     * @return a new flyweight pointing to the record at the given index
+     */
+    public FlatRecord get(int index) {
+        return get(index, new FlatRecord(layout));
+    }
+
+    /**
+     * Creates a new instance from the record at the given index.
+     *
+     * @param index the record index
+     * @return the new instance
+     * @throws ReflectiveOperationException if the instance could not be created
+     */
+    public Object materialize(int index) throws ReflectiveOperationException {
+        return layout.read(buffer, offsetOf(index));
+    }
+
+    private int offsetOf(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return start + index * layout.getRecordSize();
+    }
+}
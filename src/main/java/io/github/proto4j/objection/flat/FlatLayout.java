@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.flat; //@date 19.10.2026
+
+import io.github.proto4j.objection.internal.PrimitiveValues;
+import io.github.proto4j.objection.model.OSchema;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The fixed-size record layout of a class that consists only of primitive
+ * fields. Each field is stored at a constant offset in the order of the
+ * {@link OSchema} fields, so that single values can be accessed without
+ * decoding the whole record:
+ * <pre>
+ *     FlatLayout layout = FlatLayout.of(Tick.class);
+ *     int bid = layout.indexOf("bid");
+ *
+ *     FlatRecord record = new FlatRecord(layout).wrap(buffer, offset);
+ *     double value = record.getDouble(bid);
+ * </pre>
+ * All values are written with the byte order of the target buffer, so both
+ * sides have to use the same order. Heap and direct buffers are big-endian
+ * by default.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see FlatRecord
+ * @see FlatArray
+ */
+public final class FlatLayout {
+
+    private static final ClassValue<FlatLayout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected FlatLayout computeValue(Class<?> type) {
+            return new FlatLayout(OSchema.of(type));
+        }
+    };
+
+    private final OSchema schema;
+    private final Class<?>[] types;
+    private final int[] offsets;
+    private final int recordSize;
+
+    private FlatLayout(OSchema schema) {
+        this.schema = schema;
+        this.types = new Class<?>[schema.getFieldCount()];
+        this.offsets = new int[types.length];
+
+        int offset = 0;
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = schema.getField(i).getType();
+            if (!type.isPrimitive()) {
+                throw new IllegalArgumentException("Field " + schema.getField(i).getName()
+                        + " of " + schema.getName() + " is not primitive");
+            }
+            types[i] = type;
+            offsets[i] = offset;
+            offset += PrimitiveValues.widthOf(type);
+        }
+        this.recordSize = offset;
+    }
+
+    /**
+     * Returns the cached layout of the given type.
+     *
+     * @param type the record type
+     * @return the layout of the given type
+     * @throws IllegalArgumentException if the type has non-primitive fields
+     */
+    public static FlatLayout of(Class<?> type) {
+        return LAYOUTS.get(type);
+    }
+
+    /**
+     * @param type the type to inspect
+     * @return true, if all serializable fields of the given type are primitive
+     */
+    public static boolean isFlat(Class<?> type) {
+        OSchema schema = OSchema.of(type);
+        for (int i = 0; i < schema.getFieldCount(); i++) {
+            if (!schema.getField(i).getType().isPrimitive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the record type
+     */
+    public Class<?> getType() {
+        return schema.getType();
+    }
+
+    /**
+     * @return the fingerprint of the underlying schema
+     */
+    public int getFingerprint() {
+        return schema.getFingerprint();
+    }
+
+    /**
+     * @return the size of a single record in bytes
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * @return the amount of fields
+     */
+    public int getFieldCount() {
+        return types.length;
+    }
+
+    /**
+     * @param field the field index
+     * @return the name of the field at the given index
+     */
+    public String getFieldName(int field) {
+        return schema.getField(field).getName();
+    }
+
+    /**
+     * @param field the field index
+     * @return the primitive type of the field at the given index
+     */
+    public Class<?> getFieldType(int field) {
+        return types[field];
+    }
+
+    /**
+     * @param field the field index
+     * @return the offset of the field within a record
+     */
+    public int getOffset(int field) {
+        return offsets[field];
+    }
+
+    /**
+     * @param name the field name
+     * @return the index of the field with the given name or {@code -1}
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < types.length; i++) {
+            if (getFieldName(i).equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the given value as a record at the given absolute offset. The
+     * position of the buffer is not changed.
+     *
+     * @param buffer the target buffer
+     * @param offset the offset of the record
+     * @param value the value to write
+     */
+    public void write(ByteBuffer buffer, int offset, Object value) {
+        if (value.getClass() != getType()) {
+            throw new IllegalArgumentException("Expected " + schema.getName() + ", got " + value.getClass().getName());
+        }
+        try {
+            for (int i = 0; i < types.length; i++) {
+                PrimitiveValues.put(buffer, offset + offsets[i], schema.getField(i), value);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates a new instance from the record at the given absolute offset.
+     *
+     * @param buffer the source buffer
+     * @param offset the offset of the record
+     * @return the new instance
+     * @throws ReflectiveOperationException if the instance could not be created
+     */
+    public Object read(ByteBuffer buffer, int offset) throws ReflectiveOperationException {
+        Object[] values = new Object[types.length];
+        boolean[] assigned = new boolean[types.length];
+        for (int i = 0; i < types.length; i++) {
+            values[i] = PrimitiveValues.get(buffer, offset + offsets[i], types[i]);
+            assigned[i] = true;
+        }
+        return schema.newInstance(values, assigned);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.flat; //@date 19.10.2026
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable flyweight that reads the fields of a single record directly from
+ * a {@link ByteBuffer}. No object is created until {@link #get()} is called;
+ * the typed getters only compute the absolute index of the value.
+ * <pre>
+ *     FlatRecord record = new FlatRecord(layout);
+ *     for (int i = 0; i &lt; array.size(); i++) {
+ *         sum += array.get(i, record).getDouble(bid);
+ *     }
+ * </pre>
+ * Instances of this class are not thread-safe.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see FlatLayout
+ */
+public final class FlatRecord {
+
+    private final FlatLayout layout;
+    private ByteBuffer buffer;
+    private int offset;
+
+    public FlatRecord(FlatLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Points this flyweight to the record at the given absolute offset.
+     *
+     * @param buffer the buffer containing the record
+     * @param offset the offset of the record
+     * @return this instance
+     */
+    public FlatRecord wrap(ByteBuffer buffer, int offset) {
+        if (offset < 0 || offset + layout.getRecordSize() > buffer.limit()) {
+            throw new IndexOutOfBoundsException("Record at " + offset + " exceeds the buffer limit");
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * @return the layout of the wrapped record
+     */
+    public FlatLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * @return the offset of the wrapped record
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @param field the field index
+     * @return the {@code int} value of the given field
+     */
+    public int getInt(int field) {
+        return buffer.getInt(index(field, int.class));
+    }
+
+    /**
+     * @param field the field index
+     * @return the {@code long} value of the given field
+     */
+    public long getLong(int field) {
+        return buffer.getLong(index(field, long.class));
+    }
+
+    /**
+     * @param field the field index
+     * @return the {@code double} value of the given field
+     */
+    public double getDouble(int field) {
+        return buffer.getDouble(index(field, double.class));
+    }
+
+    /**
+     * @param field the field index
+     * @return the {@code float} value of the given field
+     */
+    public float getFloat(int field) {
+        return buffer.getFloat(index(field, float.class));
+    }
+
+    /**
+     * @param field the field index
+     * @return the {@code short} value of the given field
+     */
+    public short getShort(int field) {
+        return buffer.getShort(index(field, short.class));
+    }
+
+    /**
+     * @param field the field index
+     * @return the {@code char} value of the given field
+     */
+    public char getChar(int field) {
+        return buffer.getChar(index(field, char.class));
+    }
+
+    /**
+     * @param field the field index
+     * @return the {@code byte} value of the given field
+     */
+    public byte getByte(int field) {
+        return buffer.get(index(field, byte.class));
+    }
+
+    /**
+     * @param field the field index
+     * @return the {@code boolean} value of the given field
+     */
+    public boolean getBoolean(int field) {
+        return buffer.get(index(field, boolean.class)) != 0;
+    }
+
+    /**
+     * Creates a new instance with the values of the wrapped record.
+     *
+     * @return the new instance
+     * @throws ReflectiveOperationException if the instance could not be created
+     */
+    public Object get() throws ReflectiveOperationException {
+        return layout.read(buffer, offset);
+    }
+
+    private int index(int field, Class<?> type) {
+        if (layout.getFieldType(field) != type) {
+            throw new IllegalArgumentException("Field " + layout.getFieldName(field) + " is not of type " + type);
+        }
+        return offset + layout.getOffset(field);
+    }
+}
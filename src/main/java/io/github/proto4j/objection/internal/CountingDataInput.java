@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * A {@link DataInput} wrapper that counts all bytes read from the underlying
+ * source.
+ */
+public final class CountingDataInput implements DataInput {
+
+    private final DataInput delegate;
+    private long count;
+
+    public CountingDataInput(DataInput delegate) {
+        this.delegate = delegate;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public DataInput getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        delegate.readFully(b);
+        count += b.length;
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        delegate.readFully(b, off, len);
+        count += len;
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        int skipped = delegate.skipBytes(n);
+        count += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        boolean value = delegate.readBoolean();
+        count++;
+        return value;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        byte value = delegate.readByte();
+        count++;
+        return value;
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        int value = delegate.readUnsignedByte();
+        count++;
+        return value;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        short value = delegate.readShort();
+        count += Short.BYTES;
+        return value;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        int value = delegate.readUnsignedShort();
+        count += Short.BYTES;
+        return value;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        char value = delegate.readChar();
+        count += Character.BYTES;
+        return value;
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        int value = delegate.readInt();
+        count += Integer.BYTES;
+        return value;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        long value = delegate.readLong();
+        count += Long.BYTES;
+        return value;
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        float value = delegate.readFloat();
+        count += Float.BYTES;
+        return value;
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        double value = delegate.readDouble();
+        count += Double.BYTES;
+        return value;
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        String value = delegate.readLine();
+        if (value != null) {
+            // The line terminator is not part of the result, so at least
+            // one more byte was consumed.
+            count += value.length() + 1;
+        }
+        return value;
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        String value = delegate.readUTF();
+        count += Short.BYTES + CountingDataOutput.utfLength(value);
+        return value;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A {@link DataOutput} wrapper that counts all bytes written to the underlying
+ * stream. If no delegate is given, all data is discarded and only the amount of
+ * bytes is counted.
+ */
+public final class CountingDataOutput implements DataOutput {
+
+    private final DataOutput delegate;
+    private long count;
+
+    public CountingDataOutput(DataOutput delegate) {
+        this.delegate = delegate;
+    }
+
+    public static CountingDataOutput nullOutput() {
+        return new CountingDataOutput(null);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public DataOutput getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (delegate != null) delegate.write(b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        if (delegate != null) delegate.write(b);
+        count += b.length;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (delegate != null) delegate.write(b, off, len);
+        count += len;
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        if (delegate != null) delegate.writeBoolean(v);
+        count++;
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        if (delegate != null) delegate.writeByte(v);
+        count++;
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        if (delegate != null) delegate.writeShort(v);
+        count += Short.BYTES;
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        if (delegate != null) delegate.writeChar(v);
+        count += Character.BYTES;
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        if (delegate != null) delegate.writeInt(v);
+        count += Integer.BYTES;
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        if (delegate != null) delegate.writeLong(v);
+        count += Long.BYTES;
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        if (delegate != null) delegate.writeFloat(v);
+        count += Float.BYTES;
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        if (delegate != null) delegate.writeDouble(v);
+        count += Double.BYTES;
+    }
+
+    @Override
+    public void writeBytes(String s) throws IOException {
+        if (delegate != null) delegate.writeBytes(s);
+        count += s.length();
+    }
+
+    @Override
+    public void writeChars(String s) throws IOException {
+        if (delegate != null) delegate.writeChars(s);
+        count += (long) s.length() * Character.BYTES;
+    }
+
+    @Override
+    public void writeUTF(String s) throws IOException {
+        if (delegate != null) delegate.writeUTF(s);
+        count += Short.BYTES + utfLength(s);
+    }
+
+    /**
+     * Returns the amount of bytes the given string will occupy in modified
+     * UTF-8 encoding (without the two length bytes).
+     *
+     * @param s the string value
+     * @return the encoded length
+     */
+    public static int utfLength(String s) {
+        int length = s.length();
+        int utf = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80 || c == 0) {
+                utf += (c >= 0x800) ? 2 : 1;
+            }
+        }
+        return utf;
+    }
+}
@@ -25,47 +25,75 @@
 package io.github.proto4j.objection.internal; //@date 26.08.2022
 
 import io.github.proto4j.objection.BasicSharedConfiguration;
+import io.github.proto4j.objection.ConfigurationSnapshot;
 import io.github.proto4j.objection.ObjectSerializer;
 import io.github.proto4j.objection.serial.*;
 
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class DefaultSharedConfiguration extends BasicSharedConfiguration {
 
+    private final ConcurrentMap<Class<?>, ObjectSerializer> arraySerializers = new ConcurrentHashMap<>();
+
     public DefaultSharedConfiguration() {
-        getSerializers().add(new NumberSerializer.ByteSerializer());
-        getSerializers().add(new NumberSerializer.CharacterSerializer());
-        getSerializers().add(new NumberSerializer.DoubleSerializer());
-        getSerializers().add(new NumberSerializer.FloatSerializer());
-        getSerializers().add(new NumberSerializer.LongSerializer());
-        getSerializers().add(new NumberSerializer.ShortSerializer());
-        getSerializers().add(new NumberSerializer.IntegerSerializer());
-        getSerializers().add(new OClassSerializer());
-        getSerializers().add(new OFieldSerializer());
-        getSerializers().add(new StringSerializer());
-        getSerializers().add(new SequenceSerializer.CollectionSerializer());
-        getSerializers().add(new SequenceSerializer.KeyValueSerializer());
+        this(defaults());
+    }
+
+    public DefaultSharedConfiguration(ConfigurationSnapshot snapshot) {
+        super(snapshot);
+    }
+
+    /**
+     * @return a new snapshot containing the default serializers and the basic
+     *         value types
+     */
+    public static ConfigurationSnapshot defaults() {
+        return ConfigurationSnapshot.builder()
+                .addSerializer(new NumberSerializer.ByteSerializer())
+                .addSerializer(new NumberSerializer.CharacterSerializer())
+                .addSerializer(new NumberSerializer.DoubleSerializer())
+                .addSerializer(new NumberSerializer.FloatSerializer())
+                .addSerializer(new NumberSerializer.LongSerializer())
+                .addSerializer(new NumberSerializer.ShortSerializer())
+                .addSerializer(new NumberSerializer.IntegerSerializer())
+                .addSerializer(new OClassSerializer())
+                .addSerializer(new OFieldSerializer())
+                .addSerializer(new StringSerializer())
+                .addSerializer(new EnumSerializer.ConstantSerializer())
+                .addSerializer(new EnumSerializer.EnumSetSerializer())
+                .addSerializer(new EnumSerializer.EnumMapSerializer())
+                .addSerializer(new SequenceSerializer.CollectionSerializer())
+                .addSerializer(new SequenceSerializer.KeyValueSerializer())
+                // Element types of sequences are only resolved if they are
+                // registered, the basic value types are always allowed.
+                .addTypes(Boolean.class, Byte.class, Character.class, Short.class, Integer.class, Long.class,
+                        Float.class, Double.class, String.class)
+                .snapshot();
     }
 
     @Override
-    public ObjectSerializer forType(Class<?> type) {
-        ObjectSerializer sr = super.forType(type);
+    protected ObjectSerializer lookup(Class<?> type) {
+        ObjectSerializer sr = super.lookup(type);
         if (sr == null && type.isArray()) {
             if (!type.getComponentType().isArray()) {
-                return SequenceSerializer.ArraySerializer.createArraySerializer(type.getComponentType());
+                return getArraySerializer(type.getComponentType());
             } else throw new UnsupportedOperationException("MultiArrays not implemented");
         }
         return sr;
     }
 
-    public synchronized void addSerializer(ObjectSerializer serializer) {
-        Objects.requireNonNull(serializer);
-        getSerializers().add(serializer);
-    }
-
-    public synchronized void addType(Class<?> type) {
-        Objects.requireNonNull(type);
-        getRegisteredClasses().put(type.getName(), type);
+    private ObjectSerializer getArraySerializer(Class<?> componentType) {
+        // computeIfAbsent would lock the bin, so the lookup is done without
+        // it and concurrent misses simply create a second instance
+        ObjectSerializer sr = arraySerializers.get(componentType);
+        if (sr == null) {
+            sr = SequenceSerializer.ArraySerializer.createArraySerializer(componentType);
+            ObjectSerializer previous = arraySerializers.putIfAbsent(componentType, sr);
+            if (previous != null) {
+                sr = previous;
+            }
+        }
+        return sr;
     }
-
 }
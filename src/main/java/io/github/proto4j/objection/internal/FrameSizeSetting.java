@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.MetadataDefinition;
+import jdk.jfr.SettingControl;
+
+import java.util.Set;
+
+/**
+ * Flight recorder setting holding the minimum size of a frame to be recorded
+ * by a {@link LargeFrameEvent}. Values are plain byte counts, optionally
+ * followed by one of the units {@code kB}, {@code MB} or {@code GB}, for
+ * instance {@code "512 kB"}. If several recordings are running, the smallest
+ * value is used.
+ */
+@MetadataDefinition
+@Label("Frame Size")
+@Description("The minimum amount of bytes of a frame to be recorded")
+public final class FrameSizeSetting extends SettingControl {
+
+    /**
+     * The default minimum size of a frame (1 MiB).
+     */
+    public static final long DEFAULT = 1024 * 1024;
+
+    private volatile long minBytes = DEFAULT;
+
+    @Override
+    public String combine(Set<String> values) {
+        long min = Long.MAX_VALUE;
+        for (String value : values) {
+            min = Math.min(min, parse(value));
+        }
+        return Long.toString(min == Long.MAX_VALUE ? DEFAULT : min);
+    }
+
+    @Override
+    public void setValue(String value) {
+        minBytes = parse(value);
+    }
+
+    @Override
+    public String getValue() {
+        return Long.toString(minBytes);
+    }
+
+    /**
+     * @param bytes the amount of bytes of a frame
+     * @return whether a frame of the given size should be recorded
+     */
+    public boolean accept(long bytes) {
+        return bytes >= minBytes;
+    }
+
+    private static long parse(String value) {
+        if (value == null) {
+            return DEFAULT;
+        }
+        String text = value.trim();
+        long unit = 1;
+        if (text.endsWith("GB")) {
+            unit = 1024 * 1024 * 1024;
+        } else if (text.endsWith("MB")) {
+            unit = 1024 * 1024;
+        } else if (text.endsWith("kB")) {
+            unit = 1024;
+        }
+        if (unit != 1) {
+            text = text.substring(0, text.length() - 2).trim();
+        }
+        try {
+            long amount = Long.parseLong(text);
+            return amount < 0 ? DEFAULT : Math.multiplyExact(amount, unit);
+        } catch (NumberFormatException | ArithmeticException e) {
+            // invalid values are ignored, as for the built-in settings
+            return DEFAULT;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Reads objects that were written one after another by a {@link Marshaller}
+ * until the end of the input is reached. An {@link EOFException} is only
+ * treated as the end of the stream if no byte of the next object has been
+ * read; truncated objects are reported as errors.
+ */
+public final class FrameSpliterator<V> extends Spliterators.AbstractSpliterator<V> {
+
+    private final Marshaller<V> marshaller;
+    private final CountingDataInput dataInput;
+    private final OSharedConfiguration config;
+
+    public FrameSpliterator(Marshaller<V> marshaller, DataInput dataInput, OSharedConfiguration config) {
+        super(Long.MAX_VALUE, ORDERED | NONNULL);
+        this.marshaller = marshaller;
+        this.dataInput = new CountingDataInput(dataInput);
+        this.config = config;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super V> action) {
+        long start = dataInput.getCount();
+        V value;
+        try {
+            value = marshaller.getInstance(dataInput, config);
+        } catch (EOFException e) {
+            if (dataInput.getCount() == start) {
+                return false;
+            }
+            throw new UncheckedIOException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ReflectiveOperationException e) {
+            throw new UncheckedIOException(new IOException(e));
+        }
+        action.accept(value);
+        return true;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import sun.reflect.ReflectionFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * Creates the method handles used to allocate and populate instances of
+ * serializable classes. All handles are adapted to generic signatures, so
+ * that they can be called with {@code invokeExact} without further boxing
+ * or casts:
+ * <ul>
+ *     <li>instantiators: {@code ()Object}</li>
+ *     <li>setters: {@code (Object, Object)void}</li>
+ * </ul>
+ */
+public final class Instantiators {
+
+    private static final MethodType INSTANTIATOR = MethodType.methodType(Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private Instantiators() {}
+
+    /**
+     * @param type any class
+     * @return the no-arg constructor of the given type or {@code null} if
+     *         there is no such constructor
+     */
+    public static Constructor<?> getDefaultConstructor(Class<?> type) {
+        try {
+            return type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a handle that calls the given no-arg constructor.
+     *
+     * @param constructor the constructor to call
+     * @return the instantiator handle
+     * @throws IllegalArgumentException if the constructor can't be accessed
+     */
+    public static MethodHandle forConstructor(Constructor<?> constructor) {
+        try {
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(INSTANTIATOR);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("No accessible constructor for "
+                    + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    /**
+     * Returns a handle that allocates instances of the given type without
+     * running any of its constructors, in the same way as Java serialization
+     * does it for {@code Serializable} classes. All fields of the created
+     * instances have their default value ({@code null}, zero or false).
+     *
+     * @param type the type to create
+     * @return the instantiator handle
+     * @throws IllegalArgumentException if the runtime does not support this
+     *                                  kind of allocation
+     */
+    public static MethodHandle forSerialization(Class<?> type) {
+        try {
+            Constructor<?> constructor = ReflectionFactory.getReflectionFactory()
+                    .newConstructorForSerialization(type, Object.class.getDeclaredConstructor());
+            constructor.setAccessible(true);
+            // The generated constructor is not a member of the given type, so
+            // it is called via Constructor.newInstance(Object...).
+            MethodHandle newInstance = MethodHandles.lookup().findVirtual(Constructor.class,
+                    "newInstance", MethodType.methodType(Object.class, Object[].class));
+            return MethodHandles.insertArguments(newInstance, 0, constructor, new Object[0]).asType(INSTANTIATOR);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            throw new IllegalArgumentException("Could not allocate " + type.getName()
+                    + " without a constructor", e);
+        }
+    }
+
+    /**
+     * @param field an accessible instance field
+     * @return a handle that assigns a value to the field of the given target
+     * @throws IllegalArgumentException if the field can't be modified
+     */
+    public static MethodHandle forSetter(Field field) {
+        try {
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Could not access field " + field.getName(), e);
+        }
+    }
+}
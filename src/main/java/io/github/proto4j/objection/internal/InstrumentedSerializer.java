@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import io.github.proto4j.objection.OInstrumentation;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.ObjectSerializer;
+import io.github.proto4j.objection.model.OClass;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Decorator for {@link ObjectSerializer} instances that reports every call to
+ * an {@link OInstrumentation} instance. Objects of this class are only created
+ * if instrumentation is enabled.
+ */
+public final class InstrumentedSerializer implements ObjectSerializer {
+
+    private final ObjectSerializer delegate;
+    private final OInstrumentation instrumentation;
+
+    public InstrumentedSerializer(ObjectSerializer delegate, OInstrumentation instrumentation) {
+        this.delegate = delegate;
+        this.instrumentation = instrumentation;
+    }
+
+    public ObjectSerializer getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx) throws IOException {
+        long position = position(dataOutput);
+        long start = System.nanoTime();
+        delegate.writeObject(dataOutput, writableObject, ctx);
+        long nanos = System.nanoTime() - start;
+        instrumentation.onWrite(typeOf(writableObject), delta(position, position(dataOutput)), nanos);
+    }
+
+    @Override
+    public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
+        long position = position(dataInput);
+        long start = System.nanoTime();
+        Object value = delegate.getInstance(type, dataInput, ctx);
+        long nanos = System.nanoTime() - start;
+        instrumentation.onRead(value != null ? typeOf(value) : type, delta(position, position(dataInput)), nanos);
+        return value;
+    }
+
+    @Override
+    public boolean accept(Class<?> type) {
+        return delegate.accept(type);
+    }
+
+    @Override
+    public long sizeOf(Object writableObject, OSerializationContext ctx) throws IOException {
+        return delegate.sizeOf(writableObject, ctx);
+    }
+
+    @Override
+    public int getFixedSize(Class<?> type) {
+        return delegate.getFixedSize(type);
+    }
+
+    private static Class<?> typeOf(Object value) {
+        if (value instanceof OClass) {
+            return ((OClass<?>) value).getType();
+        }
+        return value.getClass();
+    }
+
+    private static long position(DataOutput output) {
+        if (output instanceof ScratchOutput) {
+            return ((ScratchOutput) output).position();
+        }
+        return output instanceof CountingDataOutput ? ((CountingDataOutput) output).getCount() : -1;
+    }
+
+    private static long position(DataInput input) {
+        return input instanceof CountingDataInput ? ((CountingDataInput) input).getCount() : -1;
+    }
+
+    private static long delta(long start, long end) {
+        return start == -1 ? -1 : end - start;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event emitted when a {@link io.github.proto4j.objection.Marshaller}
+ * wrote a top-level object that is at least as long as the {@code frameSize}
+ * setting of the recording (1 MiB by default, see {@link FrameSizeSetting}).
+ */
+@Name("io.github.proto4j.objection.LargeFrame")
+@Label("Large Frame")
+@Category({"Proto4j", "Objection"})
+@Description("A top-level object exceeded the configured frame size")
+public final class LargeFrameEvent extends Event {
+
+    @Label("Type")
+    public String typeName;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+
+    @Name("frameSize")
+    @Label("Frame Size")
+    @SettingDefinition
+    protected boolean frameSize(FrameSizeSetting setting) {
+        return setting.accept(bytes);
+    }
+}
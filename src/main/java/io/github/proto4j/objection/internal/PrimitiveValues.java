@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-width access to primitive field values in a {@link ByteBuffer}. All
+ * values use their natural width; booleans are stored as a single byte.
+ */
+public final class PrimitiveValues {
+
+    private PrimitiveValues() {
+    }
+
+    /**
+     * @param type a primitive type
+     * @return the amount of bytes of a value of the given type
+     */
+    public static int widthOf(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return Long.BYTES;
+        } else if (type == int.class || type == float.class) {
+            return Integer.BYTES;
+        } else if (type == short.class || type == char.class) {
+            return Short.BYTES;
+        }
+        // byte and boolean
+        return Byte.BYTES;
+    }
+
+    /**
+     * Writes the value of the given primitive field at the given absolute
+     * index without changing the position of the buffer.
+     *
+     * @return the amount of written bytes
+     */
+    public static int put(ByteBuffer buffer, int index, Field field, Object owner) throws IllegalAccessException {
+        Class<?> type = field.getType();
+        if (type == int.class) {
+            buffer.putInt(index, field.getInt(owner));
+        } else if (type == long.class) {
+            buffer.putLong(index, field.getLong(owner));
+        } else if (type == double.class) {
+            buffer.putDouble(index, field.getDouble(owner));
+        } else if (type == float.class) {
+            buffer.putFloat(index, field.getFloat(owner));
+        } else if (type == short.class) {
+            buffer.putShort(index, field.getShort(owner));
+        } else if (type == char.class) {
+            buffer.putChar(index, field.getChar(owner));
+        } else if (type == byte.class) {
+            buffer.put(index, field.getByte(owner));
+        } else {
+            buffer.put(index, (byte) (field.getBoolean(owner) ? 1 : 0));
+        }
+        return widthOf(type);
+    }
+
+    /**
+     * Reads a value of the given primitive type at the given absolute index
+     * without changing the position of the buffer.
+     */
+    public static Object get(ByteBuffer buffer, int index, Class<?> type) {
+        if (type == int.class) {
+            return buffer.getInt(index);
+        } else if (type == long.class) {
+            return buffer.getLong(index);
+        } else if (type == double.class) {
+            return buffer.getDouble(index);
+        } else if (type == float.class) {
+            return buffer.getFloat(index);
+        } else if (type == short.class) {
+            return buffer.getShort(index);
+        } else if (type == char.class) {
+            return buffer.getChar(index);
+        } else if (type == byte.class) {
+            return buffer.get(index);
+        }
+        return buffer.get(index) != 0;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Reflective access to record classes. This module is compiled for Java 11,
+ * so {@code Class.isRecord()} and {@code Class.getRecordComponents()} are
+ * looked up dynamically. On runtimes without record support no class is
+ * treated as a record.
+ */
+public final class Records {
+
+    private static final Method IS_RECORD;
+    private static final Method GET_RECORD_COMPONENTS;
+    private static final Method GET_NAME;
+    private static final Method GET_TYPE;
+
+    static {
+        Method isRecord = null, getRecordComponents = null, getName = null, getType = null;
+        try {
+            isRecord = Class.class.getMethod("isRecord");
+            getRecordComponents = Class.class.getMethod("getRecordComponents");
+            Class<?> component = Class.forName("java.lang.reflect.RecordComponent");
+            getName = component.getMethod("getName");
+            getType = component.getMethod("getType");
+        } catch (ReflectiveOperationException e) {
+            // records are not supported by this runtime
+        }
+        IS_RECORD = isRecord;
+        GET_RECORD_COMPONENTS = getRecordComponents;
+        GET_NAME = getName;
+        GET_TYPE = getType;
+    }
+
+    private Records() {}
+
+    public static boolean isRecord(Class<?> type) {
+        if (IS_RECORD == null) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_RECORD.invoke(type);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param type a record class
+     * @return the names of all record components in declaration order
+     */
+    public static String[] getComponentNames(Class<?> type) {
+        Object[] components = getComponents(type);
+        String[] names = new String[components.length];
+        for (int i = 0; i < components.length; i++) {
+            names[i] = (String) invoke(GET_NAME, components[i]);
+        }
+        return names;
+    }
+
+    /**
+     * @param type a record class
+     * @return the types of all record components in declaration order
+     */
+    public static Class<?>[] getComponentTypes(Class<?> type) {
+        Object[] components = getComponents(type);
+        Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = (Class<?>) invoke(GET_TYPE, components[i]);
+        }
+        return types;
+    }
+
+    /**
+     * Returns a handle to the canonical constructor of the given record. The
+     * handle takes all component values as a single {@code Object[]}
+     * argument and returns the new instance as {@code Object}.
+     *
+     * @param type a record class
+     * @return the spreading constructor handle
+     * @throws IllegalArgumentException if the constructor can't be accessed
+     */
+    public static MethodHandle getCanonicalConstructor(Class<?> type) {
+        Class<?>[] types = getComponentTypes(type);
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class, types))
+                    .asSpreader(Object[].class, types.length);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("No accessible canonical constructor for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * @param type any type
+     * @return the value a field of the given type has before it is assigned
+     */
+    public static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static Object[] getComponents(Class<?> type) {
+        if (!isRecord(type)) {
+            throw new IllegalArgumentException("Not a record: " + type.getName());
+        }
+        Object components = invoke(GET_RECORD_COMPONENTS, type);
+        Object[] values = new Object[Array.getLength(components)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Array.get(components, i);
+        }
+        return values;
+    }
+
+    private static Object invoke(Method method, Object target) {
+        try {
+            return method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
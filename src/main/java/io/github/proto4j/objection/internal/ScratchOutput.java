@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A reusable in-memory {@link DataOutput} for values that need a length in
+ * front of them. The length is reserved with {@link #reserveLength()} and
+ * patched once the value is complete, so nested values are encoded only once
+ * and copied to the actual output a single time.
+ * <p>
+ * Each thread keeps one released instance for reuse; nested acquisitions
+ * create a new one.
+ */
+public final class ScratchOutput extends DataOutputStream {
+
+    // larger buffers are not kept after a release
+    private static final int MAX_RETAINED_SIZE = 1 << 20;
+
+    private static final ThreadLocal<ScratchOutput> RELEASED = new ThreadLocal<>();
+
+    private final Buffer buffer;
+
+    private ScratchOutput(Buffer buffer) {
+        super(buffer);
+        this.buffer = buffer;
+    }
+
+    /**
+     * @return an empty output, which has to be returned with {@link #release()}
+     */
+    public static ScratchOutput acquire() {
+        ScratchOutput output = RELEASED.get();
+        if (output == null) {
+            return new ScratchOutput(new Buffer());
+        }
+        RELEASED.set(null);
+        return output;
+    }
+
+    /**
+     * Clears this output and keeps it for the next {@link #acquire()} of the
+     * current thread.
+     */
+    public void release() {
+        if (buffer.data.length <= MAX_RETAINED_SIZE) {
+            buffer.count = 0;
+            written = 0;
+            RELEASED.set(this);
+        }
+    }
+
+    /**
+     * @return the amount of bytes in this output
+     */
+    public int position() {
+        return buffer.count;
+    }
+
+    /**
+     * Writes a placeholder for the length of the following value.
+     *
+     * @return the position of the placeholder
+     * @throws IOException never
+     */
+    public int reserveLength() throws IOException {
+        int mark = buffer.count;
+        writeInt(0);
+        return mark;
+    }
+
+    /**
+     * Replaces the placeholder at the given position with the amount of bytes
+     * written after it.
+     *
+     * @param mark the position returned by {@link #reserveLength()}
+     */
+    public void patchLength(int mark) {
+        int length = buffer.count - mark - Integer.BYTES;
+        byte[] data = buffer.data;
+        data[mark] = (byte) (length >>> 24);
+        data[mark + 1] = (byte) (length >>> 16);
+        data[mark + 2] = (byte) (length >>> 8);
+        data[mark + 3] = (byte) length;
+    }
+
+    /**
+     * Copies the content of this output to the given one.
+     *
+     * @param output the destination
+     * @throws IOException if an error occurs while writing
+     */
+    public void copyTo(DataOutput output) throws IOException {
+        output.write(buffer.data, 0, buffer.count);
+    }
+
+    // unlike ByteArrayOutputStream, writes are not synchronized
+    private static final class Buffer extends OutputStream {
+        byte[] data = new byte[256];
+        int count;
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            data[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, data, count, len);
+            count += len;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity < 0) {
+                throw new OutOfMemoryError("Value exceeds the maximum array size");
+            }
+            if (capacity > data.length) {
+                data = Arrays.copyOf(data, Math.max(capacity, data.length << 1));
+            }
+        }
+    }
+}
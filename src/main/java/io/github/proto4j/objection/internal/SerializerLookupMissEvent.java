@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import jdk.jfr.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flight recorder event emitted when no {@link io.github.proto4j.objection.ObjectSerializer}
+ * was registered for a requested type. Many types are resolved this way on
+ * purpose (for instance, nested objects), so the event is emitted only once
+ * per type until the next recording is started.
+ */
+@Name("io.github.proto4j.objection.SerializerLookupMiss")
+@Label("Serializer Lookup Miss")
+@Category({"Proto4j", "Objection"})
+@Description("No serializer was found for a type")
+@StackTrace(false)
+public final class SerializerLookupMissEvent extends Event {
+
+    @Label("Type")
+    public String typeName;
+
+    // Types store the recording generation they were last reported in, so
+    // that starting a recording reports every type again.
+    private static final ClassValue<AtomicInteger> REPORTED = new ClassValue<AtomicInteger>() {
+        @Override
+        protected AtomicInteger computeValue(Class<?> type) {
+            return new AtomicInteger(-1);
+        }
+    };
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                if (recording.getState() == RecordingState.RUNNING) {
+                    GENERATION.incrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Emits an event for the given type unless one has already been emitted
+     * since the last recording was started.
+     *
+     * @param type the type without a serializer
+     */
+    public static void emit(Class<?> type) {
+        SerializerLookupMissEvent event = new SerializerLookupMissEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        int generation = GENERATION.get();
+        if (REPORTED.get(type).getAndSet(generation) != generation) {
+            event.typeName = type.getName();
+            event.commit();
+        }
+    }
+}
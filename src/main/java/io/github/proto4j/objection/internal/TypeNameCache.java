@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.internal; //@date 19.10.2026
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps encoded class names to already resolved {@code Class} objects. Lookups
+ * are keyed by the raw name bytes as they were read from the input, so that
+ * neither a {@code String} has to be created nor a class loader has to be
+ * consulted if the name is known.
+ * <p>
+ * Instances are immutable. This cache does not decide which types may be
+ * resolved; it is created by the configuration from its registered types.
+ */
+public final class TypeNameCache {
+
+    private final Map<Name, Class<?>> types;
+
+    public TypeNameCache(Collection<? extends Class<?>> types) {
+        this.types = new HashMap<>(types.size() * 2);
+        for (Class<?> type : types) {
+            this.types.putIfAbsent(new Name(type.getName().getBytes(StandardCharsets.UTF_8)), type);
+        }
+    }
+
+    /**
+     * @param name the encoded class name
+     * @return the cached type or {@code null} if the name is unknown
+     */
+    public Class<?> get(byte[] name) {
+        return types.get(new Name(name));
+    }
+
+    private static final class Name {
+        private final byte[] bytes;
+        private final int hash;
+
+        Name(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Name && Arrays.equals(bytes, ((Name) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
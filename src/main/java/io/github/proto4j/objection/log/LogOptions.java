@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.log; //@date 19.10.2026
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable settings of an {@link ObjectLog}. The segment size limits the
+ * size of a single log file; a new segment is started as soon as the next
+ * record would exceed it. The {@link SyncPolicy} defines when appended
+ * records are forced to the storage device.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see ObjectLog
+ */
+public final class LogOptions {
+
+    /**
+     * The default maximum size of a segment file.
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * The default interval used by {@link SyncPolicy#INTERVAL}.
+     */
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+
+    /**
+     * Defines when written records are forced to the storage device.
+     */
+    public enum SyncPolicy {
+        /**
+         * Records are only forced when a segment is completed or the log is
+         * closed; everything else is left to the operating system.
+         */
+        NONE,
+
+        /**
+         * Every call to {@code append} or {@code appendAll} is forced before
+         * it returns. All records of a batch and of concurrent appends share
+         * a single sync.
+         */
+        ALWAYS,
+
+        /**
+         * Records are forced at the end of an append if the last sync is
+         * older than the configured interval. A background thread syncs
+         * idle logs in the same interval.
+         */
+        INTERVAL
+    }
+
+    private final long segmentSize;
+    private final SyncPolicy syncPolicy;
+    private final long syncIntervalNanos;
+
+    private LogOptions(long segmentSize, SyncPolicy syncPolicy, long syncIntervalNanos) {
+        // segments are memory-mapped as a whole
+        if (segmentSize < 1 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        if (syncIntervalNanos < 0) {
+            throw new IllegalArgumentException("Invalid sync interval: " + syncIntervalNanos);
+        }
+        this.segmentSize = segmentSize;
+        this.syncPolicy = Objects.requireNonNull(syncPolicy);
+        this.syncIntervalNanos = syncIntervalNanos;
+    }
+
+    /**
+     * @return options with the default segment size that sync every append
+     */
+    public static LogOptions defaults() {
+        return new LogOptions(DEFAULT_SEGMENT_SIZE, SyncPolicy.ALWAYS,
+                TimeUnit.MILLISECONDS.toNanos(DEFAULT_SYNC_INTERVAL_MILLIS));
+    }
+
+    /**
+     * @param segmentSize the maximum size of a segment file in bytes, at most
+     *         {@link Integer#MAX_VALUE}
+     * @return a copy of these options with the given segment size
+     */
+    public LogOptions withSegmentSize(long segmentSize) {
+        return new LogOptions(segmentSize, syncPolicy, syncIntervalNanos);
+    }
+
+    /**
+     * @param syncPolicy the policy when records are forced to disk
+     * @return a copy of these options with the given policy
+     */
+    public LogOptions withSyncPolicy(SyncPolicy syncPolicy) {
+        return new LogOptions(segmentSize, syncPolicy, syncIntervalNanos);
+    }
+
+    /**
+     * @param interval the sync interval used by {@link SyncPolicy#INTERVAL}
+     * @param unit the unit of the interval
+     * @return a copy of these options with the given interval
+     */
+    public LogOptions withSyncInterval(long interval, TimeUnit unit) {
+        return new LogOptions(segmentSize, syncPolicy, unit.toNanos(interval));
+    }
+
+    /**
+     * @return the maximum size of a segment file in bytes
+     */
+    public long getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * @return the policy when records are forced to disk
+     */
+    public SyncPolicy getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    /**
+     * @return the sync interval in nanoseconds
+     */
+    public long getSyncIntervalNanos() {
+        return syncIntervalNanos;
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.log; //@date 19.10.2026
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * A single segment of an {@link ObjectLog}, which consists of the record file
+ * and its sidecar index. The index stores the position of every record as a
+ * {@code long}, so the record with a given sequence number is found without
+ * scanning the file. Completed segments are memory-mapped; the active segment
+ * keeps its positions in memory and is read through positional reads.
+ */
+final class LogSegment implements Closeable {
+
+    static final String LOG_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".idx";
+
+    // length and CRC-32 of the payload
+    static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final long baseSequence;
+    private final FileChannel log;
+    private final FileChannel index;
+
+    private volatile long[] positions;
+    private volatile int count;
+    private long size;
+
+    private volatile MappedByteBuffer logMap;
+    private volatile MappedByteBuffer indexMap;
+
+    private LogSegment(long baseSequence, FileChannel log, FileChannel index) {
+        this.baseSequence = baseSequence;
+        this.log = log;
+        this.index = index;
+        this.positions = new long[64];
+    }
+
+    /**
+     * Opens or creates the segment starting with the given sequence number.
+     * If requested, all records are validated: records that are incomplete or
+     * fail their checksum are cut off together with everything behind them.
+     * Otherwise, only the index is checked against the size of the log.
+     */
+    static LogSegment open(Path directory, long baseSequence, boolean verify) throws IOException {
+        FileChannel log = FileChannel.open(directory.resolve(fileName(baseSequence, LOG_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel index;
+        try {
+            index = FileChannel.open(directory.resolve(fileName(baseSequence, INDEX_SUFFIX)),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        }
+
+        LogSegment segment = new LogSegment(baseSequence, log, index);
+        try {
+            if (verify || !segment.load()) {
+                segment.recover();
+            }
+        } catch (IOException e) {
+            segment.close();
+            throw e;
+        }
+        return segment;
+    }
+
+    static String fileName(long baseSequence, String suffix) {
+        return String.format("%020d%s", baseSequence, suffix);
+    }
+
+    long getBaseSequence() {
+        return baseSequence;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    boolean isSealed() {
+        return logMap != null;
+    }
+
+    /**
+     * Appends the given records, which were encoded back to back. The
+     * positions are relative to the start of the data.
+     */
+    void append(byte[] data, int length, long[] offsets, int amount) throws IOException {
+        long start = size;
+        writeFully(log, ByteBuffer.wrap(data, 0, length), start);
+
+        ByteBuffer entries = ByteBuffer.allocate(amount * Long.BYTES);
+        long[] positions = this.positions;
+        if (count + amount > positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(positions.length * 2, count + amount));
+        }
+        for (int i = 0; i < amount; i++) {
+            positions[count + i] = start + offsets[i];
+            entries.putLong(start + offsets[i]);
+        }
+        entries.flip();
+        writeFully(index, entries, (long) count * Long.BYTES);
+
+        size = start + length;
+        // publish the positions before the new count
+        this.positions = positions;
+        count += amount;
+    }
+
+    /**
+     * Returns the payload of the record with the given sequence number. The
+     * returned buffer is a view on the mapped file for completed segments.
+     */
+    ByteBuffer read(long sequence) throws IOException {
+        int entry = Math.toIntExact(sequence - baseSequence);
+        if (entry < 0 || entry >= count) {
+            throw new IndexOutOfBoundsException("No record with sequence " + sequence);
+        }
+
+        MappedByteBuffer logMap = this.logMap;
+        if (logMap != null) {
+            int position = Math.toIntExact(indexMap.getLong(entry * Long.BYTES));
+            int length = logMap.getInt(position);
+            ByteBuffer payload = logMap.duplicate();
+            payload.position(position + RECORD_HEADER_SIZE).limit(position + RECORD_HEADER_SIZE + length);
+            return payload.slice();
+        }
+
+        long position = positions[entry];
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(log, header, position);
+        ByteBuffer payload = ByteBuffer.allocate(header.getInt(0));
+        readFully(log, payload, position + RECORD_HEADER_SIZE);
+        return payload.flip();
+    }
+
+    void sync() throws IOException {
+        log.force(false);
+        index.force(false);
+    }
+
+    /**
+     * Forces all records to disk and maps the segment, after which no more
+     * records can be appended.
+     */
+    void seal() throws IOException {
+        sync();
+        indexMap = index.map(FileChannel.MapMode.READ_ONLY, 0, (long) count * Long.BYTES);
+        logMap = log.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            log.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    /**
+     * Loads a completed segment without reading its records. Returns false if
+     * the index does not end exactly at the end of the last record.
+     */
+    private boolean load() throws IOException {
+        long logSize = log.size();
+        long indexSize = index.size();
+        if (indexSize % Long.BYTES != 0 || (indexSize == 0) != (logSize == 0)) {
+            return false;
+        }
+        if (indexSize > 0) {
+            ByteBuffer entry = ByteBuffer.allocate(Long.BYTES);
+            readFully(index, entry, indexSize - Long.BYTES);
+            long position = entry.getLong(0);
+            if (position < 0 || position + RECORD_HEADER_SIZE > logSize) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            readFully(log, header, position);
+            if (position + RECORD_HEADER_SIZE + header.getInt(0) != logSize) {
+                return false;
+            }
+        }
+        count = Math.toIntExact(indexSize / Long.BYTES);
+        size = logSize;
+        return true;
+    }
+
+    private void recover() throws IOException {
+        long logSize = log.size();
+        int entries = Math.toIntExact(index.size() / Long.BYTES);
+        ByteBuffer stored = ByteBuffer.allocate(entries * Long.BYTES);
+        readFully(index, stored, 0);
+
+        // Records are contiguous, so every indexed position must follow the
+        // previous record. The first mismatch marks the end of the valid data.
+        long end = 0;
+        int valid = 0;
+        while (valid < entries && stored.getLong(valid * Long.BYTES) == end) {
+            long length = checkRecord(end, logSize);
+            if (length == -1) {
+                break;
+            }
+            end += RECORD_HEADER_SIZE + length;
+            valid++;
+        }
+
+        long[] positions = new long[Math.max(64, valid)];
+        for (int i = 0; i < valid; i++) {
+            positions[i] = stored.getLong(i * Long.BYTES);
+        }
+        int count = valid;
+
+        // records that were written before a crash but are missing in the index
+        long length;
+        while ((length = checkRecord(end, logSize)) != -1) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = end;
+            end += RECORD_HEADER_SIZE + length;
+        }
+
+        if (end != logSize) {
+            log.truncate(end);
+        }
+        if (count != entries || index.size() != (long) entries * Long.BYTES) {
+            index.truncate((long) valid * Long.BYTES);
+            ByteBuffer missing = ByteBuffer.allocate((count - valid) * Long.BYTES);
+            for (int i = valid; i < count; i++) {
+                missing.putLong(positions[i]);
+            }
+            writeFully(index, missing.flip(), (long) valid * Long.BYTES);
+        }
+
+        this.positions = positions;
+        this.count = count;
+        this.size = end;
+    }
+
+    /**
+     * Returns the payload length of the record at the given position or
+     * {@code -1} if the record is incomplete or corrupted.
+     */
+    private long checkRecord(long position, long logSize) throws IOException {
+        if (position + RECORD_HEADER_SIZE > logSize) {
+            return -1;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(log, header, position);
+        int length = header.getInt(0);
+        if (length < 0 || position + RECORD_HEADER_SIZE + length > logSize) {
+            return -1;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(log, payload, position + RECORD_HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(payload.flip());
+        return (int) crc.getValue() == header.getInt(Integer.BYTES) ? length : -1;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of segment");
+            }
+            position += read;
+        }
+    }
+}
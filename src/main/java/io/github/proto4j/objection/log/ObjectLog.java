@@ -0,0 +1,494 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.log; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.internal.ByteBufferInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of marshalled objects. Every appended value gets a
+ * sequence number, starting with zero, that can be used to read it again in
+ * constant time. The log is stored in a directory of segments; each segment
+ * consists of a record file and a sidecar index:
+ * <pre>
+ * ┌─────────────────────────────────────────────────────────┐
+ * │ 00000000000000000000.log                                │
+ * ├──────────┬────────────┬─────────────────────────────────┤
+ * │ len: int │ crc32: int │ payload: byte[len]              │
+ * ├──────────┴────────────┴─────────────────────────────────┤
+ * │ ...                                                     │
+ * ├─────────────────────────────────────────────────────────┤
+ * │ 00000000000000000000.idx                                │
+ * ├─────────────────────────────────────────────────────────┤
+ * │ position_0: long position_1: long ...                   │
+ * └─────────────────────────────────────────────────────────┘
+ * </pre>
+ * The file names contain the sequence number of the first record. Completed
+ * segments are memory-mapped for reading. All values of a call to
+ * {@link #appendAll(Collection)} are written with a single write per file and
+ * forced to disk together, depending on the configured
+ * {@link LogOptions.SyncPolicy}. Syncs are shared between threads: while one
+ * thread forces the segment, concurrent appenders wait for it and a single
+ * following sync covers all of their records.
+ * <p>
+ * When the log is opened, the last segment is validated. Records that are
+ * incomplete or fail their checksum, e.g. after a crash, are removed together
+ * with all records behind them. Records that were written but are missing in
+ * the index are added again.
+ * <p>
+ * Writing records is synchronized; syncing and reading are thread-safe and
+ * may happen concurrently with appends.
+ *
+ * @param <V> the type of the stored values
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see LogOptions
+ */
+public final class ObjectLog<V> implements Closeable {
+
+    private final Path directory;
+    private final Marshaller<V> marshaller;
+    private final OSharedConfiguration configuration;
+    private final LogOptions options;
+
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    private volatile LogSegment active;
+    private volatile long nextSequence;
+    private volatile boolean closed;
+    private volatile long lastSync;
+
+    // Group commit state: records below the synced sequence are on disk and
+    // only one thread forces the active segment at a time.
+    private final Object syncLock = new Object();
+    private long syncedSequence;
+    private boolean syncing;
+    private ScheduledFuture<?> syncTask;
+
+    private ObjectLog(Path directory, Marshaller<V> marshaller, OSharedConfiguration configuration,
+                      LogOptions options) {
+        this.directory = directory;
+        this.marshaller = marshaller;
+        this.configuration = configuration;
+        this.options = options;
+        this.lastSync = System.nanoTime();
+    }
+
+    /**
+     * Opens or creates the log in the given directory with the default
+     * options.
+     *
+     * @param directory the directory of the segment files
+     * @param configuration the configuration used to read and write values
+     * @param <V> the type of the stored values
+     * @return the opened log
+     * @throws IOException if the log could not be opened
+     */
+    public static <V> ObjectLog<V> open(Path directory, OSharedConfiguration configuration) throws IOException {
+        return open(directory, Objection.createMarshaller(configuration), configuration, LogOptions.defaults());
+    }
+
+    /**
+     * Opens or creates the log in the given directory.
+     *
+     * @param directory the directory of the segment files
+     * @param marshaller the marshaller used to encode the values
+     * @param configuration the configuration used to read and write values
+     * @param options the log settings
+     * @param <V> the type of the stored values
+     * @return the opened log
+     * @throws IOException if the log could not be opened
+     */
+    public static <V> ObjectLog<V> open(Path directory, Marshaller<V> marshaller,
+                                        OSharedConfiguration configuration, LogOptions options)
+            throws IOException {
+        Files.createDirectories(directory);
+        ObjectLog<V> log = new ObjectLog<>(directory, marshaller, configuration, options);
+        try {
+            log.load();
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        }
+
+        long interval = options.getSyncIntervalNanos();
+        if (options.getSyncPolicy() == LogOptions.SyncPolicy.INTERVAL && interval > 0) {
+            // idle logs are synced as well, not only on the next append
+            log.syncTask = Syncer.SCHEDULER.scheduleWithFixedDelay(log::syncIfNeeded, interval, interval,
+                    TimeUnit.NANOSECONDS);
+        }
+        return log;
+    }
+
+    /**
+     * Appends a single value.
+     *
+     * @param value the value to append
+     * @return the sequence number of the value
+     * @throws IOException if the value could not be written
+     * @throws ReflectiveOperationException if the value could not be marshalled
+     */
+    public long append(V value) throws IOException, ReflectiveOperationException {
+        return appendAll(Collections.singletonList(value));
+    }
+
+    /**
+     * Appends all given values as one batch.
+     *
+     * @param values the values to append
+     * @return the sequence number of the first value
+     * @throws IOException if the values could not be written
+     * @throws ReflectiveOperationException if a value could not be marshalled
+     */
+    public long appendAll(Collection<? extends V> values) throws IOException, ReflectiveOperationException {
+        long first;
+        long end;
+        synchronized (this) {
+            ensureOpen();
+            first = nextSequence;
+            Batch batch = new Batch(values.size());
+            for (V value : values) {
+                byte[] payload = encode(value);
+                long recordSize = LogSegment.RECORD_HEADER_SIZE + (long) payload.length;
+                if (active.getSize() + batch.size() + recordSize > options.getSegmentSize()
+                        && active.getCount() + batch.count > 0) {
+                    flush(batch);
+                    roll();
+                }
+                batch.add(payload);
+            }
+            flush(batch);
+            end = nextSequence;
+        }
+
+        // the records are forced outside the lock, so that other appenders
+        // can add their records to the same sync
+        LogOptions.SyncPolicy policy = options.getSyncPolicy();
+        if (policy == LogOptions.SyncPolicy.ALWAYS
+                || (policy == LogOptions.SyncPolicy.INTERVAL
+                    && System.nanoTime() - lastSync >= options.getSyncIntervalNanos())) {
+            syncTo(end);
+        }
+        return first;
+    }
+
+    /**
+     * Reads the value with the given sequence number.
+     *
+     * @param sequence the sequence number returned when appending
+     * @return the stored value
+     * @throws IOException if the value could not be read
+     * @throws ReflectiveOperationException if the value could not be created
+     * @throws IndexOutOfBoundsException if there is no such value
+     */
+    public V read(long sequence) throws IOException, ReflectiveOperationException {
+        ensureOpen();
+        if (sequence < getFirstSequence() || sequence >= nextSequence) {
+            throw new IndexOutOfBoundsException("No record with sequence " + sequence);
+        }
+        Map.Entry<Long, LogSegment> entry = segments.floorEntry(sequence);
+        ByteBuffer payload = entry.getValue().read(sequence);
+        return marshaller.getInstance(new DataInputStream(new ByteBufferInputStream(payload)), configuration);
+    }
+
+    /**
+     * Forces all appended values to disk. If another thread is already
+     * syncing, the values are forced by the next sync that follows it.
+     *
+     * @throws IOException if an error occurs
+     */
+    public void sync() throws IOException {
+        ensureOpen();
+        syncTo(nextSequence);
+    }
+
+    /**
+     * Waits until all records before the given sequence number are on disk.
+     * The first waiting thread forces the active segment for all others.
+     */
+    private void syncTo(long sequence) throws IOException {
+        synchronized (syncLock) {
+            while (true) {
+                if (syncedSequence >= sequence) {
+                    return;
+                }
+                if (!syncing) {
+                    syncing = true;
+                    break;
+                }
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for sync");
+                }
+            }
+        }
+
+        long target = -1;
+        try {
+            LogSegment segment;
+            synchronized (this) {
+                ensureOpen();
+                // all records of previous segments were forced when they were sealed
+                target = nextSequence;
+                segment = active;
+            }
+            segment.sync();
+        } finally {
+            synchronized (syncLock) {
+                syncing = false;
+                if (target != -1) {
+                    syncedSequence = Math.max(syncedSequence, target);
+                    lastSync = System.nanoTime();
+                }
+                syncLock.notifyAll();
+            }
+        }
+    }
+
+    private void syncIfNeeded() {
+        if (closed) {
+            return;
+        }
+        try {
+            if (System.nanoTime() - lastSync >= options.getSyncIntervalNanos()) {
+                sync();
+            }
+        } catch (IOException | RuntimeException e) {
+            // the records are forced again on the next run. Exceptions must
+            // not escape, as they would cancel all further runs.
+        }
+    }
+
+    /**
+     * @return the sequence number of the first stored value
+     */
+    public long getFirstSequence() {
+        return segments.isEmpty() ? 0 : segments.firstKey();
+    }
+
+    /**
+     * @return the sequence number the next appended value will get
+     */
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * @return the amount of segment files
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return the directory of the segment files
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        if (syncTask != null) {
+            syncTask.cancel(false);
+        }
+
+        // wait for a running sync, as the segments are closed afterwards
+        boolean interrupted = false;
+        synchronized (syncLock) {
+            while (syncing) {
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            syncing = true;
+        }
+
+        IOException error = null;
+        try {
+            if (active != null) {
+                try {
+                    active.sync();
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            for (LogSegment segment : segments.values()) {
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    if (error == null) error = e;
+                }
+            }
+        } finally {
+            synchronized (syncLock) {
+                syncing = false;
+                if (error == null) {
+                    // waiting appenders were covered by the final sync
+                    syncedSequence = nextSequence;
+                }
+                syncLock.notifyAll();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void load() throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + LogSegment.LOG_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String base = name.substring(0, name.length() - LogSegment.LOG_SUFFIX.length());
+                if (base.matches("\\d{20}")) {
+                    bases.add(Long.parseLong(base));
+                }
+            }
+        }
+        Collections.sort(bases);
+        if (bases.isEmpty()) {
+            bases.add(0L);
+        }
+
+        for (int i = 0; i < bases.size(); i++) {
+            boolean last = i == bases.size() - 1;
+            LogSegment segment = LogSegment.open(directory, bases.get(i), last);
+            segments.put(segment.getBaseSequence(), segment);
+            if (last) {
+                active = segment;
+            } else {
+                segment.seal();
+            }
+        }
+        nextSequence = active.getBaseSequence() + active.getCount();
+        syncedSequence = nextSequence;
+    }
+
+    private void roll() throws IOException {
+        active.seal();
+        LogSegment segment = LogSegment.open(directory, nextSequence, true);
+        segments.put(segment.getBaseSequence(), segment);
+        active = segment;
+        lastSync = System.nanoTime();
+    }
+
+    private void flush(Batch batch) throws IOException {
+        if (batch.count == 0) {
+            return;
+        }
+        active.append(batch.data.toByteArray(), batch.size(), batch.offsets, batch.count);
+        nextSequence += batch.count;
+        batch.reset();
+    }
+
+    private byte[] encode(V value) throws IOException, ReflectiveOperationException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        marshaller.marshall(value, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Log is closed");
+        }
+    }
+
+    /**
+     * Collects encoded records so that they can be written at once.
+     */
+    private static final class Batch {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(data);
+        final long[] offsets;
+        int count;
+
+        Batch(int capacity) {
+            this.offsets = new long[capacity];
+        }
+
+        void add(byte[] payload) throws IOException {
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            offsets[count++] = data.size();
+            output.writeInt(payload.length);
+            output.writeInt((int) crc.getValue());
+            output.write(payload);
+        }
+
+        int size() {
+            return data.size();
+        }
+
+        void reset() {
+            data.reset();
+            count = 0;
+        }
+    }
+
+    private static final class Syncer {
+        static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "objection-log-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.metrics; //@date 19.10.2026
+
+import io.github.proto4j.objection.OInstrumentation;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default {@link OInstrumentation} implementation which records per-type
+ * counters. All counters are backed by {@link LongAdder} instances, so
+ * recording from many threads does not introduce contention. Counters are
+ * keyed by class name, so recording a type does not keep its class loader
+ * alive; types of the same name share their counters. The basic usage
+ * of this class should be:
+ * <pre>
+ *     ObjectionMetrics metrics = new ObjectionMetrics();
+ *     BasicSharedConfiguration config = ...;
+ *     config.setInstrumentation(metrics);
+ *
+ *     // optionally expose the counters via JMX
+ *     metrics.registerMBean("default");
+ *     ...
+ *     TypeMetrics[] snapshot = metrics.snapshot();
+ * </pre>
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see OInstrumentation
+ */
+public class ObjectionMetrics implements OInstrumentation, ObjectionMetricsMXBean {
+
+    /**
+     * The domain used when registering instances of this class at the
+     * platform {@link MBeanServer}.
+     */
+    public static final String JMX_DOMAIN = "io.github.proto4j.objection";
+
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private final LongAdder marshallCount = new LongAdder();
+    private final LongAdder unmarshallCount = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder marshallNanos = new LongAdder();
+    private final LongAdder unmarshallNanos = new LongAdder();
+
+    private volatile ObjectName objectName;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onMarshall(Class<?> type, long bytes, long nanos) {
+        marshallCount.increment();
+        marshallNanos.add(nanos);
+        if (bytes > 0) {
+            bytesWritten.add(bytes);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onUnmarshall(Class<?> type, long bytes, long nanos) {
+        unmarshallCount.increment();
+        unmarshallNanos.add(nanos);
+        if (bytes > 0) {
+            bytesRead.add(bytes);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onWrite(Class<?> type, long bytes, long nanos) {
+        Counters c = countersFor(type);
+        c.written.increment();
+        c.writeNanos.add(nanos);
+        if (bytes > 0) {
+            c.bytesWritten.add(bytes);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onRead(Class<?> type, long bytes, long nanos) {
+        Counters c = countersFor(type);
+        c.read.increment();
+        c.readNanos.add(nanos);
+        if (bytes > 0) {
+            c.bytesRead.add(bytes);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the counters recorded for the given type.
+     *
+     * @param type the recorded type
+     * @return the counters of the given type or {@code null} if nothing was
+     *         recorded yet.
+     */
+    public TypeMetrics get(Class<?> type) {
+        String name = type.getName();
+        Counters c = counters.get(name);
+        return c != null ? c.snapshot(name) : null;
+    }
+
+    /**
+     * @return a snapshot of the counters of all recorded types.
+     */
+    public TypeMetrics[] snapshot() {
+        TypeMetrics[] metrics = new TypeMetrics[counters.size()];
+        int i = 0;
+        for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+            if (i == metrics.length) {
+                // new types were recorded while iterating
+                break;
+            }
+            metrics[i++] = entry.getValue().snapshot(entry.getKey());
+        }
+        return i == metrics.length ? metrics : Arrays.copyOf(metrics, i);
+    }
+
+    /**
+     * Registers this instance at the platform {@link MBeanServer} with the
+     * object name {@code io.github.proto4j.objection:type=Metrics,name=<name>}.
+     *
+     * @param name the name of this metrics instance
+     * @return the used object name
+     * @throws JMException if the bean could not be registered
+     */
+    public synchronized ObjectName registerMBean(String name) throws JMException {
+        Objects.requireNonNull(name);
+        if (objectName != null) {
+            throw new IllegalStateException("Already registered as " + objectName);
+        }
+        ObjectName on = new ObjectName(JMX_DOMAIN + ":type=Metrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+        objectName = on;
+        return on;
+    }
+
+    /**
+     * Removes this instance from the platform {@link MBeanServer} if it was
+     * registered before.
+     *
+     * @throws JMException if the bean could not be unregistered
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMarshallCount() {
+        return marshallCount.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getUnmarshallCount() {
+        return unmarshallCount.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMarshallNanos() {
+        return marshallNanos.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getUnmarshallNanos() {
+        return unmarshallNanos.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getTypeNames() {
+        return counters.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypeMetrics[] getTypeMetrics() {
+        return snapshot();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        counters.clear();
+        marshallCount.reset();
+        unmarshallCount.reset();
+        bytesWritten.reset();
+        bytesRead.reset();
+        marshallNanos.reset();
+        unmarshallNanos.reset();
+    }
+
+    private Counters countersFor(Class<?> type) {
+        String name = type.getName();
+        Counters c = counters.get(name);
+        if (c == null) {
+            c = counters.computeIfAbsent(name, k -> new Counters());
+        }
+        return c;
+    }
+
+    private static final class Counters {
+        final LongAdder written = new LongAdder();
+        final LongAdder read = new LongAdder();
+        final LongAdder bytesWritten = new LongAdder();
+        final LongAdder bytesRead = new LongAdder();
+        final LongAdder writeNanos = new LongAdder();
+        final LongAdder readNanos = new LongAdder();
+
+        TypeMetrics snapshot(String typeName) {
+            return new TypeMetrics(typeName, written.sum(), read.sum(), bytesWritten.sum(),
+                    bytesRead.sum(), writeNanos.sum(), readNanos.sum());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.metrics; //@date 19.10.2026
+
+/**
+ * Management interface of {@link ObjectionMetrics} instances. All returned
+ * values are snapshots taken at the time of the call.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
+public interface ObjectionMetricsMXBean {
+
+    /**
+     * @return the amount of top-level objects written by marshallers
+     */
+    long getMarshallCount();
+
+    /**
+     * @return the amount of top-level objects read by marshallers
+     */
+    long getUnmarshallCount();
+
+    /**
+     * @return the amount of bytes written by marshallers
+     */
+    long getBytesWritten();
+
+    /**
+     * @return the amount of bytes read by marshallers
+     */
+    long getBytesRead();
+
+    /**
+     * @return the total time spent in marshall calls in nanoseconds
+     */
+    long getMarshallNanos();
+
+    /**
+     * @return the total time spent in unmarshall calls in nanoseconds
+     */
+    long getUnmarshallNanos();
+
+    /**
+     * @return the names of all types that have been recorded
+     */
+    String[] getTypeNames();
+
+    /**
+     * @return counters for all recorded types
+     */
+    TypeMetrics[] getTypeMetrics();
+
+    /**
+     * Resets all counters.
+     */
+    void reset();
+}
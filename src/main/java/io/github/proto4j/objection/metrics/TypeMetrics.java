@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.metrics; //@date 19.10.2026
+
+/**
+ * An immutable snapshot of all counters that were recorded for a single type.
+ * Instances of this class are created by {@link ObjectionMetrics#snapshot()}
+ * and are exposed via JMX as composite data.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see ObjectionMetrics
+ */
+public final class TypeMetrics {
+
+    private final String typeName;
+    private final long objectsWritten;
+    private final long objectsRead;
+    private final long bytesWritten;
+    private final long bytesRead;
+    private final long writeNanos;
+    private final long readNanos;
+
+    public TypeMetrics(String typeName, long objectsWritten, long objectsRead, long bytesWritten,
+                       long bytesRead, long writeNanos, long readNanos) {
+        this.typeName = typeName;
+        this.objectsWritten = objectsWritten;
+        this.objectsRead = objectsRead;
+        this.bytesWritten = bytesWritten;
+        this.bytesRead = bytesRead;
+        this.writeNanos = writeNanos;
+        this.readNanos = readNanos;
+    }
+
+    /**
+     * @return the full name of the recorded type
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * @return the amount of written instances
+     */
+    public long getObjectsWritten() {
+        return objectsWritten;
+    }
+
+    /**
+     * @return the amount of read instances
+     */
+    public long getObjectsRead() {
+        return objectsRead;
+    }
+
+    /**
+     * @return the amount of bytes produced when writing instances of this type
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return the amount of bytes consumed when reading instances of this type
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return the total (inclusive) time spent writing instances in nanoseconds
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    /**
+     * @return the total (inclusive) time spent reading instances in nanoseconds
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeMetrics{" +
+                "type=" + typeName +
+                ", written=" + objectsWritten +
+                ", read=" + objectsRead +
+                ", bytesWritten=" + bytesWritten +
+                ", bytesRead=" + bytesRead +
+                ", writeNanos=" + writeNanos +
+                ", readNanos=" + readNanos +
+                '}';
+    }
+}
@@ -26,15 +26,11 @@ package io.github.proto4j.objection.model;//@date 25.08.2022
 
 import io.github.proto4j.objection.OSharedConfiguration;
 import io.github.proto4j.objection.annotation.Serialize;
-import io.github.proto4j.objection.annotation.Transient;
 import io.github.proto4j.objection.annotation.Version;
 import io.github.proto4j.objection.internal.OReflection;
 
 import java.io.Serializable;
-import java.lang.ref.SoftReference;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.*;
 
@@ -55,17 +51,27 @@ import java.util.*;
  * +---------------++---------+-----+---------------+
  * | modifiers: int | id: int | field_count: int    |
  * +----------------+---------+---------------------+
- * | fields: OField[]                               |
+ * | null_bitmap: byte[(field_count + 7) / 8]       |
+ * +------------------------------------------------+
+ * | null_names: (namelen: byte, name: byte[])[]    |
+ * +------------------------------------------------+
+ * | fields: OField[] (only non-null values)        |
  * | +--------------------------------------------+ |
  * | | Field1:                                    | |
  * | +------------+---------------+---------------+ |
  * | | type: byte | version: byte | namelen: byte | |
- * | +------------+-+-------------+---------------+ |
- * | | name: byte[] | value: byte[]               | |
- * | +--------------+-----------------------------+ |
+ * | +------------+-+-------------+-+-------------+ |
+ * | | name: byte[] | value_len: int | value      | |
+ * | +--------------+----------------+------------+ |
  * | ...                                            |
  * +------------------------------------------------+
  * </pre>
+ * The id is a fingerprint of the serialized schema, which is computed from the
+ * name, declared type and version of every field. It is
+ * stable across JVMs and used by readers to detect objects that were written
+ * with a different version of the class (see {@link #getFingerprint(byte)}).
+ * Fields without a value are stored with their name only, so that readers
+ * which don't know the writer schema can apply them as well.
  *
  * @param <T> the class type stored in this class
  * @author MatrixEditor
@@ -84,7 +90,7 @@ public final class OClass<T> implements Type {
     private final int modifiers;
 
     /**
-     * The class ID is computed with the hashcode of the linked type.
+     * The class ID is the fingerprint of the serialized schema.
      */
     private final int classId;
 
@@ -94,8 +100,8 @@ public final class OClass<T> implements Type {
      */
     private final OSharedConfiguration configuration;
 
-    private transient volatile SoftReference<OClassInfo<T>> classInfoRef;
-    private transient volatile SoftReference<T> instance;
+    private final transient OClassInfo<T> classInfo;
+    private transient volatile T instance;
 
     /**
      * Create an OClass from the given type and configuration. Note the
@@ -124,10 +130,10 @@ public final class OClass<T> implements Type {
         checkType(linkedClass);
         this.type = Objects.requireNonNull(linkedClass);
         this.modifiers = linkedClass.getModifiers();
-        this.classId = linkedClass.hashCode();
         this.configuration = configuration;
-        this.instance = value != null ? new SoftReference<>(value) : null;
-        Objects.requireNonNull(classInfo());
+        this.instance = value;
+        this.classInfo = newClassInfo();
+        this.classId = classInfo.schema.getFingerprint();
     }
 
     /**
@@ -203,12 +209,26 @@ public final class OClass<T> implements Type {
     }
 
     /**
-     * @return the hashcode of the linked class
+     * @return the fingerprint of the serialized schema
      */
     public int getClassId() {
         return classId;
     }
 
+    /**
+     * Returns the fingerprint of the schema that a writer with the given class
+     * version would produce, assuming that fields were only added with a
+     * higher {@link Version}. The result equals {@link #getClassId()} if the
+     * version is not lower than the version of this class.
+     *
+     * @param version the class version of the writer
+     * @return the fingerprint of all fields that are visible in the given
+     *         version
+     */
+    public int getFingerprint(byte version) {
+        return classInfo().schema.getFingerprint(version);
+    }
+
     /**
      * @return the same as {@link #getType()}.getModifiers()
      */
@@ -238,12 +258,11 @@ public final class OClass<T> implements Type {
      * @return an array of all usable constructors.
      */
     public Constructor<?>[] getDeclaredConstructors() {
-        OClassInfo<T> info = classInfo();
-        int length = info.declaredConstructors.length;
-        if (length == 0) {
+        Constructor<?>[] constructors = classInfo().schema.getConstructors();
+        if (constructors.length == 0) {
             return new Constructor[0];
         }
-        return Arrays.copyOf(info.declaredConstructors, length);
+        return Arrays.copyOf(constructors, constructors.length);
     }
 
     /**
@@ -251,15 +270,13 @@ public final class OClass<T> implements Type {
      */
     public Constructor<T> getDefaultConstructor() {
         OClassInfo<T> info = classInfo();
-        for (Constructor<?> con : info.declaredConstructors) {
-            if (con.getParameterCount() == 0) {
-                // We already know that there are only Constructor<T> types
-                // stored in the declaredConstructors array.
-                //noinspection unchecked
-                return (Constructor<T>) con;
-            }
+        Constructor<?> con = info.schema.getDefaultConstructor();
+        if (con == null) {
+            throw new NullPointerException("There is no default constructor for " + info.name);
         }
-        throw new NullPointerException("There is no default constructor for " + info.name);
+        // The schema only stores constructors of the type T.
+        //noinspection unchecked
+        return (Constructor<T>) con;
     }
 
     /**
@@ -270,12 +287,31 @@ public final class OClass<T> implements Type {
      *         given name is stored.
      */
     public OField getDeclaredField(String s) {
-        for (OField field : getDeclaredFields()) {
-            if (field.getName().equals(s)) {
-                return field;
+        return classInfo().fieldsByName.get(s);
+    }
+
+    /**
+     * Returns the position of the given field within {@link #getDeclaredFields()}.
+     *
+     * @param field the field instance
+     * @return the field's index or {@code -1} if the field is not declared by
+     *         this instance
+     */
+    public int indexOf(OField field) {
+        OField[] fields = classInfo().declaredFields;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == field) {
+                return i;
             }
         }
-        return null;
+        return -1;
+    }
+
+    /**
+     * @return the shared class-level metadata of the linked type
+     */
+    public OSchema getSchema() {
+        return classInfo().schema;
     }
 
     /**
@@ -287,6 +323,12 @@ public final class OClass<T> implements Type {
     }
 
     /**
+     * Creates a new instance with the loaded values. Regular classes are
+     * created with their default constructor, or without any constructor if
+     * {@link OSchema#setConstructorFreeAllocation(boolean)} is enabled, and
+     * the values are applied afterwards. Records are created with a single call to their canonical
+     * constructor, so no final fields have to be modified.
+     *
      * @return creates a new instance with the loaded values from a binary
      *         stream.
      */
@@ -294,116 +336,66 @@ public final class OClass<T> implements Type {
         if (instance == null) {
             createInstance();
         }
-        return instance.get();
+        return instance;
     }
 
     /**
      * @return the linked instance converted to a raw {@link Object}.
      */
     public Object getInstance() {
-        return instance != null ? instance.get() : null;
+        return instance;
     }
 
     private OClassInfo<T> classInfo() {
-        SoftReference<OClassInfo<T>> classInfo = this.classInfoRef;
-        OClassInfo<T> info;
-        if (classInfo != null && (info = classInfo.get()) != null) {
-            return info;
-        }
-        return newClassInfo();
+        return classInfo;
     }
 
     private OClassInfo<T> newClassInfo() {
+        // Class-level metadata is shared through the schema cache, only the
+        // fields holding the values are created per instance.
         OClassInfo<T> info = new OClassInfo<>();
-        this.classInfoRef = new SoftReference<>(info);
-        if (type == null) {
-            return info;
-        }
-
-        info.name = type.getName();
-        info.bufferedName = info.name.getBytes();
-        info.declaredConstructors = type.getConstructors();
+        OSchema schema = OSchema.of(type);
+        info.schema = schema;
+        info.name = schema.getName();
+        info.bufferedName = schema.getBufferedName();
+        info.version = schema.getVersion();
 
-        Optional<Version> version = OReflection.getAnnotation(getType(), Version.class);
-        version.ifPresent(v -> info.version = v.value());
-
-        createFields(getType());
+        createFields(info, schema);
         return info;
     }
 
-    private void createFields(Class<?> type) {
-        if (type.isEnum() || type.isInterface()) {
-            return;
-        }
-
-        List<Field> fields = getAnnotatedFields(type.getDeclaredFields());
-        while (type != Object.class) {
-            type = type.getSuperclass();
-            if (type.isInterface()) break;
-            fields.addAll(getAnnotatedFields(type.getDeclaredFields()));
-        }
-        OClassInfo<T> info = classInfo();
+    private void createFields(OClassInfo<T> info, OSchema schema) {
+        int count = schema.getFieldCount();
 
-        info.declaredFields = new OField[fields.size()];
-        for (int i = 0; i < fields.size(); i++) {
-            Field field = fields.get(i);
-            info.declaredFields[i] = createField0(field);
+        info.declaredFields = new OField[count];
+        info.fieldsByName = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            OField field = new OField(this, schema.getField(i), schema.getFieldType(i), schema.getFieldVersion(i));
+            info.declaredFields[i] = field;
+            info.fieldsByName.putIfAbsent(field.getName(), field);
         }
     }
 
-    private List<Field> getAnnotatedFields(Field[] declaredFields) {
-        if (declaredFields.length == 0) {
-            return Collections.emptyList();
-        }
-        List<Field> fields = new LinkedList<>();
-        // Direct access is needed here because this method is called within
-        // the newClassInfo() method. The returned value is never null, because
-        // this method is called after all fields were set.
-        OClassInfo<T> info = classInfoRef.get();
-
-        for (Field field : declaredFields) {
-            if (field.isSynthetic() || field.isEnumConstant()) {
-                continue;
-            }
-
-            int mods = field.getModifiers();
-            if (Modifier.isStatic(mods) || Modifier.isTransient(mods)) {
-                continue;
-            }
-
-            if (OReflection.isPresent(field, Transient.class)) {
-                continue;
-            }
-
-            Optional<Version> version = OReflection.getAnnotation(field, Version.class);
-            if (version.isPresent() && info != null) {
-                if (version.get().value() > info.version) {
-                    continue;
-                }
-            }
-
-            fields.add(field);
-        }
-        return fields;
-    }
-
-    private OField createField0(Field field) {
-        return new OField(this, field);
-    }
-
     private void createInstance() {
         T value = null;
         try {
-            value = getDefaultConstructor().newInstance();
-            for (OField field : getDeclaredFields()) {
-                Field f0 = field.getLinkedField();
-                f0.setAccessible(true);
-                f0.set(value, field.getValue());
+            OClassInfo<T> info = classInfo();
+            OField[] fields = info.declaredFields;
+            Object[] values = new Object[fields.length];
+            boolean[] assigned = new boolean[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                // fields that were not read keep their default value, e.g.
+                // fields that were added after the object was written
+                if (fields[i].isAssigned()) {
+                    values[i] = fields[i].getValue();
+                    assigned[i] = true;
+                }
             }
+            value = type.cast(info.schema.newInstance(values, assigned));
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
         } finally {
-            instance = new SoftReference<>(value);
+            instance = value;
         }
     }
 
@@ -416,16 +408,13 @@ public final class OClass<T> implements Type {
     }
 
     private static class OClassInfo<T> {
-        volatile OField[] declaredFields;
-
-        // REVISIT: Changed declaredConstructors from typed version
-        // to a more generic version. The generic type of this class
-        // is remained for future usage.
-        volatile Constructor<?>[] declaredConstructors;
+        volatile OField[] declaredFields = new OField[0];
+        volatile Map<String, OField> fieldsByName = Collections.emptyMap();
 
         String name;
         byte[] bufferedName;
         byte version = Version.INITIAL_VERSION;
+        OSchema schema;
 
         OClassInfo() {}
     }
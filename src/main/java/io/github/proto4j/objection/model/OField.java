@@ -24,13 +24,9 @@
 
 package io.github.proto4j.objection.model;//@date 25.08.2022
 
-import io.github.proto4j.objection.annotation.Version;
-import io.github.proto4j.objection.internal.OReflection;
 
-import java.lang.ref.SoftReference;
 import java.lang.reflect.Field;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * Instances of the {@code OField} represents single field objects stored in
@@ -44,10 +40,13 @@ import java.util.Optional;
  *  | Field1:                                    |
  *  +------------+---------------+---------------+
  *  | type: byte | version: byte | namelen: byte |
- *  +------------+-+-------------+---------------+
- *  | name: byte[] | value: byte[]               |
- *  +--------------+-----------------------------+
+ *  +------------+-+-------------+-+-------------+
+ *  | name: byte[] | value_len: int | value      |
+ *  +--------------+----------------+------------+
  * </pre>
+ * The type is the id of the field's {@link OFieldType}. Readers use the value
+ * length to skip fields that are unknown to them or whose type or version does
+ * not match their own declaration.
  *
  * @author MatrixEditor
  * @version 0.2.0
@@ -65,7 +64,10 @@ public final class OField {
      */
     private final OClass<?> parent;
 
-    private final transient SoftReference<OFieldInfo> fieldInfoRef;
+    private final byte fieldType;
+    private final byte version;
+
+    private final transient OFieldInfo fieldInfo;
 
     /**
      * Creates a new OField instance from the given base type and {@link Field}
@@ -75,9 +77,20 @@ public final class OField {
      * @param ref the {@code OField's} java reflect instance
      */
     public OField(OClass<?> type, Field ref) {
+        this(type, ref, OFieldType.wrap(ref), OSchema.getVersion(ref));
+        ref.setAccessible(true);
+    }
+
+    /**
+     * Creates a new OField with information that was already collected by an
+     * {@link OSchema}.
+     */
+    OField(OClass<?> type, Field ref, byte fieldType, byte version) {
         this.parent = Objects.requireNonNull(type);
         this.reference = Objects.requireNonNull(ref);
-        this.fieldInfoRef = new SoftReference<>(fieldInfo());
+        this.fieldType = fieldType;
+        this.version = version;
+        this.fieldInfo = newFieldInfo();
     }
 
     /**
@@ -160,6 +173,18 @@ public final class OField {
     public void setValue(Object value) {
         OFieldInfo info = fieldInfo();
         info.value = value;
+        info.assigned = true;
+    }
+
+    /**
+     * Returns whether a value was explicitly set via {@link #setValue(Object)}.
+     * Fields that were not assigned while reading keep the value of a newly
+     * created instance.
+     *
+     * @return true, if a value was set
+     */
+    public boolean isAssigned() {
+        return fieldInfo().assigned;
     }
 
     /**
@@ -170,12 +195,7 @@ public final class OField {
     }
 
     private OFieldInfo fieldInfo() {
-        SoftReference<OFieldInfo> fieldInfo = this.fieldInfoRef;
-        OFieldInfo info;
-        if (fieldInfo != null && (info = fieldInfo.get()) != null) {
-            return info;
-        }
-        return newFieldInfo();
+        return fieldInfo;
     }
 
     private OFieldInfo newFieldInfo() {
@@ -185,13 +205,10 @@ public final class OField {
         }
 
         info.name = getLinkedField().getName();
-        info.fieldType = OFieldType.wrap(getLinkedField());
+        info.fieldType = fieldType;
         info.type = getLinkedField().getType();
+        info.version = version;
 
-        Optional<Version> version = OReflection.getAnnotation(getLinkedField(), Version.class);
-        info.version = version.map(Version::value).orElse((byte) 0);
-
-        getLinkedField().setAccessible(true);
         if (getParent().getInstance() != null) {
             try {
                 info.value = getLinkedField().get(getParent().getInstance());
@@ -202,10 +219,10 @@ public final class OField {
         }
 
         if (getParent().getConfiguration().forType(info.type) == null) {
-            if (getParent().getInstance() != null) {
+            // Without an instance the value is read later, so no template is
+            // created; that would never end for self-referencing types.
+            if (getParent().getInstance() != null && info.value != null) {
                 info.value = OClass.klass(info.value, getParent().getConfiguration());
-            } else {
-                info.value = OClass.klass(info.type, getParent().getConfiguration());
             }
             info.type = OClass.class;
         }
@@ -219,6 +236,7 @@ public final class OField {
         volatile byte fieldType;
         volatile byte version;
         Object value;
+        boolean assigned;
         volatile Class<?> type;
 
         public OFieldInfo() {
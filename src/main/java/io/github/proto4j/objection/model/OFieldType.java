@@ -25,18 +25,87 @@
 package io.github.proto4j.objection.model;//@date 25.08.2022
 
 import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Map;
 
-//! INFO: This type can be modified and should be used for internal checks. Yet,
-//! it is not used in any context.
+/**
+ * The kind of value that is stored in an {@link OField}. The kind is written
+ * in front of every field value and compared when reading, so that values
+ * of fields whose type changed in an incompatible way are skipped instead of
+ * being decoded with the wrong serializer.
+ * <p>
+ * Primitive types and their wrapper types share the same kind, because they
+ * are encoded in the same way. The ids of the constants are part of the binary
+ * format and must not be changed.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
 public enum OFieldType {
-    DEFAULT;
+    DEFAULT(0),
+    BOOLEAN(1),
+    BYTE(2),
+    CHAR(3),
+    SHORT(4),
+    INT(5),
+    LONG(6),
+    FLOAT(7),
+    DOUBLE(8),
+    STRING(9),
+    ARRAY(10),
+    COLLECTION(11),
+    MAP(12),
+    OBJECT(13),
+    ENUM(14);
+
+    private static final OFieldType[] VALUES = values();
+
+    private final byte id;
+
+    OFieldType(int id) {
+        this.id = (byte) id;
+    }
+
+    /**
+     * @return the id of this kind used in the binary format
+     */
+    public byte getId() {
+        return id;
+    }
 
     public static OFieldType valueOf(byte type) {
-        // not implemented yet
+        for (OFieldType fieldType : VALUES) {
+            if (fieldType.id == type) {
+                return fieldType;
+            }
+        }
         return DEFAULT;
     }
 
     public static byte wrap(Field linkedField) {
-        return 0;
+        return of(linkedField.getType()).id;
+    }
+
+    /**
+     * Returns the kind of values with the given declared type.
+     *
+     * @param type the declared type of a field
+     * @return the matching kind
+     */
+    public static OFieldType of(Class<?> type) {
+        if (type == boolean.class || type == Boolean.class) return BOOLEAN;
+        if (type == byte.class || type == Byte.class) return BYTE;
+        if (type == char.class || type == Character.class) return CHAR;
+        if (type == short.class || type == Short.class) return SHORT;
+        if (type == int.class || type == Integer.class) return INT;
+        if (type == long.class || type == Long.class) return LONG;
+        if (type == float.class || type == Float.class) return FLOAT;
+        if (type == double.class || type == Double.class) return DOUBLE;
+        if (type == String.class) return STRING;
+        if (type.isEnum() || (type.getSuperclass() != null && type.getSuperclass().isEnum())) return ENUM;
+        if (type.isArray()) return ARRAY;
+        if (Collection.class.isAssignableFrom(type)) return COLLECTION;
+        if (Map.class.isAssignableFrom(type)) return MAP;
+        return OBJECT;
     }
 }
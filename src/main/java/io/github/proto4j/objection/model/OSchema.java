@@ -0,0 +1,523 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Transient;
+import io.github.proto4j.objection.annotation.Version;
+import io.github.proto4j.objection.internal.Instantiators;
+import io.github.proto4j.objection.internal.OReflection;
+import io.github.proto4j.objection.internal.Records;
+import io.github.proto4j.objection.internal.SchemaBuildEvent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable class-level metadata that is shared by all {@link OClass}
+ * instances of the same type. A schema contains the serializable fields of a
+ * class together with their {@link OFieldType} and {@link Version}, which are
+ * otherwise collected via reflection and annotation scans.
+ * <p>
+ * Schemas are created on first use and cached for the lifetime of the class
+ * via a {@link ClassValue}: cached entries are strongly reachable as long as
+ * the class is loaded and released together with its class loader. Entries
+ * can be dropped explicitly with {@link #evict(Class)} or {@link #clear()},
+ * for instance after a hot redeploy. They can be prepared ahead of time with
+ * {@link #precompute(Collection)} or loaded from a snapshot file (see
+ * {@link OSchemaSnapshot}) to reduce the latency of the first marshall after
+ * startup.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see OSchemaSnapshot
+ */
+public final class OSchema {
+
+    private static final ClassValue<AtomicReference<OSchema>> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected AtomicReference<OSchema> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    // Incremented by clear(), so that all schemas that were cached before
+    // become stale without having to enumerate the cache.
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    /**
+     * The system property that enables {@link #setConstructorFreeAllocation(boolean)}
+     * at startup.
+     */
+    public static final String CONSTRUCTOR_FREE_ALLOCATION = "io.github.proto4j.objection.constructorFreeAllocation";
+
+    private static volatile boolean constructorFreeAllocation = Boolean.getBoolean(CONSTRUCTOR_FREE_ALLOCATION);
+
+    private final int generation = GENERATION.get();
+    private final Class<?> type;
+    private final String name;
+    private final byte[] bufferedName;
+    private final byte version;
+
+    private final Field[] fields;
+    private final byte[] fieldTypes;
+    private final byte[] fieldVersions;
+    private final int fingerprint;
+
+    private final MethodHandle canonicalConstructor;
+    private final int[] componentFields;
+    private final Object[] componentDefaults;
+
+    // resolved on first use, so that restoring a snapshot does not scan the
+    // constructors of every type
+    private volatile Constructor<?>[] constructors;
+    private volatile Optional<Constructor<?>> defaultConstructor;
+    // created on first use, see getInstantiator()
+    private volatile MethodHandle instantiator;
+    private volatile MethodHandle[] setters;
+
+    OSchema(Class<?> type, byte version, Field[] fields, byte[] fieldTypes, byte[] fieldVersions) {
+        this.type = type;
+        this.name = type.getName();
+        this.bufferedName = name.getBytes(StandardCharsets.UTF_8);
+        this.version = version;
+        this.fields = fields;
+        this.fieldTypes = fieldTypes;
+        this.fieldVersions = fieldVersions;
+        this.fingerprint = computeFingerprint(Byte.MAX_VALUE);
+
+        if (Records.isRecord(type)) {
+            String[] names = Records.getComponentNames(type);
+            Class<?>[] types = Records.getComponentTypes(type);
+            this.canonicalConstructor = Records.getCanonicalConstructor(type);
+            this.componentFields = new int[names.length];
+            this.componentDefaults = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                componentFields[i] = indexOf(names[i]);
+                componentDefaults[i] = Records.defaultValue(types[i]);
+            }
+        } else {
+            this.canonicalConstructor = null;
+            this.componentFields = null;
+            this.componentDefaults = null;
+        }
+
+        for (Field field : fields) {
+            field.setAccessible(true);
+        }
+    }
+
+    /**
+     * Returns the cached schema of the given type. If the schema was not
+     * created yet, it is built via reflection.
+     *
+     * @param type the serializable type
+     * @return the schema of the given type
+     */
+    public static OSchema of(Class<?> type) {
+        OSchema schema = getCached(type);
+        if (schema == null) {
+            schema = build(type);
+            OSchema previous = putIfAbsent(schema);
+            if (previous != null) {
+                schema = previous;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * @param type the serializable type
+     * @return the cached schema or {@code null} if there is none
+     */
+    public static OSchema getCached(Class<?> type) {
+        OSchema schema = SCHEMAS.get(type).get();
+        return schema != null && schema.generation == GENERATION.get() ? schema : null;
+    }
+
+    /**
+     * Builds the schemas of all given types in parallel.
+     *
+     * @param types the types to prepare
+     * @return the amount of schemas that were not cached before
+     */
+    public static int precompute(Collection<? extends Class<?>> types) {
+        AtomicInteger created = new AtomicInteger();
+        types.parallelStream().forEach(type -> {
+            if (getCached(type) == null) {
+                OSchema.of(type);
+                created.incrementAndGet();
+            }
+        });
+        return created.get();
+    }
+
+    /**
+     * Removes the cached schema of the given type. The schema is built again
+     * on its next use.
+     *
+     * @param type the type to evict
+     */
+    public static void evict(Class<?> type) {
+        SCHEMAS.remove(type);
+    }
+
+    /**
+     * Invalidates all cached schemas. Schemas of classes that were unloaded
+     * are released automatically, so this method is only needed if cached
+     * schemas must not be reused, e.g. after changing
+     * {@link #setConstructorFreeAllocation(boolean)}.
+     */
+    public static void clear() {
+        GENERATION.incrementAndGet();
+    }
+
+    private static OSchema putIfAbsent(OSchema schema) {
+        AtomicReference<OSchema> ref = SCHEMAS.get(schema.type);
+        while (true) {
+            OSchema current = ref.get();
+            if (current != null && current.generation == GENERATION.get()) {
+                return current;
+            }
+            if (ref.compareAndSet(current, schema)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Enables or disables the allocation of instances without calling a
+     * constructor. If enabled, classes without a no-arg constructor are
+     * created like {@code Serializable} classes in Java serialization: no
+     * constructor is executed and all fields that were not read keep their
+     * default value ({@code null}, zero or false). This option is disabled
+     * by default and only affects schemas that did not create an instance
+     * yet.
+     *
+     * @param enabled whether constructor-free allocation should be used
+     */
+    public static void setConstructorFreeAllocation(boolean enabled) {
+        constructorFreeAllocation = enabled;
+    }
+
+    /**
+     * @return whether constructor-free allocation is enabled
+     */
+    public static boolean isConstructorFreeAllocation() {
+        return constructorFreeAllocation;
+    }
+
+    static void register(OSchema schema) {
+        putIfAbsent(schema);
+    }
+
+    private static OSchema build(Class<?> type) {
+        SchemaBuildEvent event = new SchemaBuildEvent();
+        event.begin();
+
+        byte version = OReflection.getAnnotation(type, Version.class)
+                .map(Version::value)
+                .orElse((byte) Version.INITIAL_VERSION);
+
+        List<Field> fields = new ArrayList<>();
+        if (!type.isEnum() && !type.isInterface()) {
+            Class<?> current = type;
+            while (current != null && current != Object.class) {
+                addAnnotatedFields(fields, current.getDeclaredFields(), version);
+                current = current.getSuperclass();
+            }
+        }
+
+        if (Records.isRecord(type)) {
+            // components are passed to the canonical constructor in
+            // declaration order
+            List<String> names = Arrays.asList(Records.getComponentNames(type));
+            fields.sort(Comparator.comparingInt(field -> names.indexOf(field.getName())));
+        }
+
+        Field[] declared = fields.toArray(new Field[0]);
+        byte[] fieldTypes = new byte[declared.length];
+        byte[] fieldVersions = new byte[declared.length];
+        for (int i = 0; i < declared.length; i++) {
+            fieldTypes[i] = OFieldType.wrap(declared[i]);
+            fieldVersions[i] = getVersion(declared[i]);
+        }
+        OSchema schema = new OSchema(type, version, declared, fieldTypes, fieldVersions);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.typeName = schema.name;
+            event.fieldCount = declared.length;
+            event.commit();
+        }
+        return schema;
+    }
+
+    private static void addAnnotatedFields(List<Field> fields, Field[] declaredFields, byte version) {
+        for (Field field : declaredFields) {
+            if (field.isSynthetic() || field.isEnumConstant()) {
+                continue;
+            }
+
+            int mods = field.getModifiers();
+            if (Modifier.isStatic(mods) || Modifier.isTransient(mods)) {
+                continue;
+            }
+
+            if (OReflection.isPresent(field, Transient.class)) {
+                continue;
+            }
+
+            if (getVersion(field) > version) {
+                continue;
+            }
+            fields.add(field);
+        }
+    }
+
+    static byte getVersion(Field field) {
+        return OReflection.getAnnotation(field, Version.class).map(Version::value).orElse((byte) 0);
+    }
+
+    /**
+     * @return the described type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the full name of the described type
+     */
+    public String getName() {
+        return name;
+    }
+
+    byte[] getBufferedName() {
+        return bufferedName;
+    }
+
+    /**
+     * @return the class version
+     */
+    public byte getVersion() {
+        return version;
+    }
+
+    Constructor<?>[] getConstructors() {
+        Constructor<?>[] constructors = this.constructors;
+        if (constructors == null) {
+            constructors = type.getConstructors();
+            this.constructors = constructors;
+        }
+        return constructors;
+    }
+
+    /**
+     * @return true, if the described type is a record class
+     */
+    public boolean isRecord() {
+        return canonicalConstructor != null;
+    }
+
+    /**
+     * Creates a new instance of the schema type with the given field values.
+     * Records are created via their canonical constructor; all other classes
+     * are allocated with a single call to the cached instantiator and the
+     * assigned values are applied afterwards.
+     *
+     * @param values the field values in field order
+     * @param assigned whether a value was read for the field at the same index
+     * @return the new instance
+     * @throws ReflectiveOperationException if the instance could not be created
+     */
+    public Object newInstance(Object[] values, boolean[] assigned) throws ReflectiveOperationException {
+        if (canonicalConstructor != null) {
+            return newRecord(values, assigned);
+        }
+
+        MethodHandle[] setters = getSetters();
+        try {
+            Object instance = getInstantiator().invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                if (assigned[i]) {
+                    setters[i].invokeExact(instance, values[i]);
+                }
+            }
+            return instance;
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private MethodHandle getInstantiator() {
+        MethodHandle instantiator = this.instantiator;
+        if (instantiator == null) {
+            Constructor<?> defaultConstructor = getDefaultConstructor();
+            if (defaultConstructor != null) {
+                instantiator = Instantiators.forConstructor(defaultConstructor);
+            } else if (constructorFreeAllocation) {
+                instantiator = Instantiators.forSerialization(type);
+            } else {
+                throw new NullPointerException("There is no default constructor for " + name);
+            }
+            this.instantiator = instantiator;
+        }
+        return instantiator;
+    }
+
+    private MethodHandle[] getSetters() {
+        MethodHandle[] setters = this.setters;
+        if (setters == null) {
+            setters = new MethodHandle[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                setters[i] = Instantiators.forSetter(fields[i]);
+            }
+            this.setters = setters;
+        }
+        return setters;
+    }
+
+    /**
+     * Creates a new record instance through the cached canonical constructor.
+     * The values are given in the order of the schema fields. Components that
+     * are not serialized or not assigned are set to their default value.
+     *
+     * @param values the field values
+     * @param assigned whether the value at the same index was assigned
+     * @return the new record instance
+     * @throws ReflectiveOperationException if the constructor failed
+     */
+    Object newRecord(Object[] values, boolean[] assigned) throws ReflectiveOperationException {
+        Object[] arguments = componentDefaults.clone();
+        for (int i = 0; i < componentFields.length; i++) {
+            int index = componentFields[i];
+            if (index != -1 && assigned[index]) {
+                arguments[i] = values[index];
+            }
+        }
+        try {
+            return canonicalConstructor.invokeExact(arguments);
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * @return the no-arg constructor of the schema type or {@code null} if
+     *         there is none
+     */
+    public Constructor<?> getDefaultConstructor() {
+        Optional<Constructor<?>> defaultConstructor = this.defaultConstructor;
+        if (defaultConstructor == null) {
+            defaultConstructor = Optional.ofNullable(Instantiators.getDefaultConstructor(type));
+            this.defaultConstructor = defaultConstructor;
+        }
+        return defaultConstructor.orElse(null);
+    }
+
+    /**
+     * @return the amount of serializable fields
+     */
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index the field index
+     * @return the accessible field at the given index
+     */
+    public Field getField(int index) {
+        return fields[index];
+    }
+
+    /**
+     * @param index the field index
+     * @return the {@link OFieldType} id of the field at the given index
+     */
+    public byte getFieldType(int index) {
+        return fieldTypes[index];
+    }
+
+    /**
+     * @param index the field index
+     * @return the version of the field at the given index
+     */
+    public byte getFieldVersion(int index) {
+        return fieldVersions[index];
+    }
+
+    /**
+     * @return the fingerprint of all serializable fields
+     * @see OClass#getClassId()
+     */
+    public int getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @param version a class version
+     * @return the fingerprint of all fields that are visible in the given
+     *         version
+     * @see OClass#getFingerprint(byte)
+     */
+    public int getFingerprint(byte version) {
+        return version >= this.version ? fingerprint : computeFingerprint(version);
+    }
+
+    private int computeFingerprint(byte version) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < fields.length; i++) {
+            if (fieldVersions[i] > version) {
+                continue;
+            }
+            crc.update(fields[i].getName().getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+            crc.update(fields[i].getType().getName().getBytes(StandardCharsets.UTF_8));
+            crc.update(fieldVersions[i]);
+        }
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.io.*;
+import java.lang.module.ModuleReader;
+import java.lang.module.ModuleReference;
+import java.lang.module.ResolvedModule;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Stores precomputed {@link OSchema}s in a compact binary file, so that the
+ * schema cache can be restored at startup without annotation scans:
+ * <pre>
+ * ┌─────────────────────────────────────────────────────────────────┐
+ * │ Schema Snapshot                                                 │
+ * ├─────────────┬─────────────────┬─────────────────────────────────┤
+ * │ magic: int  │ format: byte    │ count: int                      │
+ * ├─────────────┴─────┬───────────┴───┬─────────────────────────────┤
+ * │ name: UTF         │ version: byte │ layout_hash: int            │
+ * ├───────────────────┴─┬─────────────┴─────────────────────────────┤
+ * │ field_count: short  │ fields: Field[]                           │
+ * ├─────────────────────┴───────────────────────────────────────────┤
+ * │ Field: depth: byte │ name: UTF │ type: byte │ version: byte     │
+ * └─────────────────────────────────────────────────────────────────┘
+ * </pre>
+ * The depth is the position of the declaring class within the class
+ * hierarchy, where zero is the described type itself. The layout hash
+ * covers the names, types and modifiers of all declared fields. If it does not
+ * match the loaded class, the entry is ignored and the schema will be built
+ * on first use. Changes to annotations are not detected, so snapshots should
+ * be created as part of the build.
+ * <p>
+ * Restoring a schema skips the annotation scans and field classification.
+ * The declared fields of each class hierarchy are still listed to verify
+ * the layout hash, and the stored fields are made accessible. Constructors
+ * are only resolved when the first instance is created.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see OSchema
+ */
+public final class OSchemaSnapshot {
+
+    private static final int MAGIC = 0x4F534E50; // OSNP
+    private static final byte FORMAT = 1;
+
+    private OSchemaSnapshot() {}
+
+    /**
+     * Builds the schemas of all given types and writes them to the given
+     * output.
+     *
+     * @param dataOutput the destination
+     * @param types the types to include
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(DataOutput dataOutput, Collection<? extends Class<?>> types) throws IOException {
+        OSchema.precompute(types);
+        dataOutput.writeInt(MAGIC);
+        dataOutput.writeByte(FORMAT);
+        dataOutput.writeInt(types.size());
+
+        for (Class<?> type : types) {
+            OSchema schema = OSchema.of(type);
+            List<Class<?>> hierarchy = getHierarchy(type);
+
+            dataOutput.writeUTF(schema.getName());
+            dataOutput.writeByte(schema.getVersion());
+            dataOutput.writeInt(getLayoutHash(hierarchy));
+            dataOutput.writeShort(schema.getFieldCount());
+            for (int i = 0; i < schema.getFieldCount(); i++) {
+                Field field = schema.getField(i);
+                dataOutput.writeByte(hierarchy.indexOf(field.getDeclaringClass()));
+                dataOutput.writeUTF(field.getName());
+                dataOutput.writeByte(schema.getFieldType(i));
+                dataOutput.writeByte(schema.getFieldVersion(i));
+            }
+        }
+    }
+
+    /**
+     * Restores all schemas stored in the given input. Entries whose class can
+     * not be loaded or whose field layout changed are skipped.
+     *
+     * @param dataInput the source
+     * @param loader the class loader used to load the described types
+     * @return the amount of restored schemas
+     * @throws IOException if an I/O error occurs or the input is no snapshot
+     */
+    public static int read(DataInput dataInput, ClassLoader loader) throws IOException {
+        if (dataInput.readInt() != MAGIC || dataInput.readByte() != FORMAT) {
+            throw new InvalidObjectException("Not a schema snapshot");
+        }
+
+        int count = dataInput.readInt();
+        int restored = 0;
+        for (int i = 0; i < count; i++) {
+            String name = dataInput.readUTF();
+            byte version = dataInput.readByte();
+            int layoutHash = dataInput.readInt();
+            int fieldCount = dataInput.readUnsignedShort();
+
+            int[] depths = new int[fieldCount];
+            String[] names = new String[fieldCount];
+            byte[] fieldTypes = new byte[fieldCount];
+            byte[] fieldVersions = new byte[fieldCount];
+            for (int j = 0; j < fieldCount; j++) {
+                depths[j] = dataInput.readUnsignedByte();
+                names[j] = dataInput.readUTF();
+                fieldTypes[j] = dataInput.readByte();
+                fieldVersions[j] = dataInput.readByte();
+            }
+
+            Class<?> type;
+            try {
+                type = Class.forName(name, false, loader);
+            } catch (ClassNotFoundException e) {
+                continue;
+            }
+            if (OSchema.getCached(type) != null) {
+                continue;
+            }
+
+            List<Class<?>> hierarchy = getHierarchy(type);
+            if (getLayoutHash(hierarchy) != layoutHash) {
+                continue;
+            }
+
+            Field[] fields = new Field[fieldCount];
+            try {
+                for (int j = 0; j < fieldCount; j++) {
+                    fields[j] = hierarchy.get(depths[j]).getDeclaredField(names[j]);
+                }
+            } catch (NoSuchFieldException | IndexOutOfBoundsException e) {
+                continue;
+            }
+            OSchema.register(new OSchema(type, version, fields, fieldTypes, fieldVersions));
+            restored++;
+        }
+        return restored;
+    }
+
+    /**
+     * Writes a snapshot of the given types into the given file.
+     *
+     * @param file the destination file
+     * @param types the types to include
+     * @throws IOException if an I/O error occurs
+     */
+    public static void save(Path file, Collection<? extends Class<?>> types) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            write(out, types);
+        }
+    }
+
+    /**
+     * Restores the schemas of the given snapshot file.
+     *
+     * @param file the snapshot file
+     * @param loader the class loader used to load the described types
+     * @return the amount of restored schemas
+     * @throws IOException if an I/O error occurs or the file is no snapshot
+     */
+    public static int load(Path file, ClassLoader loader) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return read(in, loader);
+        }
+    }
+
+    /**
+     * Returns all types of the given named module that are annotated with
+     * {@link Serialize}. The classes are loaded without initializing them.
+     *
+     * @param module a named module
+     * @return all serializable types of the module
+     * @throws IOException if the module contents could not be listed
+     */
+    public static List<Class<?>> findSerializableTypes(Module module) throws IOException {
+        if (!module.isNamed() || module.getLayer() == null) {
+            throw new IllegalArgumentException("Not a named module: " + module);
+        }
+        ModuleReference reference = module.getLayer().configuration()
+                .findModule(module.getName())
+                .map(ResolvedModule::reference)
+                .orElseThrow(() -> new IllegalArgumentException("Module not resolved: " + module));
+
+        List<String> names;
+        try (ModuleReader reader = reference.open(); Stream<String> resources = reader.list()) {
+            names = resources.filter(r -> r.endsWith(".class") && !r.endsWith("module-info.class"))
+                    .map(r -> r.substring(0, r.length() - ".class".length()).replace('/', '.'))
+                    .collect(Collectors.toList());
+        }
+
+        List<Class<?>> types = new ArrayList<>();
+        for (String name : names) {
+            try {
+                Class<?> type = Class.forName(name, false, module.getClassLoader());
+                if (type.isAnnotationPresent(Serialize.class)) {
+                    types.add(type);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                // classes that can't be loaded are not serializable either
+            }
+        }
+        return types;
+    }
+
+    private static List<Class<?>> getHierarchy(Class<?> type) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(current);
+        }
+        return hierarchy;
+    }
+
+    private static int getLayoutHash(List<Class<?>> hierarchy) {
+        CRC32 crc = new CRC32();
+        for (Class<?> type : hierarchy) {
+            for (Field field : type.getDeclaredFields()) {
+                crc.update(field.getName().getBytes(StandardCharsets.UTF_8));
+                crc.update(field.getType().getName().getBytes(StandardCharsets.UTF_8));
+                int modifiers = field.getModifiers();
+                crc.update(modifiers >>> 24);
+                crc.update(modifiers >>> 16);
+                crc.update(modifiers >>> 8);
+                crc.update(modifiers);
+            }
+            crc.update(0);
+        }
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.net; //@date 19.10.2026
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable settings of a {@link MessageWriter} and {@link MessageReader}.
+ * Written messages are collected until either the batch size is reached or
+ * the linger time of the first pending message has passed; then the whole
+ * batch is written with a single call to the underlying stream. A linger time
+ * of zero writes every message immediately.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see MessageWriter
+ * @see MessageReader
+ */
+public final class MessageOptions {
+
+    /**
+     * The default maximum size of a single message.
+     */
+    public static final int DEFAULT_MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The default amount of pending bytes that triggers a write.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+
+    /**
+     * The default time a message may wait for further messages.
+     */
+    public static final long DEFAULT_LINGER_MICROS = 200;
+
+    private final int maxFrameSize;
+    private final int batchSize;
+    private final long lingerNanos;
+
+    private MessageOptions(int maxFrameSize, int batchSize, long lingerNanos) {
+        if (maxFrameSize < 1) {
+            throw new IllegalArgumentException("Invalid max frame size: " + maxFrameSize);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+        }
+        if (lingerNanos < 0) {
+            throw new IllegalArgumentException("Invalid linger time: " + lingerNanos);
+        }
+        this.maxFrameSize = maxFrameSize;
+        this.batchSize = batchSize;
+        this.lingerNanos = lingerNanos;
+    }
+
+    /**
+     * @return options with the default frame size, batch size and linger time
+     */
+    public static MessageOptions defaults() {
+        return new MessageOptions(DEFAULT_MAX_FRAME_SIZE, DEFAULT_BATCH_SIZE,
+                TimeUnit.MICROSECONDS.toNanos(DEFAULT_LINGER_MICROS));
+    }
+
+    /**
+     * @param maxFrameSize the maximum size of a single message in bytes
+     * @return a copy of these options with the given frame size
+     */
+    public MessageOptions withMaxFrameSize(int maxFrameSize) {
+        return new MessageOptions(maxFrameSize, batchSize, lingerNanos);
+    }
+
+    /**
+     * @param batchSize the amount of pending bytes that triggers a write
+     * @return a copy of these options with the given batch size
+     */
+    public MessageOptions withBatchSize(int batchSize) {
+        return new MessageOptions(maxFrameSize, batchSize, lingerNanos);
+    }
+
+    /**
+     * @param linger the time a message may wait for further messages; zero
+     *         disables batching
+     * @param unit the unit of the linger time
+     * @return a copy of these options with the given linger time
+     */
+    public MessageOptions withLinger(long linger, TimeUnit unit) {
+        return new MessageOptions(maxFrameSize, batchSize, unit.toNanos(linger));
+    }
+
+    /**
+     * @return the maximum size of a single message in bytes
+     */
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    /**
+     * @return the amount of pending bytes that triggers a write
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the linger time in nanoseconds
+     */
+    public long getLingerNanos() {
+        return lingerNanos;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.net; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.net.Socket;
+import java.util.Objects;
+
+/**
+ * Reads the length-prefixed frames written by a {@link MessageWriter}. Each
+ * frame is first read completely with a single {@code readFully} into a
+ * reusable buffer and then decoded from memory, so that the marshaller never
+ * reads from the underlying stream directly:
+ * <pre>
+ *     MessageReader&lt;Order&gt; reader = MessageReader.forSocket(socket, marshaller, config, MessageOptions.defaults());
+ *     Order order;
+ *     while ((order = reader.receive()) != null) {
+ *         ...
+ *     }
+ * </pre>
+ * Frames larger than the configured maximum frame size are rejected before
+ * their payload is read. Reading is synchronized, so a reader can be shared
+ * by multiple consumers.
+ *
+ * @param <V> the type of the read objects
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see MessageOptions
+ */
+public final class MessageReader<V> implements Closeable {
+
+    private final InputStream inputStream;
+    private final DataInputStream dataInput;
+    private final Marshaller<V> marshaller;
+    private final OSharedConfiguration configuration;
+    private final MessageOptions options;
+
+    private final byte[] header = new byte[Integer.BYTES];
+    private byte[] buffer = new byte[256];
+
+    public MessageReader(InputStream inputStream, Marshaller<V> marshaller, OSharedConfiguration configuration,
+                         MessageOptions options) {
+        // small frames that arrived together are read with a single call
+        this.inputStream = new BufferedInputStream(Objects.requireNonNull(inputStream));
+        this.dataInput = new DataInputStream(this.inputStream);
+        this.marshaller = Objects.requireNonNull(marshaller);
+        this.configuration = Objects.requireNonNull(configuration);
+        this.options = Objects.requireNonNull(options);
+    }
+
+    /**
+     * Creates a reader for the input stream of the given socket.
+     *
+     * @param socket the connected socket
+     * @param marshaller the marshaller used to decode the messages
+     * @param configuration the configuration used to read the messages
+     * @param options the frame settings
+     * @param <V> the type of the read objects
+     * @return a new reader
+     * @throws IOException if the socket input could not be opened
+     */
+    public static <V> MessageReader<V> forSocket(Socket socket, Marshaller<V> marshaller,
+                                                 OSharedConfiguration configuration, MessageOptions options)
+            throws IOException {
+        return new MessageReader<>(socket.getInputStream(), marshaller, configuration, options);
+    }
+
+    /**
+     * Reads and decodes the next message.
+     *
+     * @return the next message or {@code null} if the stream ended between
+     *         two messages
+     * @throws IOException if the stream ended within a message, a frame
+     *         exceeds the maximum size or the message could not be read
+     * @throws ReflectiveOperationException if the value could not be created
+     */
+    public synchronized V receive() throws IOException, ReflectiveOperationException {
+        int first = inputStream.read();
+        if (first < 0) {
+            return null;
+        }
+        header[0] = (byte) first;
+        dataInput.readFully(header, 1, Integer.BYTES - 1);
+        int length = ((header[0] & 0xFF) << 24) | ((header[1] & 0xFF) << 16)
+                | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+        if (length < 0 || length > options.getMaxFrameSize()) {
+            throw new StreamCorruptedException("Invalid frame length: " + length);
+        }
+
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, Math.min(buffer.length * 2, options.getMaxFrameSize()))];
+        }
+        dataInput.readFully(buffer, 0, length);
+        DataInputStream payload = new DataInputStream(new ByteArrayInputStream(buffer, 0, length));
+        V value = marshaller.getInstance(payload, configuration);
+        if (payload.available() != 0) {
+            throw new StreamCorruptedException("Frame of " + length + " bytes was not read completely");
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.net; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes marshalled objects as length-prefixed frames, so that the peer can
+ * read them with a {@link MessageReader}:
+ * <pre>
+ * ┌──────────────────┬───────────────────────┐
+ * │ length: int      │ payload: byte[length] │
+ * └──────────────────┴───────────────────────┘
+ * </pre>
+ * Small messages are not written one by one. They are collected in a batch
+ * which is written with a single call to the underlying stream as soon as it
+ * reaches the configured batch size, the linger time of its first message
+ * has passed or {@link #flush()} is called:
+ * <pre>
+ *     MessageWriter&lt;Order&gt; writer = MessageWriter.forSocket(socket, marshaller, MessageOptions.defaults());
+ *     writer.send(order);
+ *     writer.flush(); // optional, e.g. at the end of a request
+ * </pre>
+ * All methods may be called concurrently by multiple producers. Messages are
+ * encoded by the calling thread without holding a lock; the messages of one
+ * thread are written in the order they were sent. Errors of writes that were
+ * triggered by the linger timer are reported by the next call to
+ * {@link #send(Object)} or {@link #flush()}.
+ *
+ * @param <V> the type of the written objects
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see MessageOptions
+ */
+public final class MessageWriter<V> implements Closeable, Flushable {
+
+    private static final ThreadLocal<Frame> FRAMES = ThreadLocal.withInitial(Frame::new);
+
+    private final OutputStream outputStream;
+    private final Marshaller<V> marshaller;
+    private final MessageOptions options;
+
+    // lock order: outputLock before batchLock
+    private final Object outputLock = new Object();
+    private final Object batchLock = new Object();
+
+    private ByteArrayOutputStream pending;
+    private ByteArrayOutputStream spare;
+    private long generation;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    public MessageWriter(OutputStream outputStream, Marshaller<V> marshaller, MessageOptions options) {
+        this.outputStream = Objects.requireNonNull(outputStream);
+        this.marshaller = Objects.requireNonNull(marshaller);
+        this.options = Objects.requireNonNull(options);
+        this.pending = new ByteArrayOutputStream(options.getBatchSize());
+        this.spare = new ByteArrayOutputStream(options.getBatchSize());
+    }
+
+    /**
+     * Creates a writer for the output stream of the given socket. Because
+     * messages are already batched, Nagle's algorithm is disabled on the
+     * socket.
+     *
+     * @param socket the connected socket
+     * @param marshaller the marshaller used to encode the messages
+     * @param options the batching settings
+     * @param <V> the type of the written objects
+     * @return a new writer
+     * @throws IOException if the socket output could not be opened
+     */
+    public static <V> MessageWriter<V> forSocket(Socket socket, Marshaller<V> marshaller,
+                                                 MessageOptions options) throws IOException {
+        socket.setTcpNoDelay(true);
+        return new MessageWriter<>(socket.getOutputStream(), marshaller, options);
+    }
+
+    /**
+     * Encodes the given value and adds it to the current batch.
+     *
+     * @param value the value to send
+     * @throws IOException if the value exceeds the maximum frame size or a
+     *         previous write failed
+     * @throws ReflectiveOperationException if the value could not be marshalled
+     */
+    public void send(V value) throws IOException, ReflectiveOperationException {
+        ensureUsable();
+        Frame frame = FRAMES.get();
+        frame.begin();
+        marshaller.marshall(value, frame.output);
+        int length = frame.finish();
+        if (length > options.getMaxFrameSize()) {
+            frame.release(options.getBatchSize());
+            throw new IOException("Message of " + length + " bytes exceeds the maximum frame size");
+        }
+
+        boolean full;
+        long scheduled = -1;
+        synchronized (batchLock) {
+            ensureUsable();
+            if (pending.size() == 0) {
+                scheduled = ++generation;
+            }
+            frame.writeTo(pending);
+            full = pending.size() >= options.getBatchSize();
+        }
+        frame.release(options.getBatchSize());
+
+        long linger = options.getLingerNanos();
+        if (full || linger == 0) {
+            drain();
+        } else if (scheduled >= 0) {
+            long batch = scheduled;
+            Linger.SCHEDULER.schedule(() -> lingerExpired(batch), linger, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Writes all pending messages and flushes the underlying stream.
+     *
+     * @throws IOException if an error occurs while writing
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureUsable();
+        drain();
+    }
+
+    /**
+     * Writes all pending messages and closes the underlying stream.
+     *
+     * @throws IOException if an error occurs while writing or closing
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (outputLock) {
+            // Senders check the flag under the batch lock, so no message can
+            // be added after the final drain without being rejected.
+            synchronized (batchLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            try {
+                if (failure == null) {
+                    drain();
+                }
+            } finally {
+                outputStream.close();
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        synchronized (outputLock) {
+            ByteArrayOutputStream batch;
+            synchronized (batchLock) {
+                if (pending.size() == 0) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                spare = batch;
+            }
+            try {
+                batch.writeTo(outputStream);
+                outputStream.flush();
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            } finally {
+                batch.reset();
+            }
+        }
+    }
+
+    private void lingerExpired(long batch) {
+        synchronized (batchLock) {
+            // the batch was already written and a newer one has its own timer
+            if (batch != generation || closed || failure != null) {
+                return;
+            }
+        }
+        try {
+            drain();
+        } catch (IOException e) {
+            // stored in failure and reported to the next caller
+        }
+    }
+
+    private void ensureUsable() throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+        IOException error = failure;
+        if (error != null) {
+            throw new IOException("A previous write failed", error);
+        }
+    }
+
+    /**
+     * A reusable buffer of a single frame that reserves space for the length
+     * header in front of the payload.
+     */
+    private static final class Frame extends ByteArrayOutputStream {
+        final DataOutputStream output = new DataOutputStream(this);
+
+        void begin() {
+            reset();
+            write(0);
+            write(0);
+            write(0);
+            write(0);
+        }
+
+        int finish() {
+            int length = count - Integer.BYTES;
+            buf[0] = (byte) (length >>> 24);
+            buf[1] = (byte) (length >>> 16);
+            buf[2] = (byte) (length >>> 8);
+            buf[3] = (byte) length;
+            return length;
+        }
+
+        void release(int limit) {
+            // don't keep the buffers of rare large messages alive
+            if (buf.length > limit) {
+                FRAMES.remove();
+            }
+        }
+    }
+
+    private static final class Linger {
+        static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "objection-message-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -48,14 +48,18 @@
  * +---------------++---------+-----+---------------+
  * | modifiers: int | id: int | field_count: int    |
  * +----------------+---------+---------------------+
- * | fields: OField[]                               |
+ * | null_bitmap: byte[(field_count + 7) / 8]       |
+ * +------------------------------------------------+
+ * | null_names: (namelen: byte, name: byte[])[]    |
+ * +------------------------------------------------+
+ * | fields: OField[] (only non-null values)        |
  * | +--------------------------------------------+ |
  * | | Field1:                                    | |
  * | +------------+---------------+---------------+ |
  * | | type: byte | version: byte | namelen: byte | |
- * | +------------+-+-------------+---------------+ |
- * | | name: byte[] | value: byte[]               | |
- * | +--------------+-----------------------------+ |
+ * | +------------+-+-------------+-+-------------+ |
+ * | | name: byte[] | value_len: int | value      | |
+ * | +--------------+----------------+------------+ |
  * | ...                                            |
  * +------------------------------------------------+
  * </pre>
@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.ObjectSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static io.github.proto4j.objection.serial.SequenceSerializer.LAYOUT_SEQUENTIAL;
+
+/**
+ * A {@link Spliterator} over a sequence that was written in parallel chunks.
+ * Each instance covers a range of chunks and splits at chunk boundaries. The
+ * encoded chunks are read from the shared input in order and handed over to
+ * the spliterator that covers them, so each chunk is buffered at most once.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
+final class ChunkedSpliterator<E> implements Spliterator<E> {
+
+    private final ChunkSource source;
+    private int chunk;
+    private final int endChunk;
+    private SequenceReader<E> reader;
+
+    ChunkedSpliterator(DataInput dataInput, Class<?> type, ObjectSerializer sr, OSerializationContext ctx)
+            throws IOException {
+        this.source = new ChunkSource(dataInput, type, sr, ctx);
+        this.chunk = 0;
+        this.endChunk = source.count;
+    }
+
+    private ChunkedSpliterator(ChunkSource source, int chunk, int endChunk) {
+        this.source = source;
+        this.chunk = chunk;
+        this.endChunk = endChunk;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        try {
+            while (reader == null || !reader.hasMore()) {
+                if (chunk >= endChunk) {
+                    return false;
+                }
+                reader = source.open(chunk++);
+            }
+            action.accept(reader.readNext());
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        int remaining = endChunk - chunk;
+        if (remaining < 2) {
+            return null;
+        }
+        // the prefix has to keep the already opened chunk
+        int middle = chunk + remaining / 2;
+        ChunkedSpliterator<E> prefix = new ChunkedSpliterator<>(source, chunk, middle);
+        prefix.reader = reader;
+        reader = null;
+        chunk = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = source.elementsIn(chunk, endChunk);
+        if (reader != null) {
+            size += reader.remaining();
+        }
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+
+    /**
+     * Reads the chunk header and provides the chunks in ascending order.
+     */
+    private static final class ChunkSource {
+
+        private final DataInput dataInput;
+        private final Class<?> type;
+        private final ObjectSerializer sr;
+        private final OSerializationContext ctx;
+
+        private final int length;
+        private final int chunkSize;
+        private final int count;
+        private final byte[][] chunks;
+        private int position;
+
+        ChunkSource(DataInput dataInput, Class<?> type, ObjectSerializer sr, OSerializationContext ctx)
+                throws IOException {
+            this.dataInput = dataInput;
+            this.type = type;
+            this.sr = sr;
+            this.ctx = ctx;
+
+            this.length = dataInput.readInt();
+            this.chunkSize = dataInput.readInt();
+            this.count = dataInput.readInt();
+            ParallelChunks.checkIndex(length, chunkSize, count);
+            this.chunks = new byte[count][];
+        }
+
+        int elementsIn(int from, int to) {
+            if (from >= to) {
+                return 0;
+            }
+            return (int) (Math.min((long) length, (long) to * chunkSize) - (long) from * chunkSize);
+        }
+
+        <E> SequenceReader<E> open(int index) throws IOException {
+            byte[] chunk;
+            synchronized (this) {
+                while (position <= index) {
+                    chunks[position] = ParallelChunks.readChunk(dataInput, elementsIn(position, position + 1));
+                    position++;
+                }
+                chunk = chunks[index];
+                chunks[index] = null;
+            }
+            DataInput input = new DataInputStream(new ByteArrayInputStream(chunk));
+            return new SequenceReader<>(input, type, sr, LAYOUT_SEQUENTIAL, elementsIn(index, index + 1), ctx);
+        }
+    }
+}
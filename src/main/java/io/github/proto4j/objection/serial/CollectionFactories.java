@@ -0,0 +1,189 @@
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+import java.io.InvalidClassException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registry of {@link CollectionFactory} instances used by the sequence
+ * serializers to create collections and maps with the right capacity. All
+ * common types of the {@code java.util} package are registered by default.
+ * Factories for other types are created on demand from their no-argument
+ * constructor and cached afterwards. Factories are attached to their type
+ * via a {@link ClassValue}, so registering a type does not keep its class
+ * loader alive.
+ * <p>
+ * Interfaces and abstract classes are mapped to a default implementation:
+ * <ul>
+ *     <li>{@link SortedSet} to {@link TreeSet}, {@link Set} to {@link HashSet}</li>
+ *     <li>{@link Deque} and {@link Queue} to {@link LinkedList}, which permits {@code null}</li>
+ *     <li>{@link List} and {@link Collection} to {@link ArrayList}</li>
+ *     <li>{@link SortedMap} to {@link TreeMap}, {@link ConcurrentMap} to
+ *     {@link ConcurrentHashMap} and {@link Map} to {@link HashMap}</li>
+ * </ul>
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see CollectionFactory
+ */
+public final class CollectionFactories {
+
+    private static final ClassValue<AtomicReference<CollectionFactory<?>>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected AtomicReference<CollectionFactory<?>> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    static {
+        register(ArrayList.class, ArrayList::new);
+        register(LinkedList.class, size -> new LinkedList<>());
+        register(Vector.class, size -> new Vector<>(Math.max(size, 1)));
+        register(ArrayDeque.class, ArrayDeque::new);
+        register(HashSet.class, size -> new HashSet<>(hashCapacity(size)));
+        register(LinkedHashSet.class, size -> new LinkedHashSet<>(hashCapacity(size)));
+        register(TreeSet.class, size -> new TreeSet<>());
+        register(PriorityQueue.class, size -> new PriorityQueue<>(Math.max(size, 1)));
+        register(CopyOnWriteArrayList.class, size -> new CopyOnWriteArrayList<>());
+        register(ConcurrentLinkedQueue.class, size -> new ConcurrentLinkedQueue<>());
+
+        register(HashMap.class, size -> new HashMap<>(hashCapacity(size)));
+        register(LinkedHashMap.class, size -> new LinkedHashMap<>(hashCapacity(size)));
+        register(IdentityHashMap.class, IdentityHashMap::new);
+        register(WeakHashMap.class, size -> new WeakHashMap<>(hashCapacity(size)));
+        register(TreeMap.class, size -> new TreeMap<>());
+        register(ConcurrentHashMap.class, ConcurrentHashMap::new);
+        register(ConcurrentSkipListMap.class, size -> new ConcurrentSkipListMap<>());
+        register(Hashtable.class, size -> new Hashtable<>(hashCapacity(size)));
+    }
+
+    private CollectionFactories() {}
+
+    /**
+     * Registers a factory for the given type. Existing factories will be
+     * replaced.
+     *
+     * @param type the concrete collection or map type
+     * @param factory the factory creating new instances
+     * @param <C> the collection or map type
+     */
+    public static <C> void register(Class<C> type, CollectionFactory<? extends C> factory) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(factory);
+        if (!Collection.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException(type.getName() + " is not a Collection or Map");
+        }
+        FACTORIES.get(type).set(factory);
+    }
+
+    /**
+     * Creates a new {@link Collection} of the given type with enough space for
+     * the given amount of elements.
+     *
+     * @param type the declared collection type
+     * @param size the amount of elements that will be added
+     * @return a new empty collection instance
+     * @throws InvalidClassException if no instance could be created
+     */
+    public static Collection<Object> newCollection(Class<?> type, int size) throws InvalidClassException {
+        // decoded elements are only known as objects, so the declared element
+        // type of the collection cannot be checked here
+        @SuppressWarnings("unchecked")
+        Collection<Object> collection = (Collection<Object>) forType(getImplementation(type)).newInstance(size);
+        return collection;
+    }
+
+    /**
+     * Creates a new {@link Map} of the given type with enough space for the
+     * given amount of entries.
+     *
+     * @param type the declared map type
+     * @param size the amount of entries that will be added
+     * @return a new empty map instance
+     * @throws InvalidClassException if no instance could be created
+     */
+    public static Map<Object, Object> newMap(Class<?> type, int size) throws InvalidClassException {
+        // see newCollection(Class, int)
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> map = (Map<Object, Object>) forType(getImplementation(type)).newInstance(size);
+        return map;
+    }
+
+    /**
+     * Returns the initial capacity of a hash based collection, so that the
+     * given amount of elements can be inserted without a resize operation
+     * with the default load factor.
+     *
+     * @param size the amount of elements
+     * @return the initial capacity
+     */
+    public static int hashCapacity(int size) {
+        if (size < 3) {
+            return size + 1;
+        }
+        return size < (1 << 30) ? (int) (size / 0.75f + 1.0f) : Integer.MAX_VALUE;
+    }
+
+    private static CollectionFactory<?> forType(Class<?> type) throws InvalidClassException {
+        AtomicReference<CollectionFactory<?>> reference = FACTORIES.get(type);
+        CollectionFactory<?> factory = reference.get();
+        if (factory == null) {
+            factory = createFactory(type);
+            if (!reference.compareAndSet(null, factory)) {
+                factory = reference.get();
+            }
+        }
+        return factory;
+    }
+
+    private static Class<?> getImplementation(Class<?> type) {
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            return type;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            if (SortedMap.class.isAssignableFrom(type)) {
+                return TreeMap.class;
+            } else if (ConcurrentMap.class.isAssignableFrom(type)) {
+                return ConcurrentHashMap.class;
+            }
+            return HashMap.class;
+        }
+        if (SortedSet.class.isAssignableFrom(type)) {
+            return TreeSet.class;
+        } else if (Set.class.isAssignableFrom(type)) {
+            return HashSet.class;
+        } else if (Queue.class.isAssignableFrom(type)) {
+            return LinkedList.class;
+        }
+        return ArrayList.class;
+    }
+
+    private static CollectionFactory<?> createFactory(Class<?> type) throws InvalidClassException {
+        MethodHandle handle;
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            handle = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new InvalidClassException(type.getName(), "No usable default constructor: " + e);
+        }
+
+        return size -> {
+            try {
+                return handle.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not create " + type.getName(), e);
+            }
+        };
+    }
+}
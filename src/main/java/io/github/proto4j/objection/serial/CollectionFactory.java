@@ -0,0 +1,29 @@
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+/**
+ * Factory for {@link java.util.Collection} and {@link java.util.Map} instances
+ * that are created while de-serializing a sequence. The serialized amount of
+ * elements is given to the factory, so implementations are able to allocate
+ * the right capacity up front:
+ * <pre>
+ *     CollectionFactories.register(MyList.class, MyList::new);
+ * </pre>
+ *
+ * @param <C> the type of the created instances
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see CollectionFactories
+ */
+@FunctionalInterface
+public interface CollectionFactory<C> {
+
+    /**
+     * Creates a new empty instance that is able to store the given amount
+     * of elements.
+     *
+     * @param size the amount of elements that will be added
+     * @return a new empty instance
+     */
+    C newInstance(int size);
+}
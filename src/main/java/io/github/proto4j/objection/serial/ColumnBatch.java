@@ -0,0 +1,571 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.ObjectSerializer;
+import io.github.proto4j.objection.internal.PrimitiveValues;
+import io.github.proto4j.objection.internal.ScratchOutput;
+import io.github.proto4j.objection.model.OSchema;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A column-oriented view on a homogeneous sequence of objects whose type has
+ * no dedicated serializer. The schema is written once and each field is
+ * stored as a contiguous column:
+ * <pre>
+ * ┌─────────────────────┬──────────────────┬────────────────────────────────┐
+ * │ null_bitmap: byte[] │ field_count: int │ fields: (name: UTF, type: UTF) │
+ * ├─────────────────────┴───┬──────────────┴────────────────────────────────┤
+ * │ column_len: int         │ column: byte[]                                │
+ * ├─────────────────────────┴───────────────────────────────────────────────┤
+ * │ ...                                                                     │
+ * └─────────────────────────────────────────────────────────────────────────┘
+ * </pre>
+ * The null bitmap marks {@code null} elements, which are skipped in all
+ * columns. If all elements are {@code null}, the batch ends behind the
+ * bitmap. Primitive columns are stored as one block of fixed-width values.
+ * All other columns start with their own null bitmap; strings are encoded
+ * with a dictionary followed by a varint index per value and remaining values
+ * are written with the serializer of the declared field type. Nested types
+ * without a serializer start with a mode byte: they are stored as a nested
+ * batch if all values are exactly of the declared type, otherwise each value
+ * is written as a complete object.
+ * <p>
+ * Columns are mapped onto the local fields by their name and declared type
+ * name, so that element types can evolve like single objects: columns of
+ * unknown or changed fields are skipped and fields without a column keep
+ * their default values.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see SequenceSerializer#LAYOUT_COLUMNAR
+ */
+public final class ColumnBatch {
+
+    // modes of nested columns without a serializer
+    private static final int NESTED_BATCH = 0;
+    private static final int NESTED_OBJECTS = 1;
+
+    private final OSchema schema;
+    private final int size;
+    private final byte[] nulls;
+    private final Object[] columns;
+    private final boolean[] written;
+
+    private ColumnBatch(OSchema schema, int size, byte[] nulls, Object[] columns, boolean[] written) {
+        this.schema = schema;
+        this.size = size;
+        this.nulls = nulls;
+        this.columns = columns;
+        this.written = written;
+    }
+
+    /**
+     * Reads a collection that was written with the columnar layout without
+     * creating the element instances.
+     *
+     * @param dataInput the resource stream
+     * @param ctx the current serialization context
+     * @return the column view of the collection
+     * @throws IOException if an error occurs while reading or the collection
+     *         was written with another layout
+     */
+    public static ColumnBatch read(DataInput dataInput, OSerializationContext ctx) throws IOException {
+        Class<?> type = SequenceSerializer.readElementType(dataInput, ctx);
+        int layout = dataInput.readUnsignedByte();
+        if (type == null || layout != SequenceSerializer.LAYOUT_COLUMNAR) {
+            throw new InvalidObjectException("Sequence was not written in columnar layout");
+        }
+        return readRows(dataInput, type, dataInput.readInt(), ctx);
+    }
+
+    /**
+     * Writes the given elements in columnar layout. All non-null elements
+     * must be of the given type.
+     *
+     * @param dataOutput the resource stream
+     * @param rows the elements to write, may contain {@code null}
+     * @param type the element type
+     * @param ctx the current serialization context
+     * @throws IOException if an error occurs while writing
+     */
+    public static void write(DataOutput dataOutput, Object[] rows, Class<?> type, OSerializationContext ctx)
+            throws IOException {
+        if (!isUniform(rows, type)) {
+            throw new InvalidClassException(type.getName(), "Columnar layout requires elements of the same type");
+        }
+        int present = 0;
+        for (Object row : rows) {
+            if (row != null) {
+                present++;
+            }
+        }
+
+        dataOutput.write(bitmap(rows));
+        if (present == 0) {
+            // nothing to store, which also ends self-referencing types
+            return;
+        }
+        OSchema schema = OSchema.of(type);
+        dataOutput.writeInt(schema.getFieldCount());
+        for (int i = 0; i < schema.getFieldCount(); i++) {
+            Field field = schema.getField(i);
+            dataOutput.writeUTF(field.getName());
+            dataOutput.writeUTF(field.getType().getName());
+        }
+        if (dataOutput instanceof ScratchOutput) {
+            writeColumns((ScratchOutput) dataOutput, schema, rows, present, ctx);
+            return;
+        }
+        // Columns are written behind their length, so that readers can skip
+        // the columns of unknown fields.
+        ScratchOutput scratch = ScratchOutput.acquire();
+        try {
+            writeColumns(scratch, schema, rows, present, ctx);
+            scratch.copyTo(dataOutput);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private static void writeColumns(ScratchOutput dataOutput, OSchema schema, Object[] rows, int present,
+                                     OSerializationContext ctx) throws IOException {
+        try {
+            for (int i = 0; i < schema.getFieldCount(); i++) {
+                int mark = dataOutput.reserveLength();
+                writeColumn(dataOutput, schema.getField(i), rows, present, ctx);
+                dataOutput.patchLength(mark);
+            }
+        } catch (IllegalAccessException e) {
+            throw new InvalidClassException(schema.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether the given elements can be written in columnar layout,
+     * i.e. all non-null elements are exactly of the given type.
+     *
+     * @param rows the elements, may contain {@code null}
+     * @param type the element type
+     * @return true, if no element is of another type
+     */
+    public static boolean isUniform(Object[] rows, Class<?> type) {
+        for (Object row : rows) {
+            if (row != null && row.getClass() != type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static ColumnBatch readRows(DataInput dataInput, Class<?> type, int size, OSerializationContext ctx)
+            throws IOException {
+        OSchema schema = OSchema.of(type);
+        byte[] nulls = new byte[bitmapSize(size)];
+        dataInput.readFully(nulls);
+
+        Object[] columns = new Object[schema.getFieldCount()];
+        boolean[] written = new boolean[columns.length];
+        if (countPresent(nulls, size) != 0) {
+            int fieldCount = dataInput.readInt();
+            if (fieldCount < 0) {
+                throw new InvalidObjectException("Invalid field count: " + fieldCount);
+            }
+            int[] indices = new int[fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                indices[i] = indexOf(schema, dataInput.readUTF(), dataInput.readUTF(), written);
+            }
+            for (int i = 0; i < fieldCount; i++) {
+                int length = dataInput.readInt();
+                int index = indices[i];
+                if (index == -1) {
+                    OFieldSerializer.skipFully(dataInput, length);
+                } else {
+                    columns[index] = readColumn(dataInput, schema.getField(index).getType(), nulls, size, ctx);
+                }
+            }
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (!written[i]) {
+                columns[i] = Array.newInstance(schema.getField(i).getType(), size);
+            }
+        }
+        return new ColumnBatch(schema, size, nulls, columns, written);
+    }
+
+    private static int indexOf(OSchema schema, String name, String typeName, boolean[] written) {
+        for (int i = 0; i < schema.getFieldCount(); i++) {
+            Field field = schema.getField(i);
+            if (!written[i] && field.getName().equals(name) && field.getType().getName().equals(typeName)) {
+                written[i] = true;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the amount of elements including {@code null} values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the element type
+     */
+    public Class<?> getType() {
+        return schema.getType();
+    }
+
+    /**
+     * @return the amount of columns
+     */
+    public int getFieldCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param field the column index
+     * @return the name of the field stored in the given column
+     */
+    public String getFieldName(int field) {
+        return schema.getField(field).getName();
+    }
+
+    /**
+     * @param name the field name
+     * @return the column index of the given field or {@code -1}
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (getFieldName(i).equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the values of the given column. Primitive fields are returned as
+     * primitive arrays, nested types without a serializer as a nested
+     * {@link ColumnBatch} if they were stored as such and all other fields as
+     * an array of the field type.
+     * The column has one entry per element; entries of {@code null} elements
+     * and of fields that were not written keep their default value.
+     *
+     * @param field the column index
+     * @return the column values
+     */
+    public Object getColumn(int field) {
+        return columns[field];
+    }
+
+    /**
+     * @param name the field name
+     * @return the column values or {@code null} if there is no such field
+     * @see #getColumn(int)
+     */
+    public Object getColumn(String name) {
+        int index = indexOf(name);
+        return index != -1 ? columns[index] : null;
+    }
+
+    /**
+     * @param row the element index
+     * @return true, if the element at the given index is {@code null}
+     */
+    public boolean isNull(int row) {
+        return isSet(nulls, row);
+    }
+
+    /**
+     * Creates the element at the given index from the column values.
+     *
+     * @param row the element index
+     * @return the new element or {@code null}
+     * @throws InvalidObjectException if the element could not be created
+     */
+    public Object get(int row) throws InvalidObjectException {
+        if (isNull(row)) {
+            return null;
+        }
+
+        Object[] values = new Object[columns.length];
+        boolean[] assigned = new boolean[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            Object column = columns[i];
+            if (written[i]) {
+                values[i] = column instanceof ColumnBatch
+                        ? ((ColumnBatch) column).get(row)
+                        : Array.get(column, row);
+                assigned[i] = true;
+            }
+        }
+        try {
+            return schema.newInstance(values, assigned);
+        } catch (ReflectiveOperationException e) {
+            throw new InvalidObjectException("Could not create " + schema.getName() + ": " + e);
+        }
+    }
+
+    /**
+     * Creates all elements and adds them to the given collection.
+     *
+     * @param collection the target collection
+     * @throws InvalidObjectException if an element could not be created
+     */
+    public void addTo(Collection<Object> collection) throws InvalidObjectException {
+        for (int i = 0; i < size; i++) {
+            collection.add(get(i));
+        }
+    }
+
+    private static void writeColumn(DataOutput dataOutput, Field field, Object[] rows, int present,
+                                    OSerializationContext ctx) throws IOException, IllegalAccessException {
+        Class<?> type = field.getType();
+        if (type.isPrimitive()) {
+            ByteBuffer buffer = ByteBuffer.allocate(present * PrimitiveValues.widthOf(type));
+            int index = 0;
+            for (Object row : rows) {
+                if (row != null) {
+                    index += PrimitiveValues.put(buffer, index, field, row);
+                }
+            }
+            dataOutput.write(buffer.array());
+            return;
+        }
+
+        Object[] values = new Object[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            values[i] = rows[i] != null ? field.get(rows[i]) : null;
+        }
+        if (type == String.class) {
+            writeStrings(dataOutput, values, ctx);
+            return;
+        }
+
+        ObjectSerializer sr = ctx.getConfig().forType(type);
+        if (sr == null) {
+            if (isUniform(values, type)) {
+                dataOutput.writeByte(NESTED_BATCH);
+                write(dataOutput, values, type, ctx);
+                return;
+            }
+            dataOutput.writeByte(NESTED_OBJECTS);
+            sr = ObjectElementSerializer.INSTANCE;
+        }
+        dataOutput.write(bitmap(values));
+        for (Object value : values) {
+            if (value != null) {
+                sr.writeObject(dataOutput, value, ctx);
+            }
+        }
+    }
+
+    private static Object readColumn(DataInput dataInput, Class<?> type, byte[] rowNulls, int size,
+                                     OSerializationContext ctx) throws IOException {
+        if (type.isPrimitive()) {
+            byte[] data = new byte[countPresent(rowNulls, size) * PrimitiveValues.widthOf(type)];
+            dataInput.readFully(data);
+            return readPrimitives(ByteBuffer.wrap(data), type, rowNulls, size);
+        }
+
+        if (type == String.class) {
+            return readStrings(dataInput, size, ctx);
+        }
+
+        ObjectSerializer sr = ctx.getConfig().forType(type);
+        if (sr == null) {
+            int mode = dataInput.readUnsignedByte();
+            if (mode == NESTED_BATCH) {
+                return readRows(dataInput, type, size, ctx);
+            } else if (mode != NESTED_OBJECTS) {
+                throw new InvalidObjectException("Unknown column mode: " + mode);
+            }
+            sr = ObjectElementSerializer.INSTANCE;
+        }
+        byte[] nulls = new byte[bitmapSize(size)];
+        dataInput.readFully(nulls);
+        Object[] values = (Object[]) Array.newInstance(type, size);
+        for (int i = 0; i < size; i++) {
+            if (!isSet(nulls, i)) {
+                values[i] = sr.getInstance(type, dataInput, ctx);
+            }
+        }
+        return values;
+    }
+
+    private static void writeStrings(DataOutput dataOutput, Object[] values, OSerializationContext ctx)
+            throws IOException {
+        Map<Object, Integer> codes = new HashMap<>();
+        int[] indices = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                Integer code = codes.putIfAbsent(values[i], codes.size());
+                indices[i] = code != null ? code : codes.size() - 1;
+            }
+        }
+
+        Object[] dictionary = new Object[codes.size()];
+        codes.forEach((value, code) -> dictionary[code] = value);
+
+        ObjectSerializer sr = getSerializer(String.class, ctx);
+        dataOutput.write(bitmap(values));
+        EnumSerializer.writeVarInt(dataOutput, dictionary.length);
+        for (Object value : dictionary) {
+            sr.writeObject(dataOutput, value, ctx);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                EnumSerializer.writeVarInt(dataOutput, indices[i]);
+            }
+        }
+    }
+
+    private static String[] readStrings(DataInput dataInput, int size, OSerializationContext ctx)
+            throws IOException {
+        byte[] nulls = new byte[bitmapSize(size)];
+        dataInput.readFully(nulls);
+
+        ObjectSerializer sr = getSerializer(String.class, ctx);
+        String[] dictionary = new String[EnumSerializer.readVarInt(dataInput)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = (String) sr.getInstance(String.class, dataInput, ctx);
+        }
+
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            if (!isSet(nulls, i)) {
+                int code = EnumSerializer.readVarInt(dataInput);
+                if (code < 0 || code >= dictionary.length) {
+                    throw new InvalidObjectException("Invalid dictionary index: " + code);
+                }
+                values[i] = dictionary[code];
+            }
+        }
+        return values;
+    }
+
+    private static ObjectSerializer getSerializer(Class<?> type, OSerializationContext ctx)
+            throws InvalidClassException {
+        ObjectSerializer sr = ctx.getConfig().forType(type);
+        if (sr == null) {
+            throw new InvalidClassException(type.getName(), "No serializer specified");
+        }
+        return sr;
+    }
+
+    private static Object readPrimitives(ByteBuffer buffer, Class<?> type, byte[] rowNulls, int size) {
+        if (type == int.class) {
+            int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                if (!isSet(rowNulls, i)) values[i] = buffer.getInt();
+            }
+            return values;
+        } else if (type == long.class) {
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                if (!isSet(rowNulls, i)) values[i] = buffer.getLong();
+            }
+            return values;
+        } else if (type == double.class) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                if (!isSet(rowNulls, i)) values[i] = buffer.getDouble();
+            }
+            return values;
+        } else if (type == float.class) {
+            float[] values = new float[size];
+            for (int i = 0; i < size; i++) {
+                if (!isSet(rowNulls, i)) values[i] = buffer.getFloat();
+            }
+            return values;
+        } else if (type == short.class) {
+            short[] values = new short[size];
+            for (int i = 0; i < size; i++) {
+                if (!isSet(rowNulls, i)) values[i] = buffer.getShort();
+            }
+            return values;
+        } else if (type == char.class) {
+            char[] values = new char[size];
+            for (int i = 0; i < size; i++) {
+                if (!isSet(rowNulls, i)) values[i] = buffer.getChar();
+            }
+            return values;
+        } else if (type == byte.class) {
+            byte[] values = new byte[size];
+            for (int i = 0; i < size; i++) {
+                if (!isSet(rowNulls, i)) values[i] = buffer.get();
+            }
+            return values;
+        }
+        boolean[] values = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            if (!isSet(rowNulls, i)) values[i] = buffer.get() != 0;
+        }
+        return values;
+    }
+
+    private static byte[] bitmap(Object[] values) {
+        byte[] nulls = new byte[bitmapSize(values.length)];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                nulls[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        return nulls;
+    }
+
+    private static int countPresent(byte[] nulls, int size) {
+        int present = 0;
+        for (int i = 0; i < size; i++) {
+            if (!isSet(nulls, i)) {
+                present++;
+            }
+        }
+        return present;
+    }
+
+    private static int bitmapSize(int length) {
+        return (length + 7) >> 3;
+    }
+
+    private static boolean isSet(byte[] bits, int index) {
+        return (bits[index >> 3] & (1 << (index & 7))) != 0;
+    }
+}
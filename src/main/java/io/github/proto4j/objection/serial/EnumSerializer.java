@@ -0,0 +1,482 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicObjectSerializer;
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.ObjectSerializer;
+import io.github.proto4j.objection.annotation.EnumId;
+import io.github.proto4j.objection.model.OField;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * A utility class containing the serializers for enum constants and the
+ * specialized enum collections {@link EnumSet} and {@link EnumMap}.
+ * <p>
+ * Enum constants are written as an unsigned variable-length integer that
+ * holds either the ordinal of the constant or, if the constants of the enum
+ * are annotated with {@link EnumId}, the stable id of the constant. Both
+ * values will be called the <i>code</i> of a constant below.
+ * <pre>
+ * enum:     | code:varint |
+ * EnumSet:  | type_len | type | width:varint | bits[(width + 7) / 8] |
+ * EnumMap:  | type_len | type | value_len | value_type | width:varint |
+ *           | keys[(width + 7) / 8] | nulls[(width + 7) / 8] | values... |
+ * </pre>
+ * The {@code width} is the highest code of the enum plus one, so that bit
+ * {@code i} of the bitmaps belongs to the constant with code {@code i}. The
+ * {@code nulls} bitmap marks present keys that are mapped to {@code null}
+ * and the remaining values follow in code order.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
+public class EnumSerializer {
+
+    private static final ClassValue<EnumInfo> ENUMS = new ClassValue<>() {
+        @Override
+        protected EnumInfo computeValue(Class<?> type) {
+            return new EnumInfo(type);
+        }
+    };
+
+    public static class ConstantSerializer extends BasicObjectSerializer {
+
+        @Override
+        public boolean accept(Class<?> type) {
+            return getEnumType(type) != null;
+        }
+
+        @Override
+        public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx)
+                throws IOException {
+            Enum<?> constant = (Enum<?>) writableObject;
+            writeVarInt(dataOutput, getInfo(constant.getDeclaringClass()).codeOf(constant));
+        }
+
+        /**
+         * Reads the code of an enum constant and returns the matching constant
+         * of the given type, or {@code null} if there is no such constant.
+         */
+        @Override
+        public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
+            return getInfo(getEnumType(type)).valueOf(readVarInt(dataInput));
+        }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) {
+            Enum<?> constant = (Enum<?>) writableObject;
+            return sizeOfVarInt(getInfo(constant.getDeclaringClass()).codeOf(constant));
+        }
+    }
+
+    public static class EnumSetSerializer extends BasicObjectSerializer {
+
+        @Override
+        public boolean accept(Class<?> type) {
+            return EnumSet.class.isAssignableFrom(type);
+        }
+
+        @Override
+        public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx)
+                throws IOException {
+            EnumSet<?> set = (EnumSet<?>) writableObject;
+            Class<?> type = getElementType(set, ctx);
+            SequenceSerializer.writeElementType(dataOutput, type, ctx);
+            if (type == null) {
+                writeVarInt(dataOutput, 0);
+                return;
+            }
+
+            EnumInfo info = getInfo(type);
+            writeVarInt(dataOutput, info.width);
+            dataOutput.write(info.bitmap(set));
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
+            Class<?> enumType = readKeyType(dataInput, EnumSet.class, ctx);
+            byte[] bits = new byte[bitmapSize(readVarInt(dataInput))];
+            dataInput.readFully(bits);
+
+            EnumSet set = EnumSet.noneOf((Class) enumType);
+            EnumInfo info = getInfo(enumType);
+            for (int code = 0; code < bits.length << 3; code++) {
+                Enum<?> constant = isSet(bits, code) ? info.valueOf(code) : null;
+                if (constant != null) {
+                    set.add(constant);
+                }
+            }
+            return set;
+        }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) {
+            Class<?> type = getElementType((EnumSet<?>) writableObject, ctx);
+            if (type == null) {
+                return 2;
+            }
+            int width = getInfo(type).width;
+            return sizeOfType(type) + sizeOfVarInt(width) + bitmapSize(width);
+        }
+
+        private static Class<?> getElementType(EnumSet<?> set, OSerializationContext ctx) {
+            // The complement contains all constants of the enum, so that the
+            // type of empty sets can be resolved as well.
+            Iterator<?> values = (set.isEmpty() ? EnumSet.complementOf(set) : set).iterator();
+            if (values.hasNext()) {
+                return ((Enum<?>) values.next()).getDeclaringClass();
+            }
+            return getTypeArgument(ctx, EnumSet.class);
+        }
+    }
+
+    public static class EnumMapSerializer extends BasicObjectSerializer {
+
+        @Override
+        public boolean accept(Class<?> type) {
+            return EnumMap.class.isAssignableFrom(type);
+        }
+
+        @Override
+        public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx)
+                throws IOException {
+            EnumMap<?, ?> map = (EnumMap<?, ?>) writableObject;
+            Class<?> keyType = getKeyType(map, ctx);
+            Class<?> valueType = SequenceSerializer.getElementType(map.values());
+            SequenceSerializer.writeElementType(dataOutput, keyType, ctx);
+            SequenceSerializer.writeElementType(dataOutput, valueType, ctx);
+            if (keyType == null) {
+                writeVarInt(dataOutput, 0);
+                return;
+            }
+
+            EnumInfo info = getInfo(keyType);
+            writeVarInt(dataOutput, info.width);
+            dataOutput.write(info.bitmap(map.keySet()));
+
+            Object[] values = info.values(map);
+            byte[] nulls = new byte[bitmapSize(info.width)];
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getValue() == null) {
+                    int code = info.codeOf((Enum<?>) entry.getKey());
+                    nulls[code >> 3] |= (byte) (1 << (code & 7));
+                }
+            }
+            dataOutput.write(nulls);
+
+            if (valueType != null) {
+                ObjectSerializer sr = getValueSerializer(valueType, ctx);
+                OSerializationContext valueCtx = valueContext(ctx);
+                for (Object value : values) {
+                    if (value != null) {
+                        sr.writeObject(dataOutput, value, valueCtx);
+                    }
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
+            Class<?> keyType = readKeyType(dataInput, EnumMap.class, ctx);
+            Class<?> valueType = SequenceSerializer.readElementType(dataInput, ctx);
+            int size = bitmapSize(readVarInt(dataInput));
+            byte[] keys = new byte[size];
+            byte[] nulls = new byte[size];
+            dataInput.readFully(keys);
+            dataInput.readFully(nulls);
+
+            EnumMap map = new EnumMap(keyType);
+            EnumInfo info = getInfo(keyType);
+            ObjectSerializer sr = valueType != null ? getValueSerializer(valueType, ctx) : null;
+            OSerializationContext valueCtx = valueContext(ctx);
+            for (int code = 0; code < size << 3; code++) {
+                if (!isSet(keys, code)) {
+                    continue;
+                }
+
+                Object value = isSet(nulls, code) ? null
+                        : SequenceSerializer.readValue(sr, valueType, dataInput, valueCtx);
+                // values of unknown constants are read nonetheless to keep
+                // the stream position in sync
+                Enum<?> key = info.valueOf(code);
+                if (key != null) {
+                    map.put(key, value);
+                }
+            }
+            return map;
+        }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) throws IOException {
+            EnumMap<?, ?> map = (EnumMap<?, ?>) writableObject;
+            Class<?> keyType = getKeyType(map, ctx);
+            Class<?> valueType = SequenceSerializer.getElementType(map.values());
+            long size = sizeOfType(keyType) + sizeOfType(valueType);
+            if (keyType == null) {
+                return size + 1;
+            }
+
+            int width = getInfo(keyType).width;
+            size += sizeOfVarInt(width) + 2L * bitmapSize(width);
+            if (valueType != null) {
+                ObjectSerializer sr = getValueSerializer(valueType, ctx);
+                OSerializationContext valueCtx = valueContext(ctx);
+                for (Object value : map.values()) {
+                    if (value != null) {
+                        size += sr.sizeOf(value, valueCtx);
+                    }
+                }
+            }
+            return size;
+        }
+
+        private static Class<?> getKeyType(EnumMap<?, ?> map, OSerializationContext ctx) {
+            if (!map.isEmpty()) {
+                return ((Enum<?>) map.keySet().iterator().next()).getDeclaringClass();
+            }
+            return getTypeArgument(ctx, EnumMap.class);
+        }
+
+        private static ObjectSerializer getValueSerializer(Class<?> valueType, OSerializationContext ctx)
+                throws IOException {
+            ObjectSerializer sr = ctx.getConfig().forType(valueType);
+            if (sr == null) {
+                throw new InvalidClassException(valueType.getName(), "No serializer for EnumMap values");
+            }
+            return sr;
+        }
+
+        private static OSerializationContext valueContext(OSerializationContext ctx) {
+            // nested values must not resolve their types from the enclosing field
+            if (ctx.getReference() == null) {
+                return ctx;
+            }
+            return new BasicSerializationContext(ctx.getClassInfo(), null, ctx.getConfig());
+        }
+    }
+
+    /**
+     * Returns the enum class of the given type, which may also be the
+     * anonymous subclass of a constant with a body.
+     *
+     * @param type the type to inspect
+     * @return the enum class or {@code null} if the type is not an enum
+     */
+    static Class<?> getEnumType(Class<?> type) {
+        if (type.isEnum()) {
+            return type;
+        }
+        Class<?> parent = type.getSuperclass();
+        return parent != null && parent.isEnum() ? parent : null;
+    }
+
+    static EnumInfo getInfo(Class<?> enumType) {
+        return ENUMS.get(enumType);
+    }
+
+    static void writeVarInt(DataOutput dataOutput, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            dataOutput.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        dataOutput.writeByte(value);
+    }
+
+    static int readVarInt(DataInput dataInput) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = dataInput.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new InvalidObjectException("Malformed variable-length integer");
+    }
+
+    static int sizeOfVarInt(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int sizeOfType(Class<?> type) {
+        return type == null ? 1 : 1 + type.getName().length();
+    }
+
+    private static int bitmapSize(int width) {
+        return (width + 7) >> 3;
+    }
+
+    private static boolean isSet(byte[] bits, int index) {
+        return (bits[index >> 3] & (1 << (index & 7))) != 0;
+    }
+
+    private static Class<?> readKeyType(DataInput dataInput, Class<?> declaredType, OSerializationContext ctx)
+            throws IOException {
+        Class<?> type = SequenceSerializer.readElementType(dataInput, ctx);
+        if (type == null) {
+            type = getTypeArgument(ctx, declaredType);
+        }
+        if (type == null || getEnumType(type) == null) {
+            throw new InvalidClassException("Could not resolve the enum type");
+        }
+        return getEnumType(type);
+    }
+
+    /**
+     * Returns the first type argument of the field that is currently processed
+     * if its declared type is a subtype of the given class. This is used to
+     * resolve the enum type of empty collections.
+     */
+    private static Class<?> getTypeArgument(OSerializationContext ctx, Class<?> declaredType) {
+        OField reference = ctx.getReference();
+        Field field = reference != null ? reference.getLinkedField() : null;
+        if (field == null || !declaredType.isAssignableFrom(field.getType())) {
+            return null;
+        }
+
+        Type generic = field.getGenericType();
+        if (generic instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) generic).getActualTypeArguments()[0];
+            if (argument instanceof Class && getEnumType((Class<?>) argument) != null) {
+                return (Class<?>) argument;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cached lookup tables of a single enum class.
+     */
+    static final class EnumInfo {
+
+        // codes by ordinal, null if the ordinal is the code
+        private final int[] codes;
+        // constants by code
+        private final Enum<?>[] byCode;
+        final int width;
+
+        EnumInfo(Class<?> type) {
+            Object[] values = type.getEnumConstants();
+            Enum<?>[] constants = new Enum<?>[values.length];
+            for (int i = 0; i < values.length; i++) {
+                constants[i] = (Enum<?>) values[i];
+            }
+            codes = readIds(type, constants);
+            if (codes == null) {
+                byCode = constants;
+                width = constants.length;
+                return;
+            }
+
+            int max = -1;
+            for (int code : codes) {
+                max = Math.max(max, code);
+            }
+            width = max + 1;
+            byCode = new Enum<?>[width];
+            for (Enum<?> constant : constants) {
+                int code = codes[constant.ordinal()];
+                if (byCode[code] != null) {
+                    throw new IllegalArgumentException("Duplicate @EnumId(" + code + ") in " + type.getName());
+                }
+                byCode[code] = constant;
+            }
+        }
+
+        int codeOf(Enum<?> constant) {
+            return codes == null ? constant.ordinal() : codes[constant.ordinal()];
+        }
+
+        Enum<?> valueOf(int code) {
+            return code >= 0 && code < byCode.length ? byCode[code] : null;
+        }
+
+        byte[] bitmap(Collection<?> values) {
+            byte[] bits = new byte[bitmapSize(width)];
+            for (Object value : values) {
+                int code = codeOf((Enum<?>) value);
+                bits[code >> 3] |= (byte) (1 << (code & 7));
+            }
+            return bits;
+        }
+
+        Object[] values(EnumMap<?, ?> map) {
+            Object[] values = new Object[width];
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                values[codeOf((Enum<?>) entry.getKey())] = entry.getValue();
+            }
+            return values;
+        }
+
+        private static int[] readIds(Class<?> type, Enum<?>[] constants) {
+            int[] ids = null;
+            for (Enum<?> constant : constants) {
+                EnumId id;
+                try {
+                    id = type.getDeclaredField(constant.name()).getAnnotation(EnumId.class);
+                } catch (NoSuchFieldException e) {
+                    id = null;
+                }
+
+                if (id == null) {
+                    if (ids != null) {
+                        throw new IllegalArgumentException("Missing @EnumId on " + type.getName() + "." + constant);
+                    }
+                    continue;
+                }
+                if (ids == null) {
+                    if (constant.ordinal() != 0) {
+                        throw new IllegalArgumentException("Missing @EnumId on " + type.getName() + "."
+                                + constants[0]);
+                    }
+                    ids = new int[constants.length];
+                }
+                if (id.value() < 0) {
+                    throw new IllegalArgumentException("Negative @EnumId on " + type.getName() + "." + constant);
+                }
+                ids[constant.ordinal()] = id.value();
+            }
+            return ids;
+        }
+    }
+}
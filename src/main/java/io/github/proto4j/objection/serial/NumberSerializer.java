@@ -57,6 +57,16 @@ public class NumberSerializer {
         public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
             return dataInput.readLong();
         }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public int getFixedSize(Class<?> type) {
+            return Long.BYTES;
+        }
     }
 
     public static class IntegerSerializer extends BasicObjectSerializer {
@@ -76,6 +86,16 @@ public class NumberSerializer {
         public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
             return dataInput.readInt();
         }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public int getFixedSize(Class<?> type) {
+            return Integer.BYTES;
+        }
     }
 
     public static class ShortSerializer extends BasicObjectSerializer {
@@ -95,6 +115,16 @@ public class NumberSerializer {
         public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
             return dataInput.readShort();
         }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) {
+            return Short.BYTES;
+        }
+
+        @Override
+        public int getFixedSize(Class<?> type) {
+            return Short.BYTES;
+        }
     }
 
     public static class ByteSerializer extends BasicObjectSerializer {
@@ -114,6 +144,16 @@ public class NumberSerializer {
         public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
             return dataInput.readByte();
         }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) {
+            return Byte.BYTES;
+        }
+
+        @Override
+        public int getFixedSize(Class<?> type) {
+            return Byte.BYTES;
+        }
     }
 
     public static class CharacterSerializer extends BasicObjectSerializer {
@@ -133,6 +173,16 @@ public class NumberSerializer {
         public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
             return dataInput.readChar();
         }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) {
+            return Character.BYTES;
+        }
+
+        @Override
+        public int getFixedSize(Class<?> type) {
+            return Character.BYTES;
+        }
     }
 
     public static class DoubleSerializer extends BasicObjectSerializer {
@@ -152,6 +202,16 @@ public class NumberSerializer {
         public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
             return dataInput.readDouble();
         }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public int getFixedSize(Class<?> type) {
+            return Double.BYTES;
+        }
     }
 
     public static class FloatSerializer extends BasicObjectSerializer {
@@ -171,5 +231,15 @@ public class NumberSerializer {
         public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
             return dataInput.readFloat();
         }
+
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) {
+            return Float.BYTES;
+        }
+
+        @Override
+        public int getFixedSize(Class<?> type) {
+            return Float.BYTES;
+        }
     }
 }
@@ -28,13 +28,19 @@ import io.github.proto4j.objection.BasicObjectSerializer;
 import io.github.proto4j.objection.BasicSerializationContext;
 import io.github.proto4j.objection.OSerializationContext;
 import io.github.proto4j.objection.ObjectSerializer;
+import io.github.proto4j.objection.internal.ScratchOutput;
 import io.github.proto4j.objection.model.OClass;
 import io.github.proto4j.objection.model.OField;
+import io.github.proto4j.objection.model.OSchema;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InvalidClassException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A small wrapper for reading and writing {@link OClass} objects into a binary
@@ -46,12 +52,36 @@ import java.io.InvalidClassException;
  */
 public class OClassSerializer extends BasicObjectSerializer {
 
+    // Sizes and plans are derived from the schema of a class, so they are
+    // stored with the class and rebuilt once its schema was evicted.
+    private final ClassValue<AtomicReference<SchemaCache>> caches = new ClassValue<>() {
+        @Override
+        protected AtomicReference<SchemaCache> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx) throws IOException {
-        OClass<?> classInfo = (OClass<?>) writableObject;
+        if (dataOutput instanceof ScratchOutput) {
+            write((ScratchOutput) dataOutput, (OClass<?>) writableObject, ctx);
+            return;
+        }
+        // Field values are written behind their length, which is patched
+        // in place, so the whole object is copied to the output only once.
+        ScratchOutput scratch = ScratchOutput.acquire();
+        try {
+            write(scratch, (OClass<?>) writableObject, ctx);
+            scratch.copyTo(dataOutput);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private void write(ScratchOutput dataOutput, OClass<?> classInfo, OSerializationContext ctx) throws IOException {
         byte[] name = classInfo.getBufferedName();
         dataOutput.writeByte(classInfo.getVersion());
         dataOutput.writeByte(name.length);
@@ -63,12 +93,114 @@ public class OClassSerializer extends BasicObjectSerializer {
         if (fsr == null) {
             throw new NullPointerException("Could not serialize OField.class");
         }
+        ctx.getConfig().addType(classInfo.getType());
         OField[] fields = classInfo.getDeclaredFields();
         dataOutput.writeInt(fields.length);
 
+        // Fields without a value are only marked in the null bitmap and by
+        // their name, so that readers of other schemas can resolve them.
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = fields[i].getValue();
+        }
+        dataOutput.write(getNullBitmap(values));
+        for (int i = 0; i < fields.length; i++) {
+            if (values[i] == null) {
+                String fieldName = fields[i].getName();
+                dataOutput.writeByte((byte) fieldName.length());
+                dataOutput.writeBytes(fieldName);
+            }
+        }
+
+        for (int i = 0; i < fields.length; i++) {
+            if (values[i] != null) {
+                fsr.writeObject(dataOutput, fields[i], ctx);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long sizeOf(Object writableObject, OSerializationContext ctx) throws IOException {
+        OClass<?> classInfo = (OClass<?>) writableObject;
+        int fixedSize = getFixedSize(classInfo, ctx);
+        if (fixedSize != -1) {
+            return fixedSize;
+        }
+
+        ObjectSerializer fsr = ctx.getConfig().forType(OField.class);
+        if (fsr == null) {
+            throw new NullPointerException("Could not serialize OField.class");
+        }
+        OField[] fields = classInfo.getDeclaredFields();
+        long size = getHeaderSize(classInfo) + getNullBitmapSize(fields.length);
         for (OField field : fields) {
-            fsr.writeObject(dataOutput, field, ctx);
+            if (field.getValue() != null) {
+                size += fsr.sizeOf(field, ctx);
+            } else {
+                size += 1 + field.getName().length();
+            }
         }
+        return size;
+    }
+
+    /**
+     * Returns the cached encoded length of the given class if all of its fields
+     * have a constant size.
+     *
+     * @param classInfo the class wrapper
+     * @param ctx the current serialization context
+     * @return the constant encoded length or {@code -1} if the length depends
+     *         on the field values.
+     */
+    public int getFixedSize(OClass<?> classInfo, OSerializationContext ctx) {
+        SchemaCache cache = getCache(classInfo);
+        int size = cache.fixedSize;
+        if (size == SchemaCache.UNKNOWN_SIZE) {
+            size = computeFixedSize(classInfo, ctx);
+            cache.fixedSize = size;
+        }
+        return size;
+    }
+
+    private int computeFixedSize(OClass<?> classInfo, OSerializationContext ctx) {
+        OField[] fields = classInfo.getDeclaredFields();
+        long size = getHeaderSize(classInfo) + getNullBitmapSize(fields.length);
+        for (OField field : fields) {
+            Class<?> type = field.getLinkedFieldType();
+            if (!type.isPrimitive()) {
+                // the value may be null, which would change the size
+                return -1;
+            }
+            ObjectSerializer sr = ctx.getConfig().forType(type);
+            int valueSize = sr != null ? sr.getFixedSize(type) : -1;
+            if (valueSize == -1) {
+                return -1;
+            }
+            size += 3 + field.getName().length() + Integer.BYTES + valueSize;
+        }
+        return size > Integer.MAX_VALUE ? -1 : (int) size;
+    }
+
+    private static byte[] getNullBitmap(Object[] values) {
+        byte[] nulls = new byte[getNullBitmapSize(values.length)];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                nulls[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        return nulls;
+    }
+
+    private static int getNullBitmapSize(int fieldCount) {
+        return (fieldCount + 7) >> 3;
+    }
+
+    private static long getHeaderSize(OClass<?> classInfo) {
+        // version, name_len, name, modifiers, id and field_count
+        return 2 + classInfo.getBufferedName().length + 3 * Integer.BYTES;
     }
 
     /**
@@ -100,7 +232,7 @@ public class OClassSerializer extends BasicObjectSerializer {
         int mod = dataInput.readInt();
         int id = dataInput.readInt();
         OClass<?> oClass = OClass.klass(linkedType, ctx.getConfig());
-        if (oClass.getModifiers() != mod || oClass.getClassId() != id) {
+        if (oClass.getModifiers() != mod) {
             throw new InvalidClassException("Invalid loaded class: Checksum mismatch");
         }
 
@@ -108,12 +240,76 @@ public class OClassSerializer extends BasicObjectSerializer {
         ObjectSerializer serializer = ctx.getConfig().forType(OField.class);
 
         int field_count = dataInput.readInt();
+        byte[] nulls = new byte[getNullBitmapSize(field_count)];
+        dataInput.readFully(nulls);
+
+        SchemaPlan plan = getPlan(oClass, id, version, field_count);
+        OField[] fields = oClass.getDeclaredFields();
         for (int i = 0; i < field_count; i++) {
-            serializer.getInstance(OField.class, dataInput, classCtx);
+            if (isNull(nulls, i)) {
+                byte[] nullName = new byte[dataInput.readUnsignedByte()];
+                dataInput.readFully(nullName);
+                OField field = plan.isUnknown()
+                        ? oClass.getDeclaredField(new String(nullName, StandardCharsets.UTF_8))
+                        : fields[plan.readerIndex(i)];
+                if (field != null && !field.getLinkedFieldType().isPrimitive()) {
+                    field.setValue(null);
+                }
+            }
+        }
+
+        // fields of known schemas are assigned by position, unless a custom
+        // field serializer is used
+        OFieldSerializer planned = serializer instanceof OFieldSerializer && !plan.isUnknown()
+                ? (OFieldSerializer) serializer
+                : null;
+        for (int i = 0; i < field_count; i++) {
+            if (isNull(nulls, i)) {
+                continue;
+            }
+            if (planned != null) {
+                planned.readPlanned(fields[plan.readerIndex(i)], dataInput, classCtx);
+            } else {
+                serializer.getInstance(OField.class, dataInput, classCtx);
+            }
         }
         return oClass;
     }
 
+    private static boolean isNull(byte[] nulls, int position) {
+        return (nulls[position >> 3] & (1 << (position & 7))) != 0;
+    }
+
+    private SchemaPlan getPlan(OClass<?> oClass, int fingerprint, byte version, int fieldCount) {
+        ConcurrentMap<Long, SchemaPlan> plans = getCache(oClass).plans;
+        long key = ((long) version << 32) | (fingerprint & 0xFFFFFFFFL);
+        SchemaPlan plan = plans.get(key);
+        if (plan == null) {
+            plan = SchemaPlan.compile(oClass, fingerprint, version, fieldCount);
+            // Only plans of known schemas are cached, because the key is
+            // read from the stream and could take any value otherwise.
+            if (!plan.isUnknown()) {
+                plans.putIfAbsent(key, plan);
+            }
+        }
+        return plan;
+    }
+
+    private SchemaCache getCache(OClass<?> classInfo) {
+        OSchema schema = classInfo.getSchema();
+        AtomicReference<SchemaCache> ref = caches.get(classInfo.getType());
+        while (true) {
+            SchemaCache cache = ref.get();
+            if (cache != null && cache.schema == schema) {
+                return cache;
+            }
+            SchemaCache created = new SchemaCache(schema);
+            if (ref.compareAndSet(cache, created)) {
+                return created;
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -121,4 +317,19 @@ public class OClassSerializer extends BasicObjectSerializer {
     public boolean accept(Class<?> type) {
         return type == OClass.class;
     }
+
+    /**
+     * Data that was derived from a single {@link OSchema}.
+     */
+    private static final class SchemaCache {
+        static final int UNKNOWN_SIZE = -2;
+
+        final OSchema schema;
+        final ConcurrentMap<Long, SchemaPlan> plans = new ConcurrentHashMap<>();
+        volatile int fixedSize = UNKNOWN_SIZE;
+
+        SchemaCache(OSchema schema) {
+            this.schema = schema;
+        }
+    }
 }
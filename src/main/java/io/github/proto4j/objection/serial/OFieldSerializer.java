@@ -25,15 +25,19 @@
 package io.github.proto4j.objection.serial; //@date 25.08.2022
 
 import io.github.proto4j.objection.BasicObjectSerializer;
+import io.github.proto4j.objection.BasicSerializationContext;
 import io.github.proto4j.objection.OSerializationContext;
 import io.github.proto4j.objection.ObjectSerializer;
+import io.github.proto4j.objection.internal.ScratchOutput;
+import io.github.proto4j.objection.model.OClass;
 import io.github.proto4j.objection.model.OField;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.io.InvalidObjectException;
 import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.EnumSet;
 
 /**
  * A small wrapper for reading and writing {@link OField} objects into a binary
@@ -66,11 +70,73 @@ public class OFieldSerializer extends BasicObjectSerializer {
         dataOutput.writeByte((byte) name.length());
         dataOutput.writeBytes(name);
 
-        Object value = reference.getValue();
-        ObjectSerializer sr = ctx.getConfig().forType(value.getClass());
+        Object value = getWritableValue(reference, ctx);
+        ObjectSerializer sr = value != null ? getSerializer(reference, value, ctx) : null;
+        if (sr == null) {
+            dataOutput.writeInt(0);
+            return;
+        }
+        OSerializationContext valueCtx = new BasicSerializationContext(ctx.getClassInfo(), reference, ctx.getConfig());
+        if (dataOutput instanceof ScratchOutput) {
+            writeValue((ScratchOutput) dataOutput, sr, value, valueCtx);
+            return;
+        }
+        ScratchOutput scratch = ScratchOutput.acquire();
+        try {
+            writeValue(scratch, sr, value, valueCtx);
+            scratch.copyTo(dataOutput);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    private static void writeValue(ScratchOutput dataOutput, ObjectSerializer sr, Object value,
+                                   OSerializationContext ctx) throws IOException {
+        // The length is only known after the value was written, so it is
+        // patched afterwards instead of computing the size in advance.
+        int mark = dataOutput.reserveLength();
+        sr.writeObject(dataOutput, value, ctx);
+        dataOutput.patchLength(mark);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long sizeOf(Object writableObject, OSerializationContext ctx) throws IOException {
+        OField reference = (OField) writableObject;
+        long size = 3 + reference.getName().length() + Integer.BYTES;
+
+        Object value = getWritableValue(reference, ctx);
+        if (value == null) {
+            return size;
+        }
+        ObjectSerializer sr = getSerializer(reference, value, ctx);
         if (sr != null) {
-            sr.writeObject(dataOutput, value, ctx);
+            size += sr.sizeOf(value, new BasicSerializationContext(ctx.getClassInfo(), reference, ctx.getConfig()));
+        }
+        return size;
+    }
+
+    private static ObjectSerializer getSerializer(OField reference, Object value, OSerializationContext ctx) {
+        Class<?> declaredType = reference.getLinkedFieldType();
+        if ((value instanceof EnumSet && !EnumSet.class.isAssignableFrom(declaredType))
+                || (value instanceof EnumMap && !EnumMap.class.isAssignableFrom(declaredType))) {
+            // The reader only knows the declared type, so enum collections in
+            // plain Set or Map fields are written as regular sequences.
+            return ctx.getConfig().forType(declaredType);
+        }
+        return ctx.getConfig().forType(value.getClass());
+    }
+
+    private static Object getWritableValue(OField reference, OSerializationContext ctx) {
+        Object value = reference.getValue();
+        if (value != null && reference.getLinkedFieldType() == OClass.class) {
+            // Nested types without a dedicated serializer are wrapped into
+            // their own OClass instance.
+            return OClass.klass(value, ctx.getConfig());
         }
+        return value;
     }
 
     /**
@@ -89,26 +155,57 @@ public class OFieldSerializer extends BasicObjectSerializer {
             name[i] = dataInput.readByte();
         }
 
-        OField field;
-        try {
-            field = ctx.getClassInfo().getDeclaredField(new String(name, StandardCharsets.UTF_8));
-            if (field == null) {
-                throw new NullPointerException("Field not declared");
-            }
-            if (version != field.getVersion() || ftype != field.getFieldType()) {
-                throw new InvalidObjectException("Field version of type does not match");
-            }
-        } finally {
-            for (int i = 0; i < name_len; i++) {
-                name[i] = 0;
-            }
+        int length = dataInput.readInt();
+        OField field = ctx.getClassInfo().getDeclaredField(new String(name, StandardCharsets.UTF_8));
+        for (int i = 0; i < name_len; i++) {
+            name[i] = 0;
+        }
+
+        // Fields that were removed or changed in an incompatible way are
+        // skipped and keep their default value.
+        if (field == null || version != field.getVersion() || ftype != field.getFieldType()) {
+            skipFully(dataInput, length);
+            return null;
         }
 
+        return readValue(field, length, dataInput, ctx) ? field : null;
+    }
+
+    /**
+     * Reads a field whose position in the writer schema was resolved by a
+     * {@link SchemaPlan}. Its name, type and version are covered by the
+     * schema fingerprint, so they are skipped instead of being checked.
+     */
+    void readPlanned(OField field, DataInput dataInput, OSerializationContext ctx) throws IOException {
+        // type and version
+        dataInput.readShort();
+        skipFully(dataInput, dataInput.readUnsignedByte());
+        int length = dataInput.readInt();
+        readValue(field, length, dataInput, ctx);
+    }
+
+    private static boolean readValue(OField field, int length, DataInput dataInput, OSerializationContext ctx)
+            throws IOException {
         ObjectSerializer sr = ctx.getConfig().forType(field.getLinkedFieldType());
-        if (sr != null) {
-            field.setValue(sr.getInstance(field.getLinkedFieldType(), dataInput, ctx));
+        if (sr == null) {
+            skipFully(dataInput, length);
+            return false;
         }
-        return field;
+        OSerializationContext valueCtx = new BasicSerializationContext(ctx.getClassInfo(), field, ctx.getConfig());
+        field.setValue(sr.getInstance(field.getLinkedFieldType(), dataInput, valueCtx));
+        return true;
     }
 
+    static void skipFully(DataInput dataInput, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = dataInput.skipBytes(remaining);
+            if (skipped <= 0) {
+                // skipBytes may stop early without reaching the end
+                dataInput.readByte();
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
 }
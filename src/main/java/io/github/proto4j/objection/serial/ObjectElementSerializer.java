@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicObjectSerializer;
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.ObjectSerializer;
+import io.github.proto4j.objection.model.OClass;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidClassException;
+
+/**
+ * Writes sequence elements without a dedicated serializer as complete
+ * {@link OClass} frames. Every element carries its own type, so sequences may
+ * mix subclasses of their element type.
+ */
+final class ObjectElementSerializer extends BasicObjectSerializer {
+
+    static final ObjectElementSerializer INSTANCE = new ObjectElementSerializer();
+
+    private ObjectElementSerializer() {
+    }
+
+    @Override
+    public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx) throws IOException {
+        OClass<?> classInfo = OClass.klass(writableObject, ctx.getConfig());
+        getSerializer(ctx).writeObject(dataOutput, classInfo,
+                new BasicSerializationContext(classInfo, null, ctx.getConfig()));
+    }
+
+    @Override
+    public long sizeOf(Object writableObject, OSerializationContext ctx) throws IOException {
+        OClass<?> classInfo = OClass.klass(writableObject, ctx.getConfig());
+        return getSerializer(ctx).sizeOf(classInfo, new BasicSerializationContext(classInfo, null, ctx.getConfig()));
+    }
+
+    @Override
+    public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
+        // the element type is taken from the first element, so other
+        // elements may have any type
+        OClass<?> classInfo = (OClass<?>) getSerializer(ctx).getInstance(OClass.class, dataInput, ctx);
+        return classInfo.newInstance();
+    }
+
+    private static ObjectSerializer getSerializer(OSerializationContext ctx) throws InvalidClassException {
+        ObjectSerializer sr = ctx.getConfig().forType(OClass.class);
+        if (sr == null) {
+            throw new InvalidClassException("No OClass serializer specified");
+        }
+        return sr;
+    }
+}
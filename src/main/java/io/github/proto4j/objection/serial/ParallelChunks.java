@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+import io.github.proto4j.objection.ParallelOptions;
+
+import java.io.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Encodes and decodes ranges of a sequence in parallel. Each chunk is written
+ * into its own buffer and the buffers are copied to the target stream in
+ * order, each behind its length. Only a bounded window of chunks is encoded
+ * ahead of the one being written. See {@link ParallelOptions} for the binary
+ * format.
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
+final class ParallelChunks {
+
+    // chunks are read in steps, so that a corrupted length fails with an
+    // EOFException instead of a huge allocation
+    private static final int READ_STEP = 1 << 16;
+
+    private ParallelChunks() {}
+
+    @FunctionalInterface
+    interface RangeWriter {
+        void write(DataOutput dataOutput, int from, int to) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface RangeReader {
+        void read(DataInput dataInput, int from, int to) throws IOException;
+    }
+
+    /**
+     * @return the amount of bytes the chunk header and the chunk lengths of a
+     *         sequence with the given length occupy.
+     */
+    static long indexSize(int length, ParallelOptions options) {
+        return 2L * Integer.BYTES + (long) Integer.BYTES * chunkCount(length, options.getChunkSize());
+    }
+
+    static void write(DataOutput dataOutput, int length, ParallelOptions options, RangeWriter writer)
+            throws IOException {
+        int chunkSize = options.getChunkSize();
+        int count = chunkCount(length, chunkSize);
+        ForkJoinPool pool = options.getExecutor();
+        int window = Math.max(2, 2 * pool.getParallelism());
+
+        dataOutput.writeInt(chunkSize);
+        dataOutput.writeInt(count);
+        Deque<ForkJoinTask<byte[]>> tasks = new ArrayDeque<>(Math.min(count, window));
+        int submitted = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                while (submitted < count && submitted < i + window) {
+                    int from = submitted++ * chunkSize;
+                    int to = (int) Math.min(length, (long) from + chunkSize);
+                    tasks.add(pool.submit(() -> {
+                        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                        writer.write(new DataOutputStream(buffer), from, to);
+                        return buffer.toByteArray();
+                    }));
+                }
+                byte[] chunk = join(tasks.poll());
+                dataOutput.writeInt(chunk.length);
+                dataOutput.write(chunk);
+            }
+        } finally {
+            // only non-empty if writing failed
+            for (ForkJoinTask<byte[]> task : tasks) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    static void read(DataInput dataInput, int length, ParallelOptions options, RangeReader reader)
+            throws IOException {
+        int chunkSize = dataInput.readInt();
+        int count = dataInput.readInt();
+        checkIndex(length, chunkSize, count);
+
+        ForkJoinPool pool = options != null ? options.getExecutor() : ForkJoinPool.commonPool();
+        List<ForkJoinTask<Void>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int from = i * chunkSize;
+            int to = (int) Math.min(length, (long) from + chunkSize);
+            byte[] chunk = readChunk(dataInput, to - from);
+            tasks.add(pool.submit(() -> {
+                reader.read(new DataInputStream(new ByteArrayInputStream(chunk)), from, to);
+                return null;
+            }));
+        }
+        for (ForkJoinTask<Void> task : tasks) {
+            join(task);
+        }
+    }
+
+    /**
+     * Validates the chunk header of a sequence with the given length.
+     */
+    static void checkIndex(int length, int chunkSize, int count) throws StreamCorruptedException {
+        if (length < 0 || chunkSize <= 0 || chunkSize > ParallelOptions.MAX_CHUNK_SIZE
+                || chunkSize % Byte.SIZE != 0 || count != chunkCount(length, chunkSize)) {
+            throw new StreamCorruptedException("Invalid chunk header: length=" + length
+                    + ", chunkSize=" + chunkSize + ", count=" + count);
+        }
+    }
+
+    /**
+     * Reads the length of the next chunk, which holds the given amount of
+     * elements and therefore at least their null bitmaps.
+     */
+    static int readChunkLength(DataInput dataInput, int elements) throws IOException {
+        int size = dataInput.readInt();
+        if (size < (elements + Byte.SIZE - 1) / Byte.SIZE) {
+            throw new StreamCorruptedException("Invalid chunk length: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Reads the next chunk, which holds the given amount of elements.
+     */
+    static byte[] readChunk(DataInput dataInput, int elements) throws IOException {
+        int size = readChunkLength(dataInput, elements);
+        byte[] chunk = new byte[Math.min(size, READ_STEP)];
+        int position = 0;
+        while (position < size) {
+            if (position == chunk.length) {
+                chunk = Arrays.copyOf(chunk, (int) Math.min(size, 2L * chunk.length));
+            }
+            dataInput.readFully(chunk, position, chunk.length - position);
+            position = chunk.length;
+        }
+        return chunk;
+    }
+
+    static int chunkCount(int length, int chunkSize) {
+        return (int) (((long) length + chunkSize - 1) / chunkSize);
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for chunk");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+import io.github.proto4j.objection.model.OClass;
+import io.github.proto4j.objection.model.OField;
+
+/**
+ * Maps the field positions of a writer schema to the fields of the reader's
+ * {@link OClass}. Plans are compiled once for each pair of writer and reader
+ * schema, so that fields of known schemas are read by position without
+ * looking up their name or checking their type and version again:
+ * <ul>
+ *     <li>If the fingerprints are equal, positions map to themselves.</li>
+ *     <li>If the writer uses an older class version and its fingerprint
+ *     matches the reader fields visible in that version, the positions are
+ *     mapped onto these fields. Fields added in later versions keep their
+ *     default values.</li>
+ *     <li>Otherwise, the writer schema is unknown. Fields and {@code null}
+ *     values are resolved by their name. Plans of unknown schemas are not
+ *     cached, since their fingerprint may take any value.</li>
+ * </ul>
+ *
+ * @author MatrixEditor
+ * @version 0.2.0
+ */
+final class SchemaPlan {
+
+    private static final SchemaPlan UNKNOWN = new SchemaPlan(null);
+
+    private final int[] positions;
+
+    private SchemaPlan(int[] positions) {
+        this.positions = positions;
+    }
+
+    static SchemaPlan compile(OClass<?> reader, int fingerprint, byte version, int fieldCount) {
+        OField[] fields = reader.getDeclaredFields();
+
+        if (fingerprint == reader.getClassId() && fieldCount == fields.length) {
+            int[] positions = new int[fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                positions[i] = i;
+            }
+            return new SchemaPlan(positions);
+        }
+
+        if (version < reader.getVersion() && reader.getFingerprint(version) == fingerprint) {
+            int[] positions = new int[fieldCount];
+            int position = 0;
+            for (int i = 0; i < fields.length && position < fieldCount; i++) {
+                if (fields[i].getVersion() <= version) {
+                    positions[position++] = i;
+                }
+            }
+            if (position == fieldCount) {
+                return new SchemaPlan(positions);
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * @return true, if fields have to be resolved by their name
+     */
+    boolean isUnknown() {
+        return positions == null;
+    }
+
+    /**
+     * @param position the field position in the writer schema
+     * @return the index of the matching reader field or {@code -1} if there
+     *         is no such field
+     */
+    int readerIndex(int position) {
+        return positions != null && position < positions.length ? positions[position] : -1;
+    }
+}
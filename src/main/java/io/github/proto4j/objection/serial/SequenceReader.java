@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.ObjectSerializer;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static io.github.proto4j.objection.serial.SequenceSerializer.*;
+
+/**
+ * Decodes the elements of an encoded sequence one at a time. All layouts
+ * written by the {@link SequenceSerializer.CollectionSerializer} and by a
+ * {@link SequenceWriter} are supported. Only the current null bitmap is kept in
+ * memory, so sequences of any length can be processed. The only exception are
+ * sequences in {@link SequenceSerializer#LAYOUT_COLUMNAR columnar layout}:
+ * their columns are read up front and the elements are created on demand.
+ * <p>
+ * Elements are read lazily from the underlying input, which therefore must not
+ * be used while iterating. {@link IOException}s are wrapped into
+ * {@link UncheckedIOException}s.
+ *
+ * @param <E> the element type
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see SequenceWriter
+ */
+public final class SequenceReader<E> implements Iterator<E> {
+
+    private final DataInput dataInput;
+    private final Class<?> type;
+    private final ObjectSerializer sr;
+    private final int layout;
+    private final long length;
+    private final OSerializationContext ctx;
+    // only set for the columnar layout
+    private final ColumnBatch batch;
+    // only set for the chunked layout
+    private int chunkSize;
+    private long chunkPending;
+
+    private int blockRemaining;
+    private int groupRemaining;
+    private int groupIndex;
+    private int nulls;
+    private boolean finished;
+
+    /**
+     * Reads the sequence header from the given input.
+     *
+     * @param dataInput the source
+     * @param config the configuration used to resolve the element serializer
+     * @throws IOException if an I/O error occurs or the header is invalid
+     */
+    public SequenceReader(DataInput dataInput, OSharedConfiguration config) throws IOException {
+        this.dataInput = dataInput;
+        this.ctx = new BasicSerializationContext(null, null, config);
+        this.type = readElementType(dataInput, ctx);
+        this.sr = elementSerializer(type, ctx);
+        this.layout = dataInput.readUnsignedByte();
+
+        if (layout == LAYOUT_BLOCKS) {
+            this.length = -1;
+            this.batch = null;
+        } else {
+            int length = dataInput.readInt();
+            this.batch = layout == LAYOUT_COLUMNAR ? readBatch(dataInput, type, length, ctx) : null;
+            this.length = length;
+            if (layout == LAYOUT_CHUNKED) {
+                // The chunks are stored one after another, so they are
+                // decoded like blocks of the chunk size
+                this.chunkSize = dataInput.readInt();
+                ParallelChunks.checkIndex(length, chunkSize, dataInput.readInt());
+                this.chunkPending = length;
+            } else if (layout == LAYOUT_SEQUENTIAL || layout == LAYOUT_COLUMNAR) {
+                this.blockRemaining = length;
+            } else {
+                throw new InvalidObjectException("Unknown sequence layout: " + layout);
+            }
+        }
+    }
+
+    SequenceReader(DataInput dataInput, Class<?> type, ObjectSerializer sr, int layout, long length,
+                   OSerializationContext ctx) {
+        this.dataInput = dataInput;
+        this.type = type;
+        this.sr = sr;
+        this.layout = layout;
+        this.length = length;
+        this.blockRemaining = layout == LAYOUT_BLOCKS ? 0 : (int) length;
+        this.ctx = ctx;
+        this.batch = null;
+    }
+
+    private SequenceReader(ColumnBatch batch, OSerializationContext ctx) {
+        this.dataInput = null;
+        this.type = batch.getType();
+        this.sr = null;
+        this.layout = LAYOUT_COLUMNAR;
+        this.length = batch.size();
+        this.blockRemaining = batch.size();
+        this.ctx = ctx;
+        this.batch = batch;
+    }
+
+    /**
+     * Creates a {@link Spliterator} that decodes the elements of the sequence
+     * stored in the given input on demand. The spliterator reports
+     * {@link Spliterator#SIZED} if the amount of elements is stored in the
+     * sequence header. Sequences that were written in parallel chunks (see
+     * {@link io.github.proto4j.objection.ParallelOptions}) can be split at
+     * chunk boundaries, so that each chunk is decoded by a different thread.
+     *
+     * @param dataInput the source
+     * @param config the configuration used to resolve the element serializer
+     * @param <E> the element type
+     * @return a spliterator over all elements of the sequence
+     * @throws IOException if an I/O error occurs or the header is invalid
+     */
+    public static <E> Spliterator<E> spliterator(DataInput dataInput, OSharedConfiguration config)
+            throws IOException {
+        OSerializationContext ctx = new BasicSerializationContext(null, null, config);
+        Class<?> type = readElementType(dataInput, ctx);
+        ObjectSerializer sr = elementSerializer(type, ctx);
+        int layout = dataInput.readUnsignedByte();
+
+        switch (layout) {
+            case LAYOUT_BLOCKS:
+                return Spliterators.spliteratorUnknownSize(
+                        new SequenceReader<>(dataInput, type, sr, layout, -1, ctx), Spliterator.ORDERED);
+
+            case LAYOUT_SEQUENTIAL:
+                int length = dataInput.readInt();
+                return Spliterators.spliterator(
+                        new SequenceReader<>(dataInput, type, sr, layout, length, ctx), length, Spliterator.ORDERED);
+
+            case LAYOUT_CHUNKED:
+                return new ChunkedSpliterator<>(dataInput, type, sr, ctx);
+
+            case LAYOUT_COLUMNAR:
+                ColumnBatch batch = readBatch(dataInput, type, dataInput.readInt(), ctx);
+                return Spliterators.spliterator(new SequenceReader<>(batch, ctx), batch.size(), Spliterator.ORDERED);
+
+            default:
+                throw new InvalidObjectException("Unknown sequence layout: " + layout);
+        }
+    }
+
+    /**
+     * Creates a lazy {@link Stream} over the elements of the sequence stored
+     * in the given input.
+     *
+     * @param dataInput the source
+     * @param config the configuration used to resolve the element serializer
+     * @param parallel whether the returned stream should be parallel
+     * @param <E> the element type
+     * @return a stream over all elements of the sequence
+     * @throws IOException if an I/O error occurs or the header is invalid
+     * @see #spliterator(DataInput, OSharedConfiguration)
+     */
+    public static <E> Stream<E> stream(DataInput dataInput, OSharedConfiguration config, boolean parallel)
+            throws IOException {
+        return StreamSupport.stream(SequenceReader.<E>spliterator(dataInput, config), parallel);
+    }
+
+    /**
+     * @return the element type of the sequence or {@code null} if it contains
+     *         only {@code null} values.
+     */
+    public Class<?> getElementType() {
+        return type;
+    }
+
+    /**
+     * @return the amount of elements or {@code -1} if the sequence was written
+     *         in blocks.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return hasMore();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public E next() {
+        try {
+            return readNext();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    boolean hasMore() throws IOException {
+        if (blockRemaining > 0) {
+            return true;
+        }
+        if (chunkPending > 0) {
+            blockRemaining = (int) Math.min(chunkSize, chunkPending);
+            ParallelChunks.readChunkLength(dataInput, blockRemaining);
+            chunkPending -= blockRemaining;
+            groupRemaining = 0;
+            return true;
+        }
+        if (finished || layout != LAYOUT_BLOCKS) {
+            finished = true;
+            return false;
+        }
+
+        int count = dataInput.readInt();
+        if (count < 0) {
+            throw new InvalidObjectException("Invalid block length: " + count);
+        }
+        finished = count == 0;
+        blockRemaining = count;
+        groupRemaining = 0;
+        return !finished;
+    }
+
+    int remaining() {
+        return blockRemaining;
+    }
+
+    @SuppressWarnings("unchecked")
+    E readNext() throws IOException {
+        if (!hasMore()) {
+            throw new NoSuchElementException();
+        }
+        if (batch != null) {
+            return (E) batch.get(batch.size() - blockRemaining--);
+        }
+        if (groupRemaining == 0) {
+            nulls = dataInput.readUnsignedByte();
+            groupRemaining = Math.min(CHUNK_SIZE, blockRemaining);
+            groupIndex = 0;
+        }
+
+        Object value = isNull(nulls, groupIndex) ? null : readValue(sr, type, dataInput, ctx);
+        groupIndex++;
+        groupRemaining--;
+        blockRemaining--;
+        return (E) value;
+    }
+
+    private static ColumnBatch readBatch(DataInput dataInput, Class<?> type, int length, OSerializationContext ctx)
+            throws IOException {
+        if (type == null) {
+            throw new InvalidObjectException("Columnar sequence without type information");
+        }
+        return ColumnBatch.readRows(dataInput, type, length, ctx);
+    }
+}
@@ -26,33 +26,81 @@ package io.github.proto4j.objection.serial; //@date 26.08.2022
 
 import io.github.proto4j.objection.BasicObjectSerializer;
 import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
 import io.github.proto4j.objection.ObjectSerializer;
+import io.github.proto4j.objection.ParallelOptions;
+import io.github.proto4j.objection.internal.CountingDataOutput;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
-import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * A utility class containing all sequence serializers. The types that can be
  * serialized are: Arrays (one dimension), {@link Map}s and {@link Collection}s
+ * <p>
+ * All sequences that may contain {@code null} values store them in chunks of
+ * {@link #CHUNK_SIZE} elements. Each chunk is preceded by a bitmap byte, where
+ * bit {@code i} is set if the element at {@code i} within the chunk is
+ * {@code null}. Such elements are not written at all.
  *
  * @author MatrixEditor
  * @version 0.2.0
  */
 public class SequenceSerializer {
 
+    /**
+     * The amount of elements that are covered by a single null bitmap byte.
+     */
+    public static final int CHUNK_SIZE = Byte.SIZE;
+
+    /**
+     * Layout of sequences that store all elements one after another.
+     */
+    public static final int LAYOUT_SEQUENTIAL = 0;
+
+    /**
+     * Layout of sequences that were split into independently encoded chunks.
+     *
+     * @see ParallelOptions
+     */
+    public static final int LAYOUT_CHUNKED = 1;
+
+    /**
+     * Layout of sequences with an unknown length that are written in
+     * count-prefixed blocks.
+     *
+     * @see SequenceWriter
+     */
+    public static final int LAYOUT_BLOCKS = 2;
+
+    /**
+     * Layout of collections with elements that have no dedicated serializer,
+     * which are stored column by column.
+     *
+     * @see ColumnBatch
+     */
+    public static final int LAYOUT_COLUMNAR = 3;
+
     /**
      * <pre>
-     * ┌────────────────────────────────────────────────────────┐
-     * │ Array                                                  │
-     * ├──────────────────┬───────────────┬─────────────────────┤
-     * │ dimensions: byte │ dim0_len: int │ dim0_values: byte[] │
-     * └──────────────────┴───────────────┴─────────────────────┘
+     * ┌───────────────────────────────────────────────────────────────────────┐
+     * │ Array                                                                 │
+     * ├──────────────────┬──────────────┬───────────────┬─────────────────────┤
+     * │ dimensions: byte │ layout: byte │ dim0_len: int │ dim0_values: byte[] │
+     * └──────────────────┴──────────────┴───────────────┴─────────────────────┘
      * </pre>
+     * Values of arrays with a non-primitive component type are written in
+     * chunks with a leading null bitmap. If the layout is
+     * {@link #LAYOUT_CHUNKED}, the values are split into length-prefixed
+     * chunks as described in {@link ParallelOptions}.
      */
     public static class ArraySerializer extends BasicObjectSerializer {
 
@@ -73,14 +121,17 @@ public class SequenceSerializer {
                 throw new UnsupportedOperationException("Not implemented!");
             }
 
+            int layout = dataInput.readUnsignedByte();
             ObjectSerializer sr = ctx.getConfig().forType(componentType);
 
-            Object values = Array.newInstance(componentType, dataInput.readInt());
-            int length = Array.getLength(values);
-            for (int i = 0; i < length; i++) {
-                Array.set(values, i, sr.getInstance(componentType, dataInput, ctx));
+            int length = dataInput.readInt();
+            Object values = Array.newInstance(componentType, length);
+            if (layout == LAYOUT_CHUNKED) {
+                ParallelChunks.read(dataInput, length, ctx.getConfig().getParallelOptions(),
+                        (input, from, to) -> readRange(input, values, from, to, sr, ctx));
+            } else {
+                readRange(dataInput, values, 0, length, sr, ctx);
             }
-
             return values;
         }
 
@@ -88,29 +139,89 @@ public class SequenceSerializer {
         public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx) throws IOException {
             ObjectSerializer sr = ctx.getConfig().forType(componentType);
             int length = Array.getLength(writableObject);
+            ParallelOptions options = ctx.getConfig().getParallelOptions();
+            boolean parallel = options != null && options.isParallel(length);
+
+            dataOutput.writeByte(1);
+            dataOutput.writeByte(parallel ? LAYOUT_CHUNKED : LAYOUT_SEQUENTIAL);
             dataOutput.writeInt(length);
+            if (parallel) {
+                ParallelChunks.write(dataOutput, length, options,
+                        (output, from, to) -> writeRange(output, writableObject, from, to, sr, ctx));
+            } else {
+                writeRange(dataOutput, writableObject, 0, length, sr, ctx);
+            }
+        }
 
-            for (int i = 0; i < length; i++) {
-                sr.writeObject(dataOutput, Array.get(writableObject, i), ctx);
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) throws IOException {
+            ObjectSerializer sr = ctx.getConfig().forType(componentType);
+            int length = Array.getLength(writableObject);
+            long size = 2 + Integer.BYTES + sizeOfIndex(length, ctx);
+
+            int fixedSize = sr.getFixedSize(componentType);
+            if (componentType.isPrimitive()) {
+                return size + (long) fixedSize * length;
             }
+            return size + sizeOfChunks((Object[]) writableObject, length, sr, fixedSize, ctx);
         }
 
         @Override
         public boolean accept(Class<?> type) {
-            return componentType.isAssignableFrom(type);
+            return type.isArray() && type.getComponentType() == componentType;
+        }
+
+        private void writeRange(DataOutput dataOutput, Object values, int from, int to, ObjectSerializer sr,
+                                OSerializationContext ctx) throws IOException {
+            if (componentType.isPrimitive()) {
+                for (int i = from; i < to; i++) {
+                    sr.writeObject(dataOutput, Array.get(values, i), ctx);
+                }
+            } else {
+                writeChunks(dataOutput, (Object[]) values, from, to, sr, ctx);
+            }
+        }
+
+        private void readRange(DataInput dataInput, Object values, int from, int to, ObjectSerializer sr,
+                               OSerializationContext ctx) throws IOException {
+            if (componentType.isPrimitive()) {
+                for (int i = from; i < to; i++) {
+                    Array.set(values, i, sr.getInstance(componentType, dataInput, ctx));
+                }
+            } else {
+                readChunks(dataInput, (Object[]) values, from, to, sr, componentType, ctx);
+            }
         }
     }
 
     /**
      * <pre>
-     * ┌──────────────────────────────────────────┐
-     * │ List                                     │
-     * ├────────────────┬──────────────┬──────────┤
-     * │ type_len: byte │ type: byte[] │ len: int │
-     * ├────────────────┴──────────────┴──────────┤
-     * │ v1 v2 ...                                │
-     * └──────────────────────────────────────────┘
+     * ┌─────────────────────────────────────────────────────────┐
+     * │ List                                                    │
+     * ├────────────────┬──────────────┬──────────────┬──────────┤
+     * │ type_len: byte │ type: byte[] │ layout: byte │ len: int │
+     * ├────────────────┴──┬───────────┴──────────────┴──────────┤
+     * │ null_bitmap: byte │ v1 v2 ... v8                        │
+     * ├───────────────────┴─────────────────────────────────────┤
+     * │ ...                                                     │
+     * └─────────────────────────────────────────────────────────┘
      * </pre>
+     * The element type is taken from the first non-null element. If the
+     * collection is empty or contains only {@code null} values, the type
+     * length will be zero. If the layout is {@link #LAYOUT_CHUNKED}, the
+     * values are split into length-prefixed chunks as described in
+     * {@link ParallelOptions}.
+     * <p>
+     * Sequences written with the {@link #LAYOUT_BLOCKS} layout have no length
+     * field. Their values are stored in blocks that start with the amount of
+     * elements as {@code int} and use the chunk format shown above. A block
+     * with zero elements terminates the sequence. See {@link SequenceWriter}
+     * for details.
+     * <p>
+     * Collections of objects without a dedicated serializer are written with
+     * the {@link #LAYOUT_COLUMNAR} layout if all non-null elements are of the
+     * same type. The length is then followed by a {@link ColumnBatch}.
+     * Otherwise, every element is written as a complete object.
      */
     public static class CollectionSerializer extends BasicObjectSerializer {
 
@@ -122,67 +233,113 @@ public class SequenceSerializer {
         @Override
         public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx) throws IOException {
             Collection<?> collection = (Collection<?>) writableObject;
-            Object[] values = collection.toArray();
-
-            if (values.length != 0) {
-                Class<?> c = values[0].getClass();
+            int size = collection.size();
+
+            Class<?> c = getElementType(collection);
+            writeElementType(dataOutput, c, ctx);
+            ObjectSerializer sr = c != null ? ctx.getConfig().forType(c) : null;
+            if (c != null && sr == null) {
+                Object[] values = collection.toArray();
+                if (ColumnBatch.isUniform(values, c)) {
+                    dataOutput.writeByte(LAYOUT_COLUMNAR);
+                    dataOutput.writeInt(values.length);
+                    ColumnBatch.write(dataOutput, values, c, ctx);
+                    return;
+                }
+                sr = ObjectElementSerializer.INSTANCE;
+            }
+            ObjectSerializer elements = sr;
 
-                byte[] name = c.getName().getBytes();
-                dataOutput.writeByte(name.length);
-                dataOutput.write(name);
+            ParallelOptions options = ctx.getConfig().getParallelOptions();
+            if (options != null && options.isParallel(size)) {
+                // chunks are encoded concurrently, so random access is required
+                Object[] values = collection.toArray();
+                dataOutput.writeByte(LAYOUT_CHUNKED);
                 dataOutput.writeInt(values.length);
+                ParallelChunks.write(dataOutput, values.length, options,
+                        (output, from, to) -> writeChunks(output, values, from, to, elements, ctx));
+                return;
+            }
 
-                ObjectSerializer sr = ctx.getConfig().forType(c);
-                for (Object o : values) {
-                    sr.writeObject(dataOutput, o, ctx);
-                }
-            } else {
-                dataOutput.writeByte(0);
+            dataOutput.writeByte(LAYOUT_SEQUENTIAL);
+            dataOutput.writeInt(size);
+            ValueWriter writer = new ValueWriter(dataOutput, elements, ctx);
+            for (Object value : collection) {
+                writer.write(value);
+            }
+            writer.flush();
+            if (writer.count != size) {
+                throw new IOException("Collection was modified while being serialized");
             }
         }
 
         @Override
-        public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
-            byte len = dataInput.readByte();
-            byte[] name = new byte[len];
-            Collection<Object> collection;
-            Class<?> componentType = null;
-
-            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
-                if (List.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type)) {
-                    type = ArrayList.class;
-                } else if (Set.class.isAssignableFrom(type)) {
-                    type = HashSet.class;
-                } else if (Queue.class.isAssignableFrom(type)) {
-                    type = ArrayDeque.class;
-                }
+        public long sizeOf(Object writableObject, OSerializationContext ctx) throws IOException {
+            Collection<?> collection = (Collection<?>) writableObject;
+            int size = collection.size();
+            long result = 2 + Integer.BYTES + sizeOfIndex(size, ctx) + chunkCount(size);
+
+            Class<?> c = getElementType(collection);
+            if (c == null) {
+                return result;
             }
 
-            try {
-                for (int i = 0; i < len; i++) {
-                    name[i] = dataInput.readByte();
+            ObjectSerializer sr = ctx.getConfig().forType(c);
+            if (sr == null) {
+                Object[] values = collection.toArray();
+                if (!ColumnBatch.isUniform(values, c)) {
+                    return result + c.getName().getBytes().length
+                            + sizeOfValues(values, ObjectElementSerializer.INSTANCE, -1, ctx);
                 }
-
-                if (len > 0) {
-                    componentType = Class.forName(new String(name));
+                // the columns are only known after encoding them
+                CountingDataOutput counting = CountingDataOutput.nullOutput();
+                ColumnBatch.write(counting, values, c, ctx);
+                return 2 + Integer.BYTES + c.getName().getBytes().length + counting.getCount();
+            }
+            int fixedSize = sr.getFixedSize(c);
+            result += c.getName().getBytes().length;
+            for (Object value : collection) {
+                if (value != null) {
+                    result += fixedSize != -1 ? fixedSize : sr.sizeOf(value, ctx);
                 }
-                //noinspection unchecked
-                collection = (Collection<Object>) type.getDeclaredConstructor().newInstance();
-            } catch (ReflectiveOperationException e) {
-                throw new InvalidClassException(e.getMessage());
-
-            } finally {
-                for (int i = 0; i < len; i++) {
-                    name[i] = 0;
+            }
+            return result;
+        }
+
+        @Override
+        public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
+            Class<?> componentType = readElementType(dataInput, ctx);
+            ObjectSerializer sr = elementSerializer(componentType, ctx);
+
+            int layout = dataInput.readUnsignedByte();
+            if (layout == LAYOUT_BLOCKS || layout == LAYOUT_SEQUENTIAL) {
+                // elements are added as they are decoded
+                int length = layout == LAYOUT_BLOCKS ? -1 : dataInput.readInt();
+                Collection<Object> collection = CollectionFactories.newCollection(type, Math.max(length, 0));
+                SequenceReader<Object> reader = new SequenceReader<>(dataInput, componentType, sr, layout, length, ctx);
+                while (reader.hasMore()) {
+                    collection.add(reader.readNext());
                 }
+                return collection;
             }
-            if (len > 0) {
-                int length = dataInput.readInt();
-                ObjectSerializer sr = ctx.getConfig().forType(componentType);
-                for (int i = 0; i < length; i++) {
-                    collection.add(sr.getInstance(componentType, dataInput, ctx));
+
+            int length = dataInput.readInt();
+            Collection<Object> collection = CollectionFactories.newCollection(type, length);
+            if (layout == LAYOUT_COLUMNAR) {
+                if (componentType == null) {
+                    throw new InvalidObjectException("Columnar sequence without type information");
                 }
+                ColumnBatch.readRows(dataInput, componentType, length, ctx).addTo(collection);
+                return collection;
+            }
+            if (layout != LAYOUT_CHUNKED) {
+                throw new InvalidObjectException("Unknown sequence layout: " + layout);
             }
+            // chunks may be decoded concurrently, so they need a shared array
+            Object[] values = new Object[length];
+            ParallelChunks.read(dataInput, length, ctx.getConfig().getParallelOptions(),
+                    (input, from, to) -> readChunks(input, values, from, to, sr, componentType, ctx));
+            collection.addAll(Arrays.asList(values));
             return collection;
         }
     }
@@ -194,9 +351,18 @@ public class SequenceSerializer {
      * ├───────────────┬──────────────────┬─────────────────┤
      * │ key_len: byte │ key_type: byte[] │ value_len: byte │
      * ├───────────────┴────┬─────────────┼─────────────────┤
-     * │ value_type: byte[] │ amount: int │ k1 v1 k2 v2 ... │
-     * └────────────────────┴─────────────┴─────────────────┘
+     * │ value_type: byte[] │ amount: int │                 │
+     * ├────────────────────┴─┬───────────┴───────┬─────────┤
+     * │ key_null_bitmap: byte │ value_null_bitmap: byte    │
+     * ├───────────────────────┴────────────────────────────┤
+     * │ k1 v1 k2 v2 ... k8 v8                              │
+     * ├────────────────────────────────────────────────────┤
+     * │ ...                                                │
+     * └────────────────────────────────────────────────────┘
      * </pre>
+     * Key and value types are taken from the first non-null key and value. A
+     * type length of zero indicates that only {@code null} keys or values are
+     * present.
      */
     public static class KeyValueSerializer extends BasicObjectSerializer {
 
@@ -209,10 +375,6 @@ public class SequenceSerializer {
         public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx) throws IOException {
             Map<?, ?> map = (Map<?, ?>) writableObject;
             int size = map.size();
-            Class<?> keyType;
-            Class<?> valueType;
-            byte[] name = new byte[0];
-            int nameLength = 0;
 
             if (size == 0) {
                 dataOutput.writeByte(0);
@@ -220,92 +382,391 @@ public class SequenceSerializer {
                 dataOutput.writeInt(0);
                 return;
             }
-            try {
-                Object[] keys = map.keySet().toArray();
-                Object[] values = map.values().toArray();
-
-                keyType = keys[0].getClass();
-                valueType = values[0].getClass();
-
-                name = keyType.getName().getBytes();
-                nameLength = name.length;
-                dataOutput.writeByte(nameLength);
-                dataOutput.write(name);
-
-                name = valueType.getName().getBytes();
-                nameLength = name.length;
-                dataOutput.writeByte(nameLength);
-                dataOutput.write(name);
-
-                dataOutput.writeInt(size);
-                ObjectSerializer srK = ctx.getConfig().forType(keyType);
-                ObjectSerializer srV = ctx.getConfig().forType(valueType);
-                if (srK == null || srV == null) {
-                    throw new IllegalArgumentException("Key or Value type can not be serialized!");
-                }
+            Class<?>[] types = getEntryTypes(map);
+            Class<?> keyType = types[0];
+            Class<?> valueType = types[1];
+            writeElementType(dataOutput, keyType, ctx);
+            writeElementType(dataOutput, valueType, ctx);
+
+            dataOutput.writeInt(size);
+            ObjectSerializer srK = keyType != null ? ctx.getConfig().forType(keyType) : null;
+            ObjectSerializer srV = valueType != null ? ctx.getConfig().forType(valueType) : null;
+            if ((keyType != null && srK == null) || (valueType != null && srV == null)) {
+                throw new IllegalArgumentException("Key or Value type can not be serialized!");
+            }
 
-                for (int i = 0; i < size; i++) {
-                    srK.writeObject(dataOutput, keys[i], ctx);
-                    srV.writeObject(dataOutput, values[i], ctx);
-                }
-            } finally {
-                for (int i = 0; i < nameLength; i++) {
-                    name[i] = 0;
-                }
+            EntryWriter writer = new EntryWriter(dataOutput, srK, srV, ctx);
+            forEachEntry(map, writer);
+            writer.flush();
+            if (writer.count != size) {
+                throw new IOException("Map was modified while being serialized");
             }
         }
 
+        @Override
+        public long sizeOf(Object writableObject, OSerializationContext ctx) throws IOException {
+            Map<?, ?> map = (Map<?, ?>) writableObject;
+            if (map.isEmpty()) {
+                return 2 + Integer.BYTES;
+            }
+
+            Class<?>[] types = getEntryTypes(map);
+            Class<?> keyType = types[0];
+            Class<?> valueType = types[1];
+            ObjectSerializer srK = keyType != null ? ctx.getConfig().forType(keyType) : null;
+            ObjectSerializer srV = valueType != null ? ctx.getConfig().forType(valueType) : null;
+            if ((keyType != null && srK == null) || (valueType != null && srV == null)) {
+                throw new IllegalArgumentException("Key or Value type can not be serialized!");
+            }
+
+            int keySize = keyType != null ? srK.getFixedSize(keyType) : 0;
+            int valueSize = valueType != null ? srV.getFixedSize(valueType) : 0;
+            long size = 2 + Integer.BYTES + 2L * chunkCount(map.size());
+            size += keyType != null ? keyType.getName().getBytes().length : 0;
+            size += valueType != null ? valueType.getName().getBytes().length : 0;
+
+            long[] valuesSize = new long[1];
+            forEachEntry(map, (key, value) -> {
+                try {
+                    if (key != null) {
+                        valuesSize[0] += keySize != -1 ? keySize : srK.sizeOf(key, ctx);
+                    }
+                    if (value != null) {
+                        valuesSize[0] += valueSize != -1 ? valueSize : srV.sizeOf(value, ctx);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return size + valuesSize[0];
+        }
+
         @Override
         public Object getInstance(Class<?> type, DataInput dataInput, OSerializationContext ctx) throws IOException {
-            Map<Object, Object> map;
-            int size;
-            Class<?> keyType;
-            Class<?> valueType;
-            ObjectSerializer srK, srV;
+            Class<?> keyType = readElementType(dataInput, ctx);
+            Class<?> valueType = readElementType(dataInput, ctx);
+
+            int size = dataInput.readInt();
+            Map<Object, Object> map = CollectionFactories.newMap(type, size);
+            if (size == 0) {
+                return map;
+            }
+            ObjectSerializer srK = keyType != null ? ctx.getConfig().forType(keyType) : null;
+            ObjectSerializer srV = valueType != null ? ctx.getConfig().forType(valueType) : null;
 
+            if ((keyType != null && srK == null) || (valueType != null && srV == null)) {
+                throw new IllegalArgumentException("Key or Value type can not be serialized!");
+            }
+            for (int i = 0; i < size; i += CHUNK_SIZE) {
+                int keyNulls = dataInput.readUnsignedByte();
+                int valueNulls = dataInput.readUnsignedByte();
+                int end = Math.min(i + CHUNK_SIZE, size);
+                for (int j = i; j < end; j++) {
+                    Object key = isNull(keyNulls, j - i) ? null : readValue(srK, keyType, dataInput, ctx);
+                    Object value = isNull(valueNulls, j - i) ? null : readValue(srV, valueType, dataInput, ctx);
+                    map.put(key, value);
+                }
+            }
+            return map;
+        }
+
+        /**
+         * Returns the key and value type of the given map, which are taken
+         * from the first non-null key and value. The iteration stops as
+         * soon as both types are known.
+         */
+        private static Class<?>[] getEntryTypes(Map<?, ?> map) {
+            Class<?>[] types = new Class<?>[2];
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (types[0] == null && entry.getKey() != null) {
+                    types[0] = entry.getKey().getClass();
+                }
+                if (types[1] == null && entry.getValue() != null) {
+                    types[1] = entry.getValue().getClass();
+                }
+                if (types[0] != null && types[1] != null) {
+                    break;
+                }
+            }
+            return types;
+        }
+
+        /**
+         * Streams all entries of the given map to the consumer without
+         * creating copies of the key or value set. The in-built map types
+         * provide a {@code forEach} implementation that iterates over their
+         * internal structure without allocating {@link Map.Entry} instances.
+         */
+        private static void forEachEntry(Map<?, ?> map, BiConsumer<Object, Object> consumer) throws IOException {
             try {
-                keyType = getType(dataInput, ctx);
-                valueType = getType(dataInput, ctx);
+                Class<?> type = map.getClass();
+                if (type == HashMap.class || type == LinkedHashMap.class || type == TreeMap.class) {
+                    map.forEach(consumer);
+                } else {
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        consumer.accept(entry.getKey(), entry.getValue());
+                    }
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Buffers up to {@link #CHUNK_SIZE} values and writes them together with
+     * their null bitmap.
+     */
+    private static final class ValueWriter {
+
+        private final DataOutput dataOutput;
+        private final ObjectSerializer sr;
+        private final OSerializationContext ctx;
+
+        private final Object[] values = new Object[CHUNK_SIZE];
+        private int position;
+        private int count;
+
+        ValueWriter(DataOutput dataOutput, ObjectSerializer sr, OSerializationContext ctx) {
+            this.dataOutput = dataOutput;
+            this.sr = sr;
+            this.ctx = ctx;
+        }
+
+        void write(Object value) throws IOException {
+            if (value != null && sr == null) {
+                throw new IOException("Collection was modified while being serialized");
+            }
+            values[position++] = value;
+            if (position == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (position == 0) {
+                return;
+            }
+            writeChunks(dataOutput, values, 0, position, sr, ctx);
+            Arrays.fill(values, 0, position, null);
+            count += position;
+            position = 0;
+        }
+    }
 
-                if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
-                    type = HashMap.class;
+    /**
+     * Buffers up to {@link #CHUNK_SIZE} map entries and writes them together
+     * with their null bitmaps.
+     */
+    private static final class EntryWriter implements BiConsumer<Object, Object> {
+
+        private final DataOutput dataOutput;
+        private final ObjectSerializer srK;
+        private final ObjectSerializer srV;
+        private final OSerializationContext ctx;
+
+        private final Object[] keys = new Object[CHUNK_SIZE];
+        private final Object[] values = new Object[CHUNK_SIZE];
+        private int position;
+        private int count;
+
+        EntryWriter(DataOutput dataOutput, ObjectSerializer srK, ObjectSerializer srV, OSerializationContext ctx) {
+            this.dataOutput = dataOutput;
+            this.srK = srK;
+            this.srV = srV;
+            this.ctx = ctx;
+        }
+
+        @Override
+        public void accept(Object key, Object value) {
+            keys[position] = key;
+            values[position] = value;
+            if (++position == CHUNK_SIZE) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
+            }
+        }
 
-                //noinspection unchecked
-                map = (Map<Object, Object>) type.getDeclaredConstructor().newInstance();
-                size = dataInput.readInt();
-                if (size == 0) {
-                    return map;
+        void flush() throws IOException {
+            if (position == 0) {
+                return;
+            }
+            dataOutput.writeByte(nullBitmap(keys, 0, position));
+            dataOutput.writeByte(nullBitmap(values, 0, position));
+            for (int i = 0; i < position; i++) {
+                if (keys[i] != null) {
+                    srK.writeObject(dataOutput, keys[i], ctx);
+                }
+                if (values[i] != null) {
+                    srV.writeObject(dataOutput, values[i], ctx);
                 }
-                srK = ctx.getConfig().forType(keyType);
-                srV = ctx.getConfig().forType(valueType);
+                keys[i] = null;
+                values[i] = null;
+            }
+            count += position;
+            position = 0;
+        }
+    }
+
+    /**
+     * Returns the type of the first non-null element in the given sequence.
+     *
+     * @param values the sequence values
+     * @return the type of the first non-null value or {@code null} if there
+     *         is no such value.
+     */
+    static Class<?> getElementType(Iterable<?> values) {
+        for (Object value : values) {
+            if (value != null) {
+                return value.getClass();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the name of the given element type and registers the type in the
+     * current configuration, so that it can be resolved when reading.
+     */
+    static void writeElementType(DataOutput dataOutput, Class<?> type, OSerializationContext ctx)
+            throws IOException {
+        if (type == null) {
+            dataOutput.writeByte(0);
+            return;
+        }
+        OSharedConfiguration config = ctx.getConfig();
+        if (!config.isRegistered(type.getName())) {
+            config.addType(type);
+        }
+        byte[] name = type.getName().getBytes();
+        dataOutput.writeByte(name.length);
+        dataOutput.write(name);
+    }
+
+    /**
+     * Reads the name of an element type and resolves it via the current
+     * configuration. Only registered types are accepted, like in the
+     * {@link OClassSerializer}.
+     */
+    static Class<?> readElementType(DataInput dataInput, OSerializationContext ctx) throws IOException {
+        byte len = dataInput.readByte();
+        if (len <= 0) {
+            return null;
+        }
+
+        byte[] name = new byte[len];
+        dataInput.readFully(name);
+        Class<?> type;
+        try {
+            type = ctx.getConfig().forName(name);
+        } catch (ClassNotFoundException e) {
+            type = null;
+        }
+        if (type == null) {
+            throw new InvalidClassException(new String(name, StandardCharsets.UTF_8),
+                    "Unsafe Operation: Class not registered!");
+        }
+        return type;
+    }
+
+    /**
+     * Creates the null bitmap for the elements within the given range. The
+     * range must not be larger than {@link #CHUNK_SIZE}.
+     */
+    static int nullBitmap(Object[] values, int start, int end) {
+        int nulls = 0;
+        for (int i = start; i < end; i++) {
+            if (values[i] == null) {
+                nulls |= 1 << (i - start);
+            }
+        }
+        return nulls;
+    }
 
-                if (srK == null || srV == null) {
-                    throw new IllegalArgumentException("Key or Value type can not be serialized!");
+    static boolean isNull(int nulls, int index) {
+        return (nulls & (1 << index)) != 0;
+    }
+
+    static int chunkCount(int length) {
+        return (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    static void writeChunks(DataOutput dataOutput, Object[] values, int from, int to, ObjectSerializer sr,
+                            OSerializationContext ctx) throws IOException {
+        for (int i = from; i < to; i += CHUNK_SIZE) {
+            int end = Math.min(i + CHUNK_SIZE, to);
+            dataOutput.writeByte(nullBitmap(values, i, end));
+            for (int j = i; j < end; j++) {
+                if (values[j] != null) {
+                    sr.writeObject(dataOutput, values[j], ctx);
                 }
-                for (int i = 0; i < size; i++) {
-                    map.put(srK.getInstance(keyType, dataInput, ctx), srV.getInstance(valueType, dataInput, ctx));
+            }
+        }
+    }
+
+    static void readChunks(DataInput dataInput, Object[] values, int from, int to, ObjectSerializer sr,
+                           Class<?> type, OSerializationContext ctx) throws IOException {
+        for (int i = from; i < to; i += CHUNK_SIZE) {
+            int nulls = dataInput.readUnsignedByte();
+            int end = Math.min(i + CHUNK_SIZE, to);
+            for (int j = i; j < end; j++) {
+                if (!isNull(nulls, j - i)) {
+                    values[j] = readValue(sr, type, dataInput, ctx);
                 }
-            } catch (ReflectiveOperationException e) {
-                throw new RuntimeException(e);
             }
-            return map;
         }
+    }
+
+    /**
+     * Returns the size of the chunk header and lengths written for a sequence
+     * with the given length, or zero if it will be written sequentially.
+     */
+    static long sizeOfIndex(int length, OSerializationContext ctx) {
+        ParallelOptions options = ctx.getConfig().getParallelOptions();
+        if (options == null || !options.isParallel(length)) {
+            return 0;
+        }
+        return ParallelChunks.indexSize(length, options);
+    }
 
-        private Class<?> getType(DataInput dataInput, OSerializationContext ctx)
-                throws IOException, ClassNotFoundException {
-            int nameLength = dataInput.readByte();
-            if (nameLength == 0) return null;
+    static long sizeOfChunks(Object[] values, int length, ObjectSerializer sr, int fixedSize,
+                             OSerializationContext ctx) throws IOException {
+        return chunkCount(length) + sizeOfValues(values, sr, fixedSize, ctx);
+    }
 
-            byte[] name = new byte[nameLength];
-            for (int i = 0; i < nameLength; i++) {
-                name[i] = dataInput.readByte();
+    static long sizeOfValues(Object[] values, ObjectSerializer sr, int fixedSize, OSerializationContext ctx)
+            throws IOException {
+        long size = 0;
+        for (Object value : values) {
+            if (value != null) {
+                size += fixedSize != -1 ? fixedSize : sr.sizeOf(value, ctx);
             }
+        }
+        return size;
+    }
 
-            return Class.forName(new String(name));
+    /**
+     * Returns the serializer of the given element type. Elements without a
+     * dedicated serializer are written as complete objects.
+     */
+    static ObjectSerializer elementSerializer(Class<?> type, OSerializationContext ctx) {
+        if (type == null) {
+            return null;
         }
+        ObjectSerializer sr = ctx.getConfig().forType(type);
+        return sr != null ? sr : ObjectElementSerializer.INSTANCE;
     }
 
+    static Object readValue(ObjectSerializer sr, Class<?> type, DataInput dataInput, OSerializationContext ctx)
+            throws IOException {
+        if (sr == null) {
+            throw new InvalidObjectException("Non-null value without type information");
+        }
+        return sr.getInstance(type, dataInput, ctx);
+    }
 
     @Deprecated
     public static class MultiDimensionArraySerializer extends BasicObjectSerializer {
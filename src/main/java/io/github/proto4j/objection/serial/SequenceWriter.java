@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Proto4j
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.proto4j.objection.serial; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.ObjectSerializer;
+
+import java.io.Closeable;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static io.github.proto4j.objection.serial.SequenceSerializer.*;
+
+/**
+ * Writes a sequence of unknown length with bounded memory. Elements are
+ * buffered until a block is full, which is then written with a leading element
+ * count. Closing the writer appends an empty block as terminator:
+ * <pre>
+ * ┌───────────────────────────────────────────────────────────────┐
+ * │ Block Sequence                                                │
+ * ├────────────────┬──────────────┬───────────────────────────────┤
+ * │ type_len: byte │ type: byte[] │ layout: byte (2)              │
+ * ├────────────────┴──┬───────────┴───────────────────────────────┤
+ * │ count: int        │ null_bitmap: byte │ v1 v2 ... v8 | ...    │
+ * ├───────────────────┴───────────────────────────────────────────┤
+ * │ ...                                                           │
+ * ├───────────────────────────────────────────────────────────────┤
+ * │ count: int (0)                                                │
+ * └───────────────────────────────────────────────────────────────┘
+ * </pre>
+ * Elements without a dedicated serializer are written as complete objects.
+ * The result can be read back with a {@link SequenceReader} or as a field
+ * value of any {@link java.util.Collection} type. For instance, the rows of a
+ * database cursor can be exported without collecting them first:
+ * <pre>
+ *     try (SequenceWriter&lt;String&gt; writer = new SequenceWriter&lt;&gt;(output, String.class, config)) {
+ *         writer.writeAll(cursor);
+ *     }
+ * </pre>
+ *
+ * @param <E> the element type
+ * @author MatrixEditor
+ * @version 0.2.0
+ * @see SequenceReader
+ */
+public final class SequenceWriter<E> implements Closeable {
+
+    /**
+     * The default maximum amount of elements within a single block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final DataOutput dataOutput;
+    private final Class<E> elementType;
+    private final ObjectSerializer sr;
+    private final OSerializationContext ctx;
+
+    private final Object[] block;
+    private int position;
+    private long count;
+    private boolean closed;
+
+    public SequenceWriter(DataOutput dataOutput, Class<E> elementType, OSharedConfiguration config)
+            throws IOException {
+        this(dataOutput, elementType, config, DEFAULT_BLOCK_SIZE);
+    }
+
+    public SequenceWriter(DataOutput dataOutput, Class<E> elementType, OSharedConfiguration config,
+                          int blockSize) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+        this.dataOutput = Objects.requireNonNull(dataOutput);
+        this.elementType = Objects.requireNonNull(elementType);
+        this.ctx = new BasicSerializationContext(null, null, config);
+        this.sr = elementSerializer(elementType, ctx);
+        // blocks should cover whole null bitmaps
+        this.block = new Object[(blockSize + CHUNK_SIZE - 1) & -CHUNK_SIZE];
+
+        writeElementType(dataOutput, elementType, ctx);
+        dataOutput.writeByte(LAYOUT_BLOCKS);
+    }
+
+    /**
+     * Writes all elements of the given iterator, pulling one block of elements
+     * at a time.
+     *
+     * @param dataOutput  the output to write the sequence to
+     * @param elementType the common type of all elements
+     * @param values      the elements to write
+     * @param config      the configuration providing the element serializer
+     * @param <E>         the element type
+     * @return the amount of written elements
+     * @throws IOException if an I/O error occurs
+     */
+    public static <E> long write(DataOutput dataOutput, Class<E> elementType, Iterator<? extends E> values,
+                                 OSharedConfiguration config) throws IOException {
+        try (SequenceWriter<E> writer = new SequenceWriter<>(dataOutput, elementType, config)) {
+            writer.writeAll(values);
+            return writer.getCount();
+        }
+    }
+
+    /**
+     * Adds the given element to the current block. The block is written as
+     * soon as it is full.
+     *
+     * @param value the element (may be {@code null})
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(E value) throws IOException {
+        if (closed) {
+            throw new IOException("Writer already closed");
+        }
+        if (value != null && !elementType.isInstance(value)) {
+            throw new ClassCastException("Expected " + elementType.getName() + ", got " + value.getClass().getName());
+        }
+        block[position++] = value;
+        if (position == block.length) {
+            flush();
+        }
+    }
+
+    public void writeAll(Iterator<? extends E> values) throws IOException {
+        while (values.hasNext()) {
+            write(values.next());
+        }
+    }
+
+    public void writeAll(Iterable<? extends E> values) throws IOException {
+        writeAll(values.iterator());
+    }
+
+    /**
+     * Writes all elements of the given stream in encounter order. The stream
+     * is consumed lazily, so it may be infinite as long as it is
+     * short-circuited somewhere.
+     *
+     * @param values the stream to consume
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeAll(Stream<? extends E> values) throws IOException {
+        writeAll(values.iterator());
+    }
+
+    /**
+     * Writes the current block, even if it is not full.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void flush() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        dataOutput.writeInt(position);
+        writeChunks(dataOutput, block, 0, position, sr, ctx);
+        Arrays.fill(block, 0, position, null);
+        count += position;
+        position = 0;
+    }
+
+    /**
+     * @return the amount of elements that have been written so far
+     */
+    public long getCount() {
+        return count + position;
+    }
+
+    /**
+     * Writes all pending elements and the terminating block. The underlying
+     * output is not closed.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        dataOutput.writeInt(0);
+        closed = true;
+    }
+}
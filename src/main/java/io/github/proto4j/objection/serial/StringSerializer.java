@@ -62,6 +62,14 @@ public class StringSerializer extends BasicObjectSerializer {
         return new String(string, StandardCharsets.UTF_8);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long sizeOf(Object writableObject, OSerializationContext ctx) {
+        return Integer.BYTES + writableObject.toString().length();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -31,9 +31,18 @@ import io.github.proto4j.objection.Marshaller;
  */
 module proto4j.objection {
 
+    requires transitive java.management;
+    requires jdk.jfr;
+    requires jdk.unsupported;
+
     exports io.github.proto4j.objection;
     exports io.github.proto4j.objection.annotation;
+    exports io.github.proto4j.objection.buffer;
+    exports io.github.proto4j.objection.flat;
+    exports io.github.proto4j.objection.log;
     exports io.github.proto4j.objection.model;
+    exports io.github.proto4j.objection.net;
+    exports io.github.proto4j.objection.metrics;
     exports io.github.proto4j.objection.serial;
 
     provides Marshaller with BasicMarshaller;
@@ -0,0 +1,35 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.model.OSchema;
+import io.github.proto4j.test.objection.model.Primitives;
+import io.github.proto4j.test.objection.model.Token;
+
+import java.util.Arrays;
+
+//! Model class: .model.Primitives, .model.Token
+public class CacheTest {
+
+    public static void main(String[] args) {
+        OSchema schema = OSchema.of(Primitives.class);
+        assert OSchema.of(Primitives.class) == schema : "Schema not cached";
+        assert OSchema.getCached(Primitives.class) == schema;
+
+        // 1. Evict a single type
+        OSchema.of(Token.class);
+        OSchema.evict(Primitives.class);
+        assert OSchema.getCached(Primitives.class) == null : "Schema not evicted";
+        assert OSchema.getCached(Token.class) != null : "Wrong schema evicted";
+
+        OSchema rebuilt = OSchema.of(Primitives.class);
+        assert rebuilt != schema;
+        assert rebuilt.getFingerprint() == schema.getFingerprint() : "Fingerprint changed";
+
+        // 2. Invalidate all types
+        OSchema.clear();
+        assert OSchema.getCached(Primitives.class) == null;
+        assert OSchema.getCached(Token.class) == null;
+        assert OSchema.precompute(Arrays.asList(Primitives.class, Token.class)) == 2;
+        assert OSchema.precompute(Arrays.asList(Primitives.class, Token.class)) == 0;
+        assert OSchema.getCached(Token.class) != null;
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.serial.ColumnBatch;
+import io.github.proto4j.objection.serial.SequenceReader;
+import io.github.proto4j.objection.serial.SequenceSerializer;
+import io.github.proto4j.test.objection.model.Fleet;
+import io.github.proto4j.test.objection.model.Route;
+import io.github.proto4j.test.objection.model.Vehicle;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+//! Model class: .model.Fleet, .model.Vehicle, .model.Route
+public class ColumnarTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        List<Vehicle> vehicles = new ArrayList<>();
+        long rowSize = 0;
+        for (int i = 0; i < 500; i++) {
+            Vehicle v = new Vehicle();
+            v.id = "V-" + i; v.model = i % 2 == 0 ? "Transit" : "Sprinter"; v.route = "R" + (i % 5);
+            v.seats = 9; v.passengers = i % 9; v.odometer = 1000L * i; v.speed = i / 10.0;
+            v.lane = (char) ('A' + i % 3);
+            v.position = i % 7 == 0 ? null : new Vehicle.Position(52 + i / 1000.0, 13);
+            vehicles.add(v);
+            rowSize += Objection.<Vehicle>createMarshaller(config).computeSize(v);
+        }
+        vehicles.add(null);
+
+        // 1. Round trip of a list of objects within a class
+        Fleet fleet = new Fleet("north", vehicles);
+        Marshaller<Fleet> marshaller = Objection.createMarshaller(config);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.marshall(fleet, Objection.createDataOutput(out));
+        assert out.size() == marshaller.computeSize(fleet) : "Wrong size";
+        assert out.size() < rowSize / 3 : "Columns too large: " + out.size() + " / " + rowSize;
+
+        DataInput input = Objection.createDataInput(new ByteArrayInputStream(out.toByteArray()));
+        assert fleet.equals(marshaller.unmarshall(input, config).newInstance()) : "Not equal";
+
+        // 2. Column views without creating the elements
+        OSerializationContext ctx = new BasicSerializationContext(null, null, config);
+        out.reset();
+        new SequenceSerializer.CollectionSerializer().writeObject(Objection.createDataOutput(out), vehicles, ctx);
+
+        input = Objection.createDataInput(new ByteArrayInputStream(out.toByteArray()));
+        ColumnBatch batch = ColumnBatch.read(input, ctx);
+        assert batch.size() == 501 && batch.isNull(500);
+        long[] odometer = (long[]) batch.getColumn("odometer");
+        String[] models = (String[]) batch.getColumn("model");
+        assert odometer[42] == 42_000 && "Transit".equals(models[42]);
+
+        ColumnBatch positions = (ColumnBatch) batch.getColumn("position");
+        assert positions.isNull(0) && !positions.isNull(1);
+        assert vehicles.get(3).equals(batch.get(3)) : "Row not equal";
+
+        // 3. Lazy streaming of a columnar sequence
+        input = Objection.createDataInput(new ByteArrayInputStream(out.toByteArray()));
+        List<Object> streamed = SequenceReader.stream(input, config, false).collect(Collectors.toList());
+        assert vehicles.equals(streamed) : "Streamed rows not equal";
+
+        // 4. Self-referencing types end with the last non-null level
+        Route.Stop last = new Route.Stop("C", null);
+        List<Route.Stop> stops = Arrays.asList(new Route.Stop("A", new Route.Stop("B", last)), last, null);
+        assertRoundTrip(new Route("chain", stops), config);
+        assertRoundTrip(new Route("empty", Arrays.asList(new Route.Stop("A", null), null)), config);
+
+        // 5. Rows and nested values of different types are written as objects
+        assertRoundTrip(new Route("mixed", Arrays.asList(new Route.Stop("A", null), new Route.Depot("D", 4))), config);
+        assertRoundTrip(new Route("nested", Arrays.asList(new Route.Stop("A", new Route.Depot("D", 2)),
+                new Route.Stop("B", null))), config);
+    }
+
+    private static void assertRoundTrip(Route route, OSharedConfiguration config)
+            throws ReflectiveOperationException, IOException {
+        Marshaller<Route> marshaller = Objection.createMarshaller(config);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.marshall(route, Objection.createDataOutput(out));
+        assert out.size() == marshaller.computeSize(route) : "Wrong size";
+
+        DataInput input = Objection.createDataInput(new ByteArrayInputStream(out.toByteArray()));
+        assert route.equals(marshaller.unmarshall(input, config).newInstance()) : "Not equal";
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.*;
+import io.github.proto4j.test.objection.model.Palette;
+import io.github.proto4j.test.objection.model.Primitives;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//! Model class: .model.Primitives
+public class ConfigurationTest {
+
+    public static void main(String[] args) throws Exception {
+        // 1. Builder and snapshots
+        OSharedConfiguration built = OSharedConfiguration.builder()
+                .addType(Palette.Color.class)
+                .build();
+        assert built.isRegistered(Palette.Color.class.getName());
+
+        BasicSharedConfiguration config = (BasicSharedConfiguration) built;
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+        config.addType(Palette.Color.class);
+        assert config.getSnapshot() == snapshot : "Registered type was added again";
+        try {
+            config.getSerializers().clear();
+            assert false : "Snapshot was modified";
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        config.addType(Palette.Status.class);
+        assert config.getSnapshot() != snapshot;
+        assert !snapshot.isRegistered(Palette.Status.class.getName()) : "Snapshot was modified";
+
+        // 2. Registration while marshalling
+        Marshaller<Primitives> marshaller = Objection.createMarshaller(config);
+        Primitives p0 = new Primitives(1, 2.2f, 3.3, (char) 4, (byte) 5, (short) 6, 7);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 2000; j++) {
+                        ByteArrayOutputStream file = new ByteArrayOutputStream();
+                        marshaller.marshall(p0, new DataOutputStream(file));
+                        DataInput input = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+                        assert p0.equals(marshaller.getInstance(input, config));
+                    }
+                    return null;
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                while (running.get()) {
+                    // serializers that are never selected
+                    config.addSerializer(new BasicObjectSerializer() {
+                        @Override
+                        public void writeObject(DataOutput dataOutput, Object writableObject,
+                                                OSerializationContext ctx) {
+                        }
+
+                        @Override
+                        public boolean accept(Class<?> type) {
+                            return false;
+                        }
+                    });
+                }
+            });
+            for (Future<?> result : results) {
+                result.get();
+            }
+            running.set(false);
+            writer.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.DeltaMarshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.test.objection.model.Vehicle;
+
+import java.io.*;
+
+//! Model class: .model.Vehicle
+public class DeltaTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        DeltaMarshaller<Vehicle> marshaller = Objection.createDeltaMarshaller(config);
+
+        Vehicle v0 = new Vehicle();
+        v0.id = "V-0042"; v0.model = "Transit"; v0.owner = "Depot North"; v0.route = "R12";
+        v0.seats = 9; v0.doors = 4; v0.gear = 3; v0.passengers = 5;
+        v0.odometer = 120_000; v0.updated = 1000; v0.speed = 48.5; v0.heading = 90;
+        v0.fuel = 0.75; v0.temperature = 21.5; v0.pressure = 2.4f; v0.load = 0.3f;
+        v0.lane = 'B'; v0.position = new Vehicle.Position(52.52, 13.40);
+
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        marshaller.marshall(v0, Objection.createDataOutput(full));
+
+        // 1. Only two fields changed
+        Vehicle v1 = v0.copy();
+        v1.speed = 50.0;
+        v1.updated = 1001;
+        byte[] delta = write(marshaller, v0, v1);
+        assert delta.length < full.size() / 4 : "Delta too large: " + delta.length;
+        assert delta.length == marshaller.computeDeltaSize(v0, v1) : "Wrong delta size";
+        assert v1.equals(read(marshaller, v0, delta, config)) : "Not equal";
+
+        // 2. Nested objects are written as a delta as well
+        Vehicle v2 = v1.copy();
+        v2.position.longitude = 13.41;
+        v2.owner = null;
+        assert v2.equals(read(marshaller, v1, write(marshaller, v1, v2), config)) : "Nested not equal";
+
+        Vehicle v3 = v2.copy();
+        v3.position = null;
+        Vehicle v4 = v3.copy();
+        v4.position = new Vehicle.Position(1, 2);
+        assert v3.equals(read(marshaller, v2, write(marshaller, v2, v3), config)) : "Null not equal";
+        assert v4.equals(read(marshaller, v3, write(marshaller, v3, v4), config)) : "Full nested not equal";
+        assert write(marshaller, v1, v2).length == marshaller.computeDeltaSize(v1, v2) : "Wrong nested size";
+        assert write(marshaller, v3, v4).length == marshaller.computeDeltaSize(v3, v4) : "Wrong full size";
+
+        // 3. No changes at all
+        assert write(marshaller, v4, v4.copy()).length == 1 + 2 * Integer.BYTES + 2 * 3;
+
+        // 4. Delta against the cached encoding of the base
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.marshallDelta(full.toByteArray(), v1, Objection.createDataOutput(out));
+        assert v1.equals(read(marshaller, v0, out.toByteArray(), config)) : "Encoded base not equal";
+    }
+
+    private static byte[] write(DeltaMarshaller<Vehicle> marshaller, Vehicle base, Vehicle value)
+            throws ReflectiveOperationException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.marshallDelta(base, value, Objection.createDataOutput(out));
+        return out.toByteArray();
+    }
+
+    private static Vehicle read(DeltaMarshaller<Vehicle> marshaller, Vehicle base, byte[] delta,
+                                OSharedConfiguration config) throws IOException {
+        DataInput input = Objection.createDataInput(new ByteArrayInputStream(delta));
+        return marshaller.unmarshallDelta(base, input, config);
+    }
+}
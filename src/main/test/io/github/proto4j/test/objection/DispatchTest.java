@@ -0,0 +1,65 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.*;
+import io.github.proto4j.objection.serial.SequenceSerializer;
+
+import java.io.DataOutput;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DispatchTest {
+
+    public static void main(String[] args) {
+        ObjectSerializer lists = new NamedSerializer();
+        ObjectSerializer deques = new NamedSerializer();
+        NamedSerializer sets = new NamedSerializer() {
+            @Override
+            public boolean accept(Class<?> type) {
+                accepted.incrementAndGet();
+                return Set.class.isAssignableFrom(type);
+            }
+        };
+
+        BasicSharedConfiguration config = (BasicSharedConfiguration) OSharedConfiguration.builder()
+                .addSerializer(ArrayList.class, lists)
+                .addSerializer(Deque.class, deques)
+                .build();
+
+        // 1. Exact types and their subtypes
+        assert config.forType(ArrayList.class) == lists;
+        assert config.forType(MyList.class) == lists : "Superclass not resolved";
+        assert config.forType(ArrayDeque.class) == deques : "Interface not resolved";
+        assert config.forType(LinkedList.class) == deques : "Interface not resolved";
+        assert config.forType(Vector.class) instanceof SequenceSerializer.CollectionSerializer;
+
+        // 2. Priorities
+        config.addSerializer(sets);
+        assert config.forType(HashSet.class) instanceof SequenceSerializer.CollectionSerializer;
+        config.addSerializer(sets, 10);
+        assert config.forType(HashSet.class) == sets : "Priority ignored";
+        assert config.getSerializers().get(0) == sets;
+
+        // 3. Memoized per class
+        int calls = sets.accepted.get();
+        for (int i = 0; i < 100; i++) {
+            assert config.forType(TreeSet.class) == sets;
+        }
+        assert sets.accepted.get() == calls + 1 : "Lookup not memoized";
+    }
+
+    static class MyList extends ArrayList<Object> {
+    }
+
+    static class NamedSerializer extends BasicObjectSerializer {
+        final AtomicInteger accepted = new AtomicInteger();
+
+        @Override
+        public void writeObject(DataOutput dataOutput, Object writableObject, OSerializationContext ctx) {
+        }
+
+        @Override
+        public boolean accept(Class<?> type) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.test.objection.model.Palette;
+import io.github.proto4j.test.objection.model.Palette.Color;
+import io.github.proto4j.test.objection.model.Palette.Status;
+
+import java.io.*;
+import java.util.*;
+
+//! Model class: .model.Palette
+public class EnumTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        Marshaller<Palette> marshaller = Objection.createMarshaller();
+
+        EnumMap<Color, String> names = new EnumMap<>(Color.class);
+        names.put(Color.RED, "red");
+        names.put(Color.BLUE, null);
+        names.put(Color.ORANGE, "orange");
+        EnumMap<Status, Integer> counts = new EnumMap<>(Status.class);
+        counts.put(Status.DELETED, 3);
+        counts.put(Status.INACTIVE, 1);
+
+        Palette a0 = new Palette(Color.MAGENTA, Status.INACTIVE, EnumSet.of(Color.RED, Color.ORANGE),
+                names, counts, EnumSet.of(Color.BLACK, Color.WHITE),
+                Arrays.asList(Status.ACTIVE, null, Status.DELETED));
+        Palette a1 = check(marshaller, a0);
+        assert a1.getColors() instanceof EnumSet : "EnumSet not restored";
+        assert a1.getNames() instanceof EnumMap : "EnumMap not restored";
+
+        // empty enum collections resolve their type from the declared field
+        check(marshaller, new Palette(null, Status.DELETED, EnumSet.noneOf(Color.class),
+                new EnumMap<>(Color.class), new EnumMap<>(Status.class), new HashSet<>(), new ArrayList<>()));
+    }
+
+    private static Palette check(Marshaller<Palette> marshaller, Palette a0)
+            throws ReflectiveOperationException, IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+
+        // 1. Serialize data
+        DataOutput output = new DataOutputStream(file);
+        OSharedConfiguration config = marshaller.marshall(a0, output);
+        assert marshaller.computeSize(a0) == file.size() : "Size mismatch";
+
+        // 2. De-Serialize data
+        DataInput input = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+        Palette a1 = marshaller.getInstance(input, config);
+
+        assert a0.equals(a1) : "Not equal";
+        return a1;
+    }
+}
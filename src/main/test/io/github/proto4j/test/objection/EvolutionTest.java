@@ -0,0 +1,126 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.serial.SequenceSerializer;
+import io.github.proto4j.test.objection.model.PersonV1;
+import io.github.proto4j.test.objection.model.PersonV2;
+import io.github.proto4j.test.objection.model.PersonV3;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//! Model classes: .model.PersonV1, .model.PersonV2, .model.PersonV3
+// All versions use class names of the same length, so that the written class
+// name can be replaced to simulate a reader with a different class version.
+public class EvolutionTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        byte[] v1 = write(new PersonV1("Alice", 30, null, "alice@example.com"));
+
+        // 1. Older writer: added fields keep their defaults
+        PersonV2 p2 = read(v1, "PersonV1", PersonV2.class);
+        assert "Alice".equals(p2.name) && p2.age == 30;
+        assert p2.nickname == null : "null value was not applied";
+        assert "alice@example.com".equals(p2.email);
+        assert "none".equals(p2.phone);
+
+        // 2. Removed fields are skipped, incompatible types keep their defaults
+        PersonV3 p3 = read(v1, "PersonV1", PersonV3.class);
+        assert "Alice".equals(p3.name) && "alice@example.com".equals(p3.email);
+        assert p3.age == -1;
+
+        // 3. Newer writer: unknown fields are skipped
+        p2.phone = "0123";
+        p2.nickname = "Al";
+        PersonV1 p1 = read(write(p2), "PersonV2", PersonV1.class);
+        assert "Alice".equals(p1.name) && p1.age == 30 && "Al".equals(p1.nickname);
+        assert "alice@example.com".equals(p1.email);
+
+        // 4. Reading the same data again uses the cached plan
+        for (int i = 0; i < 3; i++) {
+            assert read(v1, "PersonV1", PersonV2.class).nickname == null;
+        }
+
+        // 5. Unknown writer schema: null values are applied by their name
+        PersonV3 removed = new PersonV3();
+        removed.name = "Bob";
+        PersonV2 unknown = read(write(removed), "PersonV3", PersonV2.class);
+        assert "Bob".equals(unknown.name) && "unknown".equals(unknown.nickname);
+        assert unknown.email == null : "null value was not applied";
+
+        // 6. Columnar collections map their columns by name
+        List<PersonV1> people = Arrays.asList(new PersonV1("Alice", 30, null, "alice@example.com"), null,
+                new PersonV1("Carol", 41, "Caz", null));
+        List<?> evolved = readList(writeList(people), "PersonV1", PersonV2.class);
+        PersonV2 alice = (PersonV2) evolved.get(0);
+        PersonV2 carol = (PersonV2) evolved.get(2);
+        assert evolved.size() == 3 && evolved.get(1) == null;
+        assert "Alice".equals(alice.name) && alice.age == 30 && alice.nickname == null;
+        assert "none".equals(alice.phone) : "added field has no default value";
+        assert "Caz".equals(carol.nickname) && carol.email == null;
+
+        List<?> removed3 = readList(writeList(people), "PersonV1", PersonV3.class);
+        PersonV3 alice3 = (PersonV3) removed3.get(0);
+        assert "Alice".equals(alice3.name) && "alice@example.com".equals(alice3.email);
+        assert alice3.age == -1 : "incompatible column was not skipped";
+    }
+
+    private static <T> byte[] write(T value) throws ReflectiveOperationException, IOException {
+        Marshaller<T> marshaller = Objection.createMarshaller();
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        marshaller.marshall(value, new DataOutputStream(file));
+        return file.toByteArray();
+    }
+
+    private static <T> T read(byte[] data, String writer, Class<T> reader)
+            throws ReflectiveOperationException, IOException {
+        byte[] copy = replace(data, writer, reader.getSimpleName());
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        config.addType(reader);
+
+        Marshaller<T> marshaller = Objection.createMarshaller(config);
+        return marshaller.getInstance(new DataInputStream(new ByteArrayInputStream(copy)), config);
+    }
+
+    private static byte[] writeList(List<?> values) throws IOException {
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        OSerializationContext ctx = new BasicSerializationContext(null, null, config);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SequenceSerializer.CollectionSerializer().writeObject(Objection.createDataOutput(out), values, ctx);
+        return out.toByteArray();
+    }
+
+    private static List<?> readList(byte[] data, String writer, Class<?> reader) throws IOException {
+        byte[] copy = replace(data, writer, reader.getSimpleName());
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        config.addType(reader);
+
+        OSerializationContext ctx = new BasicSerializationContext(null, null, config);
+        DataInput input = Objection.createDataInput(new ByteArrayInputStream(copy));
+        return (List<?>) new SequenceSerializer.CollectionSerializer().getInstance(ArrayList.class, input, ctx);
+    }
+
+    private static byte[] replace(byte[] data, String from, String to) {
+        byte[] source = from.getBytes(StandardCharsets.US_ASCII);
+        byte[] target = to.getBytes(StandardCharsets.US_ASCII);
+        byte[] copy = data.clone();
+        for (int i = 0; i + source.length <= copy.length; i++) {
+            boolean match = true;
+            for (int j = 0; j < source.length && match; j++) {
+                match = copy[i + j] == source[j];
+            }
+            if (match) {
+                System.arraycopy(target, 0, copy, i, target.length);
+                return copy;
+            }
+        }
+        throw new IllegalArgumentException("Class name not found");
+    }
+}
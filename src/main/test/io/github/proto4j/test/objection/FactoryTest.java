@@ -0,0 +1,54 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.serial.CollectionFactories;
+import io.github.proto4j.test.objection.model.Containers;
+import io.github.proto4j.test.objection.model.Containers.SizedList;
+
+import java.io.*;
+import java.util.*;
+
+//! Model class: .model.Containers
+public class FactoryTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        CollectionFactories.register(SizedList.class, SizedList::new);
+        Marshaller<Containers> marshaller = Objection.createMarshaller();
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+
+        SizedList values = new SizedList(0);
+        for (int i = 0; i < 20; i++) {
+            values.add(i);
+        }
+        TreeMap<String, Integer> sorted = new TreeMap<>();
+        sorted.put("b", 2);
+        sorted.put("a", 1);
+        Containers a0 = new Containers(new HashSet<>(Set.of("Hello", "World")), sorted, values);
+
+        // 1. Serialize data
+        DataOutput output = new DataOutputStream(file);
+        OSharedConfiguration config = marshaller.marshall(a0, output);
+
+        // 2. De-Serialize data
+        DataInput input = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+        Containers a1 = marshaller.getInstance(input, config);
+
+        assert a0.equals(a1) : "Not equal";
+        assert a1.getSet() instanceof HashSet;
+        assert a1.getSorted() instanceof TreeMap;
+        assert a1.getValues().getCapacity() == values.size() : "Collection was not pre-sized";
+
+        // 3. Queues are decoded into an implementation that permits null
+        OSerializationContext ctx = new BasicSerializationContext(null, null, config);
+        Queue<String> queue = new LinkedList<>(Arrays.asList("first", null, "last"));
+        file.reset();
+        config.forType(Queue.class).writeObject(output, queue, ctx);
+        input = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+        Object decoded = config.forType(Queue.class).getInstance(Deque.class, input, ctx);
+        assert decoded instanceof Deque && queue.equals(decoded) : "Not equal";
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.flat.FlatArray;
+import io.github.proto4j.objection.flat.FlatLayout;
+import io.github.proto4j.objection.flat.FlatRecord;
+import io.github.proto4j.test.objection.model.Fleet;
+import io.github.proto4j.test.objection.model.Primitives;
+import io.github.proto4j.test.objection.model.Tick;
+
+import java.io.InvalidClassException;
+import java.nio.ByteBuffer;
+
+//! Model class: .model.Tick, .model.Primitives
+public class FlatTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, InvalidClassException {
+        FlatLayout layout = FlatLayout.of(Tick.class);
+        assert layout.getRecordSize() == 8 + 4 + 8 + 8 + 4 + 2 + 1 : "Wrong record size";
+        assert FlatLayout.isFlat(Tick.class) && !FlatLayout.isFlat(Fleet.class);
+        try {
+            FlatLayout.of(Fleet.class);
+            assert false : "Non-primitive fields accepted";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        Tick[] ticks = new Tick[1000];
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = new Tick(1000L + i, i % 10, 100 + i / 100.0, 100.5 + i / 100.0, i, i % 2 == 0 ? 'B' : 'S', i == 999);
+        }
+        ByteBuffer buffer = FlatArray.encode(layout, ticks);
+        assert buffer.remaining() == FlatArray.sizeOf(layout, ticks.length);
+
+        // 1. Random access without creating objects
+        FlatArray array = FlatArray.wrap(buffer, layout);
+        assert array.size() == 1000;
+        int bid = layout.indexOf("bid");
+        int side = layout.indexOf("side");
+        FlatRecord record = new FlatRecord(layout);
+        assert array.get(512, record).getDouble(bid) == 105.12;
+        assert record.getChar(side) == 'B' && !record.getBoolean(layout.indexOf("last"));
+        assert array.get(999, record).getBoolean(layout.indexOf("last"));
+        assert ticks[321].equals(array.materialize(321)) : "Not equal";
+        try {
+            record.getInt(bid);
+            assert false : "Wrong field type accepted";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        // 2. Arrays of another layout are rejected
+        try {
+            FlatArray.wrap(buffer, FlatLayout.of(Primitives.class));
+            assert false : "Wrong layout accepted";
+        } catch (InvalidClassException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.model.OSchema;
+import io.github.proto4j.test.objection.model.ArrayModel;
+import io.github.proto4j.test.objection.model.Token;
+
+import java.io.*;
+
+//! Model class: .model.Token, .model.ArrayModel
+public class InstantiationTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        Token a0 = new Token(42, "answer");
+        int created = Token.created;
+        assert a0.equals(check(a0)) : "Not equal";
+        assert Token.created == created + 1 : "No-arg constructor not called";
+
+        // ArrayModel has no no-arg constructor
+        ArrayModel b0 = new ArrayModel(new int[]{1, 2, 3}, new String[]{"a", "b"});
+        try {
+            check(b0);
+            assert false : "Created instance without constructor";
+        } catch (NullPointerException e) {
+            // expected
+        }
+
+        OSchema.setConstructorFreeAllocation(true);
+        try {
+            assert b0.equals(check(b0)) : "Not equal";
+        } finally {
+            OSchema.setConstructorFreeAllocation(false);
+        }
+    }
+
+    private static <V> V check(V a0) throws ReflectiveOperationException, IOException {
+        Marshaller<V> marshaller = Objection.createMarshaller();
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+
+        // 1. Serialize data
+        DataOutput output = new DataOutputStream(file);
+        OSharedConfiguration config = marshaller.marshall(a0, output);
+
+        // 2. De-Serialize data
+        DataInput input = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+        return marshaller.getInstance(input, config);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.BasicSharedConfiguration;
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.ParallelOptions;
+import io.github.proto4j.objection.serial.SequenceReader;
+import io.github.proto4j.test.objection.model.Primitives;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+//! Model class: .model.Primitives
+public class LazyTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        BasicSharedConfiguration config = (BasicSharedConfiguration) Objection.getDefaultConfiguration();
+        config.setParallelOptions(ParallelOptions.defaults().withThreshold(64).withChunkSize(64));
+        List<Long> values = IntStream.range(0, 1000).mapToObj(Long::valueOf).collect(Collectors.toList());
+
+        // 1. Chunked sequences are sized and can be split
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        config.forType(ArrayList.class).writeObject(new DataOutputStream(file), values,
+                new BasicSerializationContext(null, null, config));
+
+        Spliterator<Long> spliterator = SequenceReader.spliterator(input(file), config);
+        assert spliterator.hasCharacteristics(Spliterator.SIZED);
+        assert spliterator.getExactSizeIfKnown() == values.size();
+        Spliterator<Long> prefix = spliterator.trySplit();
+        assert prefix != null && prefix.estimateSize() + spliterator.estimateSize() == values.size();
+
+        List<Long> copy = SequenceReader.<Long>stream(input(file), config, true).collect(Collectors.toList());
+        assert values.equals(copy) : "Not equal";
+
+        // 2. Framed objects are read until the end of the input
+        file.reset();
+        Marshaller<Primitives> marshaller = Objection.createMarshaller();
+        DataOutput output = new DataOutputStream(file);
+        OSharedConfiguration readConfig = null;
+        for (int i = 0; i < 100; i++) {
+            readConfig = marshaller.marshall(new Primitives(i, 2.2f, 3.3, (char) 4, (byte) 5, (short) 6, 7), output);
+        }
+        assert marshaller.stream(input(file), readConfig).count() == 100;
+
+        // 3. Truncated objects are reported
+        byte[] data = file.toByteArray();
+        DataInput truncated = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 3));
+        try {
+            marshaller.stream(truncated, readConfig).count();
+            assert false : "Expected an error";
+        } catch (UncheckedIOException e) {
+            assert e.getCause() instanceof EOFException;
+        }
+    }
+
+    private static DataInput input(ByteArrayOutputStream file) {
+        return new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.log.LogOptions;
+import io.github.proto4j.objection.log.ObjectLog;
+import io.github.proto4j.test.objection.model.Primitives;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+//! Model class: .model.Primitives
+public class LogTest {
+
+    public static void main(String[] args) throws Exception {
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        LogOptions options = LogOptions.defaults().withSegmentSize(4096);
+        Path directory = Files.createTempDirectory("objection-log");
+        try {
+            // 1. Single and batched appends across several segments
+            try (ObjectLog<Primitives> log = ObjectLog.open(directory, Objection.createMarshaller(config), config, options)) {
+                for (int i = 0; i < 100; i++) {
+                    assert log.append(entry(i)) == i : "Wrong sequence";
+                }
+                List<Primitives> batch = new ArrayList<>();
+                for (int i = 100; i < 300; i++) {
+                    batch.add(entry(i));
+                }
+                assert log.appendAll(batch) == 100;
+                assert log.getNextSequence() == 300;
+                assert log.getSegmentCount() > 1 : "No segments created";
+                assert entry(7).equals(log.read(7)) && entry(250).equals(log.read(250)) : "Not equal";
+            }
+
+            // 2. Reopening keeps all records
+            try (ObjectLog<Primitives> log = ObjectLog.open(directory, Objection.createMarshaller(config), config, options)) {
+                assert log.getNextSequence() == 300 : "Records lost";
+                assert entry(299).equals(log.read(299));
+                assert log.append(entry(300)) == 300;
+            }
+
+            // 3. A torn record and a missing index entry at the tail
+            Path last;
+            try (Stream<Path> files = Files.list(directory)) {
+                last = files.filter(p -> p.toString().endsWith(".log")).max(Comparator.naturalOrder()).get();
+            }
+            Path index = Path.of(last.toString().replace(".log", ".idx"));
+            try (RandomAccessFile file = new RandomAccessFile(index.toFile(), "rw")) {
+                file.setLength(file.length() - Long.BYTES);
+            }
+            try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+                file.seek(file.length());
+                file.writeInt(1000);
+                file.writeInt(42);
+            }
+            try (ObjectLog<Primitives> log = ObjectLog.open(directory, Objection.createMarshaller(config), config, options)) {
+                assert log.getNextSequence() == 301 : "Not recovered: " + log.getNextSequence();
+                assert entry(300).equals(log.read(300));
+                assert log.append(entry(301)) == 301;
+                assert entry(301).equals(log.read(301));
+            }
+
+            // 4. Concurrent appenders share their syncs
+            LogOptions interval = options.withSyncPolicy(LogOptions.SyncPolicy.INTERVAL)
+                    .withSyncInterval(5, TimeUnit.MILLISECONDS);
+            for (LogOptions concurrent : List.of(options, interval)) {
+                try (ObjectLog<Primitives> log = ObjectLog.open(directory, Objection.createMarshaller(config), config, concurrent)) {
+                    long first = log.getNextSequence();
+                    ExecutorService executor = Executors.newFixedThreadPool(4);
+                    List<Future<Long>> sequences = new ArrayList<>();
+                    for (int i = 0; i < 40; i++) {
+                        int value = i;
+                        sequences.add(executor.submit(() -> log.append(entry(value))));
+                    }
+                    Set<Long> unique = new HashSet<>();
+                    for (int i = 0; i < sequences.size(); i++) {
+                        long sequence = sequences.get(i).get();
+                        assert unique.add(sequence) && entry(i).equals(log.read(sequence)) : "Wrong record";
+                    }
+                    executor.shutdown();
+                    assert log.getNextSequence() == first + 40;
+                    log.sync();
+                }
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static Primitives entry(int i) {
+        return new Primitives(i, i * 1.5f, i * 2.5, (char) (i % 100), (byte) i, (short) i, i * 10L);
+    }
+}
@@ -7,6 +7,7 @@ import io.github.proto4j.test.objection.model.Maps;
 
 import java.io.*;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class MapsTest {
@@ -29,6 +30,19 @@ public class MapsTest {
         Maps a1 = marshaller.getInstance(input, config);
 
         assert a0.equals(a1) : "Not equal"; // see ArrayModel::equals
+
+        // 3. Entries of larger maps are streamed in chunks
+        Map<String, Long> large = new LinkedHashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            large.put("key" + i, i % 7 == 0 ? null : i);
+        }
+        Maps b0 = new Maps(large);
+        file.reset();
+        config = marshaller.marshall(b0, new DataOutputStream(file));
+        assert marshaller.computeSize(b0) == file.size() : "Size mismatch";
+
+        input = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+        assert b0.equals(marshaller.getInstance(input, config)) : "Not equal";
     }
 
 }
@@ -0,0 +1,168 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.net.MessageOptions;
+import io.github.proto4j.objection.net.MessageReader;
+import io.github.proto4j.objection.net.MessageWriter;
+import io.github.proto4j.test.objection.model.Primitives;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//! Model class: .model.Primitives
+public class MessageTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int MESSAGES = 2000;
+
+    public static void main(String[] args) throws Exception {
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        Marshaller<Primitives> marshaller = Objection.createMarshaller(config);
+        MessageOptions options = MessageOptions.defaults();
+
+        // 1. Concurrent producers over a socket; messages of each producer stay in order
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             Socket client = new Socket(server.getInetAddress(), server.getLocalPort());
+             Socket peer = server.accept()) {
+            MessageWriter<Primitives> writer = MessageWriter.forSocket(client, marshaller, options);
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                int producer = p;
+                Thread thread = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < MESSAGES; i++) {
+                            writer.send(entry(producer, i));
+                        }
+                    } catch (IOException | ReflectiveOperationException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                producers.add(thread);
+                thread.start();
+            }
+
+            MessageReader<Primitives> reader = MessageReader.forSocket(peer, marshaller, config, options);
+            int[] next = new int[PRODUCERS];
+            for (int i = 0; i < PRODUCERS * MESSAGES; i++) {
+                Primitives value = reader.receive();
+                assert value != null : "Stream ended early";
+                boolean expected = false;
+                for (int p = 0; p < PRODUCERS && !expected; p++) {
+                    if (next[p] < MESSAGES && value.equals(entry(p, next[p]))) {
+                        next[p]++;
+                        expected = true;
+                    }
+                }
+                assert expected : "Out of order";
+            }
+            for (Thread thread : producers) {
+                thread.join();
+            }
+            writer.close();
+            assert reader.receive() == null : "Expected end of stream";
+        }
+
+        // 2. Small messages are coalesced into a few writes
+        CountingStream sink = new CountingStream();
+        MessageWriter<Primitives> writer = new MessageWriter<>(sink, marshaller,
+                options.withLinger(1, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            writer.send(entry(0, i));
+        }
+        assert sink.writes.get() == 0 : "Written before linger or flush";
+        writer.flush();
+        assert sink.writes.get() == 1 : "Not batched: " + sink.writes.get();
+
+        // 3. The linger timer writes pending messages without a flush
+        writer = new MessageWriter<>(sink, marshaller, options.withLinger(5, TimeUnit.MILLISECONDS));
+        writer.send(entry(0, 100));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sink.writes.get() == 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assert sink.writes.get() == 2 : "Linger timer did not flush";
+
+        MessageReader<Primitives> reader = new MessageReader<>(new ByteArrayInputStream(sink.toByteArray()),
+                marshaller, config, options);
+        for (int i = 0; i <= 100; i++) {
+            assert entry(0, i).equals(reader.receive()) : "Not equal";
+        }
+        assert reader.receive() == null;
+
+        // 4. Oversized frames are rejected on both sides
+        MessageWriter<Primitives> small = new MessageWriter<>(new ByteArrayOutputStream(), marshaller,
+                options.withMaxFrameSize(8));
+        try {
+            small.send(entry(0, 0));
+            assert false : "Frame size not checked";
+        } catch (IOException expected) {
+            // expected
+        }
+        reader = new MessageReader<>(new ByteArrayInputStream(sink.toByteArray()), marshaller, config,
+                options.withMaxFrameSize(8));
+        try {
+            reader.receive();
+            assert false : "Frame size not checked";
+        } catch (IOException expected) {
+            // expected
+        }
+
+        // 5. Messages sent while closing are either written or rejected
+        ByteArrayOutputStream closing = new ByteArrayOutputStream();
+        MessageWriter<Primitives> closed = new MessageWriter<>(closing, marshaller,
+                options.withLinger(1, TimeUnit.SECONDS));
+        AtomicInteger sent = new AtomicInteger();
+        List<Thread> senders = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < MESSAGES; i++) {
+                        closed.send(entry(0, i));
+                        sent.incrementAndGet();
+                    }
+                } catch (IOException | ReflectiveOperationException e) {
+                    // rejected after close
+                }
+            });
+            senders.add(thread);
+            thread.start();
+        }
+        while (sent.get() == 0) {
+            Thread.sleep(1);
+        }
+        closed.close();
+        for (Thread thread : senders) {
+            thread.join();
+        }
+        reader = new MessageReader<>(new ByteArrayInputStream(closing.toByteArray()), marshaller, config, options);
+        int received = 0;
+        while (reader.receive() != null) {
+            received++;
+        }
+        assert received == sent.get() : "Lost " + (sent.get() - received) + " messages";
+    }
+
+    private static Primitives entry(int producer, int i) {
+        return new Primitives(i, i * 1.5f, i * 2.5, (char) (i % 100), (byte) producer, (short) i, i * 10L);
+    }
+
+    private static class CountingStream extends ByteArrayOutputStream {
+        final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writes.incrementAndGet();
+            super.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSharedConfiguration;
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.metrics.ObjectionMetrics;
+import io.github.proto4j.objection.metrics.TypeMetrics;
+import io.github.proto4j.test.objection.model.Primitives;
+
+import javax.management.ObjectName;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+
+//! Model class: .model.Primitives
+public class MetricsTest {
+
+    public static void main(String[] args) throws Exception {
+        BasicSharedConfiguration config = (BasicSharedConfiguration) Objection.getDefaultConfiguration();
+        ObjectionMetrics metrics = new ObjectionMetrics();
+        config.setInstrumentation(metrics);
+
+        Marshaller<Primitives> marshaller = Objection.createMarshaller(config);
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        Primitives p0 = new Primitives(1, 2.2f, 3.3, (char) 4, (byte) 5, (short) 6, 7);
+
+        // 1. Serialize and de-serialize data
+        marshaller.marshall(p0, new DataOutputStream(file));
+        DataInput input = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+        Primitives p1 = marshaller.getInstance(input, config);
+        assert p0.equals(p1);
+
+        // 2. Check the recorded values
+        assert metrics.getMarshallCount() == 1;
+        assert metrics.getUnmarshallCount() == 1;
+        assert metrics.getBytesWritten() == file.size();
+        assert metrics.getBytesRead() == file.size();
+
+        TypeMetrics pm = metrics.get(Primitives.class);
+        assert pm != null && pm.getObjectsWritten() == 1 && pm.getObjectsRead() == 1;
+        assert pm.getBytesWritten() == file.size() : pm;
+        assert metrics.get(Integer.class).getBytesWritten() == Integer.BYTES;
+
+        // 3. Expose values via JMX
+        ObjectName name = metrics.registerMBean("test");
+        Object types = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TypeMetrics");
+        assert types != null;
+        metrics.unregisterMBean();
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.test.objection.model.Nullables;
+import io.github.proto4j.test.objection.model.Primitives;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//! Model class: .model.Nullables
+public class NullsTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        Marshaller<Nullables> marshaller = Objection.createMarshaller();
+
+        List<String> strings = new ArrayList<>(Arrays.asList(null, "Hello", null, "World"));
+        for (int i = 0; i < 10; i++) {
+            // fill more than one chunk
+            strings.add(i % 3 == 0 ? null : "value" + i);
+        }
+        Map<String, Long> map = new HashMap<>();
+        map.put("Hello", null);
+        map.put(null, 10L);
+        map.put("World", -11L);
+
+        check(marshaller, new Nullables(null, null, null, null, null, null));
+        check(marshaller, new Nullables("name", 1, strings, map, new String[]{null, "a", null},
+                new Primitives(1, 2.2f, 3.3, (char) 4, (byte) 5, (short) 6, 7)));
+        check(marshaller, new Nullables("name", null, Arrays.asList(null, null), new HashMap<>(),
+                new String[0], null));
+    }
+
+    private static void check(Marshaller<Nullables> marshaller, Nullables a0)
+            throws ReflectiveOperationException, IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+
+        // 1. Serialize data
+        DataOutput output = new DataOutputStream(file);
+        OSharedConfiguration config = marshaller.marshall(a0, output);
+        assert marshaller.computeSize(a0) == file.size() : "Size mismatch";
+
+        // 2. De-Serialize data
+        DataInput input = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+        Nullables a1 = marshaller.getInstance(input, config);
+
+        assert a0.equals(a1) : "Not equal";
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.buffer.OffHeapOutput;
+import io.github.proto4j.test.objection.model.Nullables;
+import io.github.proto4j.test.objection.model.Primitives;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+//! Model class: .model.Nullables
+public class OffHeapTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            strings.add("value-" + i);
+        }
+        Nullables n0 = new Nullables("off-heap", 42, strings, Map.of("a", 1L), new String[]{"x", null},
+                new Primitives(1, 2.2f, 3.3, (char) 4, (byte) 5, (short) 6, 7));
+
+        Marshaller<Nullables> marshaller = Objection.createMarshaller();
+        ByteArrayOutputStream heap = new ByteArrayOutputStream();
+        OSharedConfiguration config = marshaller.marshall(n0, new DataOutputStream(heap));
+
+        Path file = Files.createTempFile("objection", ".bin");
+        try (OffHeapOutput output = new OffHeapOutput(64, 1024)) {
+            // 1. Serialize into chained chunks
+            marshaller.marshall(n0, output);
+            assert output.size() == heap.size();
+            assert output.buffers().length > 1 : "No chunks were chained";
+
+            // 2. Transfer the chunks with a gathering write
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                assert output.writeTo(channel) == heap.size();
+            }
+            byte[] data = Files.readAllBytes(file);
+            assert Arrays.equals(data, heap.toByteArray()) : "Different output";
+
+            DataInput input = new DataInputStream(new ByteArrayInputStream(data));
+            assert n0.equals(marshaller.getInstance(input, config));
+
+            // 3. Reuse the allocated chunks
+            long capacity = output.capacity();
+            output.reset();
+            marshaller.marshall(n0, output);
+            assert output.capacity() == capacity : "Chunks were not reused";
+
+            // 4. Non-blocking channels are rejected instead of being polled
+            Pipe pipe = Pipe.open();
+            try (Pipe.SinkChannel sink = pipe.sink(); Pipe.SourceChannel source = pipe.source()) {
+                sink.configureBlocking(false);
+                output.writeTo(sink);
+                assert false : "Expected an error";
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+
+            output.close();
+            try {
+                output.writeInt(1);
+                assert false : "Expected an error";
+            } catch (IOException e) {
+                // expected
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.BasicSharedConfiguration;
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.ParallelOptions;
+import io.github.proto4j.test.objection.model.Nullables;
+import io.github.proto4j.test.objection.model.Primitives;
+import io.github.proto4j.test.objection.model.Samples;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+//! Model classes: .model.Nullables, .model.Samples
+public class ParallelTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        List<String> strings = new ArrayList<>();
+        String[] array = new String[1000];
+        double[] numbers = new double[1000];
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            strings.add(i % 7 == 0 ? null : "value-" + i);
+            array[i] = i % 3 == 0 ? null : Integer.toString(i);
+            numbers[i] = i * 0.5;
+            ids.add(i);
+        }
+
+        checkRoundTrip(new Nullables("parallel", 1, strings, Map.of("a", 1L), array,
+                new Primitives(1, 2.2f, 3.3, (char) 4, (byte) 5, (short) 6, 7)));
+        checkRoundTrip(new Samples(numbers, array, ids));
+        // sequences below the threshold are written sequentially
+        checkRoundTrip(new Samples(new double[]{1, 2, 3}, new String[]{"a", null}, List.of(1, 2)));
+
+        // corrupted chunk headers are rejected before any buffer is allocated
+        BasicSharedConfiguration config = (BasicSharedConfiguration) Objection.getDefaultConfiguration();
+        config.setParallelOptions(ParallelOptions.defaults().withThreshold(100).withChunkSize(50));
+        OSerializationContext ctx = new BasicSerializationContext(null, null, config);
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        config.forType(List.class).writeObject(new DataOutputStream(file), ids, ctx);
+
+        byte[] data = file.toByteArray();
+        // type_len, type, layout and length precede the chunk size
+        int header = 1 + Integer.class.getName().length() + 1 + Integer.BYTES;
+        int count = header + Integer.BYTES + 3;
+        byte chunks = data[count];
+        data[count] = 1;
+        assertCorrupted(data, config, ctx);
+        // a single chunk that is larger than the maximum chunk size
+        data[header] = 0x7f;
+        assertCorrupted(data, config, ctx);
+        data[header] = 0;
+        data[count] = chunks;
+        // the length of the first chunk: negative and too large
+        data[count + 1] = (byte) 0x80;
+        assertCorrupted(data, config, ctx);
+        data[count + 1] = (byte) 0x7f;
+        assertCorrupted(data, config, ctx);
+
+        try {
+            ParallelOptions.defaults().withChunkSize(Integer.MAX_VALUE);
+            assert false : "Chunk size not checked";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    private static void assertCorrupted(byte[] data, OSharedConfiguration config, OSerializationContext ctx)
+            throws IOException {
+        try {
+            config.forType(List.class).getInstance(List.class,
+                    new DataInputStream(new ByteArrayInputStream(data)), ctx);
+            assert false : "Corrupted stream accepted";
+        } catch (StreamCorruptedException | EOFException e) {
+            // expected
+        }
+    }
+
+    private static <T> void checkRoundTrip(T value) throws ReflectiveOperationException, IOException {
+        BasicSharedConfiguration config = (BasicSharedConfiguration) Objection.getDefaultConfiguration();
+        config.setParallelOptions(ParallelOptions.defaults().withThreshold(100).withChunkSize(50));
+        Marshaller<T> marshaller = Objection.createMarshaller(config);
+
+        // 1. Serialize data
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        OSharedConfiguration readConfig = marshaller.marshall(value, new DataOutputStream(file));
+        assert marshaller.computeSize(value) == file.size() : "Invalid size";
+
+        // 2. De-Serialize data
+        DataInput input = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+        T copy = marshaller.getInstance(input, readConfig);
+        assert value.equals(copy) : "Not equal";
+    }
+}
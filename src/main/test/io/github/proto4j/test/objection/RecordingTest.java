@@ -0,0 +1,110 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.test.objection.model.Fleet;
+import io.github.proto4j.test.objection.model.Vehicle;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+//! Model classes: .model.Fleet, .model.Vehicle
+public class RecordingTest {
+
+    private static final String PREFIX = "io.github.proto4j.objection.";
+
+    public static void main(String[] args) throws Exception {
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Vehicle v = new Vehicle();
+            v.id = "V-" + i;
+            vehicles.add(v);
+        }
+        Fleet large = new Fleet("large", vehicles);
+        Fleet small = new Fleet("small", null);
+        Marshaller<Fleet> marshaller = Objection.createMarshaller(config);
+
+        // 1. All events of a single recording
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<RecordedEvent> events;
+        try (Recording recording = newRecording()) {
+            recording.start();
+            marshaller.marshall(large, new DataOutputStream(out));
+            marshaller.marshall(small, new DataOutputStream(OutputStream.nullOutputStream()));
+            DataInput input = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+            assert large.equals(marshaller.getInstance(input, config)) : "Not equal";
+            events = stop(recording);
+        }
+
+        List<RecordedEvent> marshalls = filter(events, "Marshall");
+        assert marshalls.size() == 2 : marshalls;
+        assert Fleet.class.getName().equals(marshalls.get(0).getString("typeName"));
+        assert marshalls.get(0).getLong("bytes") == out.size() : marshalls.get(0);
+
+        List<RecordedEvent> unmarshalls = filter(events, "Unmarshall");
+        assert unmarshalls.size() == 1 && unmarshalls.get(0).getLong("bytes") == out.size() : unmarshalls;
+
+        // only the large fleet exceeds the frame size
+        List<RecordedEvent> frames = filter(events, "LargeFrame");
+        assert frames.size() == 1 : frames;
+        assert Fleet.class.getName().equals(frames.get(0).getString("typeName"));
+        assert frames.get(0).getLong("bytes") == out.size() : frames.get(0);
+
+        List<String> schemas = typeNames(filter(events, "SchemaBuild"));
+        assert schemas.contains(Fleet.class.getName()) && schemas.contains(Vehicle.class.getName()) : schemas;
+
+        // misses are reported once per type, although the type is resolved for each object
+        List<String> misses = typeNames(filter(events, "SerializerLookupMiss"));
+        assert misses.stream().filter(Vehicle.class.getName()::equals).count() == 1 : misses;
+
+        // 2. Misses are reported again to the next recording
+        try (Recording recording = newRecording()) {
+            recording.start();
+            marshaller.marshall(large, new DataOutputStream(OutputStream.nullOutputStream()));
+            events = stop(recording);
+        }
+        misses = typeNames(filter(events, "SerializerLookupMiss"));
+        assert misses.stream().filter(Vehicle.class.getName()::equals).count() == 1 : misses;
+        assert filter(events, "SchemaBuild").isEmpty() : "Schema was built twice";
+    }
+
+    private static Recording newRecording() {
+        Recording recording = new Recording();
+        recording.enable(PREFIX + "Marshall").withThreshold(null);
+        recording.enable(PREFIX + "Unmarshall").withThreshold(null);
+        recording.enable(PREFIX + "SchemaBuild").withThreshold(null);
+        recording.enable(PREFIX + "LargeFrame").with("frameSize", "1 kB");
+        recording.enable(PREFIX + "SerializerLookupMiss");
+        return recording;
+    }
+
+    private static List<RecordedEvent> stop(Recording recording) throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("objection", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(PREFIX + name))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> typeNames(List<RecordedEvent> events) {
+        return events.stream().map(event -> event.getString("typeName")).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.test.objection.model.Palette.Color;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//! Model class: .model.Palette.Color
+public class ResolutionTest {
+
+    public static void main(String[] args) throws Exception {
+        OSharedConfiguration writer = Objection.getDefaultConfiguration();
+
+        // 1. Basic value types can be read with any configuration
+        List<Integer> numbers = Arrays.asList(1, null, 3);
+        byte[] data = write(writer, numbers);
+        assert numbers.equals(read(Objection.getDefaultConfiguration(), List.class, data));
+
+        // 2. Other element types have to be registered
+        Map<Color, String> names = new HashMap<>();
+        names.put(Color.RED, "red");
+        names.put(Color.BLUE, "blue");
+        byte[] map = write(writer, names);
+
+        OSharedConfiguration reader = Objection.getDefaultConfiguration();
+        try {
+            read(reader, Map.class, map);
+            assert false : "Resolved unregistered type";
+        } catch (InvalidClassException e) {
+            // expected
+        }
+        reader.addType(Color.class);
+        assert names.equals(read(reader, Map.class, map));
+
+        // 3. Concurrent readers share the resolved types
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 256; i++) {
+                results.add(executor.submit(() -> read(reader, Map.class, map)));
+            }
+            for (Future<Object> result : results) {
+                assert names.equals(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static byte[] write(OSharedConfiguration config, Object value) throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        config.forType(value.getClass()).writeObject(new DataOutputStream(file), value,
+                new BasicSerializationContext(null, null, config));
+        return file.toByteArray();
+    }
+
+    private static Object read(OSharedConfiguration config, Class<?> type, byte[] data) throws IOException {
+        DataInput input = new DataInputStream(new ByteArrayInputStream(data));
+        return config.forType(type).getInstance(type, input, new BasicSerializationContext(null, null, config));
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.test.objection.model.ArrayModel;
+import io.github.proto4j.test.objection.model.Lists;
+import io.github.proto4j.test.objection.model.Maps;
+import io.github.proto4j.test.objection.model.Primitives;
+
+import java.io.*;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+public class SizeTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        checkSize(new Primitives(1, 2.2f, 3.3, (char) 4, (byte) 5, (short) 6, 7));
+        // fixed-size schemas are cached, so compute the size twice
+        checkSize(new Primitives(8, 9.9f, 10.1, (char) 11, (byte) 12, (short) 13, 14));
+
+        checkSize(new Lists(List.of("Hello", "World"), new LinkedList<>(List.of(1, 2, 3))));
+        checkSize(new Maps(Map.of("Hello", 10L, "World", -11L)));
+        checkSize(new ArrayModel(new int[]{1, 2, 3}, new String[]{"a", "bc"}));
+    }
+
+    private static <T> void checkSize(T value) throws ReflectiveOperationException, IOException {
+        Marshaller<T> marshaller = Objection.createMarshaller();
+        long size = marshaller.computeSize(value);
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream((int) size);
+        marshaller.marshall(value, new DataOutputStream(file));
+        assert size == file.size() : value.getClass().getSimpleName() + ": " + size + " != " + file.size();
+    }
+}
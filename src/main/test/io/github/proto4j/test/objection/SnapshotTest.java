@@ -0,0 +1,50 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.Marshaller;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.model.OSchema;
+import io.github.proto4j.objection.model.OSchemaSnapshot;
+import io.github.proto4j.test.objection.model.Nullables;
+import io.github.proto4j.test.objection.model.PersonV2;
+import io.github.proto4j.test.objection.model.Primitives;
+import io.github.proto4j.test.objection.model.Token;
+
+import java.io.*;
+import java.util.List;
+
+//! Model classes: .model.Primitives, .model.Nullables, .model.PersonV2, .model.Token
+public class SnapshotTest {
+
+    public static void main(String[] args) throws ReflectiveOperationException, IOException {
+        List<Class<?>> types = List.of(Primitives.class, Nullables.class, PersonV2.class);
+        int fingerprint = OSchema.of(PersonV2.class).getFingerprint();
+
+        // 1. Create the snapshot
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        OSchemaSnapshot.write(new DataOutputStream(file), types);
+
+        // 2. Restore the schema cache
+        OSchema.clear();
+        int restored = OSchemaSnapshot.read(new DataInputStream(new ByteArrayInputStream(file.toByteArray())),
+                SnapshotTest.class.getClassLoader());
+        assert restored == types.size() : "Restored " + restored;
+        for (Class<?> type : types) {
+            assert OSchema.getCached(type) != null : type.getName();
+        }
+        assert OSchema.of(PersonV2.class).getVersion() == 1;
+        assert OSchema.of(PersonV2.class).getFingerprint() == fingerprint : "Fingerprint changed";
+
+        // 3. Restored schemas can be used for marshalling
+        Marshaller<Primitives> marshaller = Objection.createMarshaller();
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        Primitives p0 = new Primitives(1, 2.2f, 3.3, (char) 4, (byte) 5, (short) 6, 7);
+        OSharedConfiguration config = marshaller.marshall(p0, new DataOutputStream(data));
+        DataInput input = new DataInputStream(new ByteArrayInputStream(data.toByteArray()));
+        assert p0.equals(marshaller.getInstance(input, config));
+
+        // 4. Synthetic round trips with the configuration of the application
+        assert Objection.warmUp(types, config, 10) == types.size();
+        assert Objection.warmUp(List.of(Token.class), config, 2) == 1 : "Private constructor was not used";
+    }
+}
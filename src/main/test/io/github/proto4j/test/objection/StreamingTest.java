@@ -0,0 +1,78 @@
+package io.github.proto4j.test.objection; //@date 19.10.2026
+
+import io.github.proto4j.objection.BasicSerializationContext;
+import io.github.proto4j.objection.OSharedConfiguration;
+import io.github.proto4j.objection.Objection;
+import io.github.proto4j.objection.serial.SequenceReader;
+import io.github.proto4j.objection.serial.SequenceWriter;
+import io.github.proto4j.test.objection.model.Route;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+//! Model class: .model.Route
+public class StreamingTest {
+
+    public static void main(String[] args) throws IOException {
+        OSharedConfiguration config = Objection.getDefaultConfiguration();
+        List<String> expected = IntStream.range(0, 2500)
+                .mapToObj(i -> i % 11 == 0 ? null : "row-" + i)
+                .collect(Collectors.toList());
+
+        // 1. Serialize a lazily produced stream in small blocks
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        try (SequenceWriter<String> writer = new SequenceWriter<>(new DataOutputStream(file), String.class, config, 100)) {
+            writer.writeAll(Stream.iterate(0, i -> i + 1).limit(2500).map(i -> i % 11 == 0 ? null : "row-" + i));
+            assert writer.getCount() == 2500;
+        }
+
+        // 2. Decode element by element
+        SequenceReader<String> reader = new SequenceReader<>(input(file), config);
+        assert reader.getLength() == -1;
+        List<String> values = new ArrayList<>();
+        reader.forEachRemaining(values::add);
+        assert expected.equals(values) : "Not equal";
+
+        // 3. Decode as a collection
+        Object collection = config.forType(ArrayList.class)
+                .getInstance(ArrayList.class, input(file), new BasicSerializationContext(null, null, config));
+        assert expected.equals(collection) : "Not equal";
+
+        // 4. Regular collections can be decoded lazily as well
+        file.reset();
+        config.forType(ArrayList.class).writeObject(new DataOutputStream(file), expected,
+                new BasicSerializationContext(null, null, config));
+        reader = new SequenceReader<>(input(file), config);
+        assert reader.getLength() == expected.size();
+        values.clear();
+        reader.forEachRemaining(values::add);
+        assert expected.equals(values) : "Not equal";
+
+        // 5. Empty sequences only contain the terminator
+        file.reset();
+        long count = SequenceWriter.write(new DataOutputStream(file), Integer.class, List.<Integer>of().iterator(), config);
+        assert count == 0;
+        Iterator<Integer> empty = new SequenceReader<>(input(file), config);
+        assert !empty.hasNext();
+        assert ((Collection<?>) config.forType(List.class).getInstance(List.class, input(file),
+                new BasicSerializationContext(null, null, config))).isEmpty();
+
+        // 6. Elements without a dedicated serializer are written as objects
+        file.reset();
+        List<Route.Stop> stops = List.of(new Route.Stop("A", new Route.Stop("B", null)), new Route.Stop("C", null));
+        SequenceWriter.write(new DataOutputStream(file), Route.Stop.class, stops.iterator(), config);
+        List<Route.Stop> decoded = new ArrayList<>();
+        new SequenceReader<Route.Stop>(input(file), config).forEachRemaining(decoded::add);
+        assert stops.equals(decoded) : "Not equal";
+    }
+
+    private static DataInput input(ByteArrayOutputStream file) {
+        return new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+
+@Serialize
+public class Containers {
+
+    private Set<String> set;
+    private SortedMap<String, Integer> sorted;
+    private SizedList values;
+
+    public Containers() {
+    }
+
+    public Containers(Set<String> set, SortedMap<String, Integer> sorted, SizedList values) {
+        this.set = set;
+        this.sorted = sorted;
+        this.values = values;
+    }
+
+    public Set<String> getSet() {
+        return set;
+    }
+
+    public SortedMap<String, Integer> getSorted() {
+        return sorted;
+    }
+
+    public SizedList getValues() {
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Containers that = (Containers) o;
+        return Objects.equals(set, that.set)
+                && Objects.equals(sorted, that.sorted)
+                && Objects.equals(values, that.values);
+    }
+
+    // A custom list type which stores the capacity it was created with
+    public static class SizedList extends ArrayList<Integer> {
+        private final int capacity;
+
+        public SizedList(int capacity) {
+            super(capacity);
+            this.capacity = capacity;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+    }
+}
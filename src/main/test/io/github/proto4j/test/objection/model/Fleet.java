@@ -0,0 +1,30 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.util.List;
+import java.util.Objects;
+
+@Serialize
+public class Fleet {
+
+    private String name;
+    private List<Vehicle> vehicles;
+
+    public Fleet() {
+    }
+
+    public Fleet(String name, List<Vehicle> vehicles) {
+        this.name = name;
+        this.vehicles = vehicles;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Fleet that = (Fleet) o;
+        return Objects.equals(name, that.name) && Objects.equals(vehicles, that.vehicles);
+    }
+}
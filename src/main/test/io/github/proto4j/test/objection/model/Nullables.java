@@ -0,0 +1,51 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Serialize
+public class Nullables {
+
+    private String name;
+    private Integer boxed;
+    private List<String> strings;
+    private Map<String, Long> map;
+    private String[] array;
+
+    // nested types without a serializer are written as OClass
+    private Primitives primitives;
+    private Primitives missing;
+
+    public Nullables() {
+    }
+
+    public Nullables(String name, Integer boxed, List<String> strings, Map<String, Long> map,
+                     String[] array, Primitives primitives) {
+        this.name = name;
+        this.boxed = boxed;
+        this.strings = strings;
+        this.map = map;
+        this.array = array;
+        this.primitives = primitives;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Nullables that = (Nullables) o;
+        return Objects.equals(name, that.name)
+                && Objects.equals(boxed, that.boxed)
+                && Objects.equals(strings, that.strings)
+                && Objects.equals(map, that.map)
+                && Arrays.equals(array, that.array)
+                && Objects.equals(primitives, that.primitives)
+                && Objects.equals(missing, that.missing);
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.EnumId;
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.util.*;
+
+@Serialize
+public class Palette {
+
+    public enum Color {
+        RED, GREEN, BLUE, BLACK, WHITE, CYAN, MAGENTA, YELLOW, ORANGE
+    }
+
+    public enum Status {
+        @EnumId(7) ACTIVE,
+        @EnumId(2) INACTIVE {
+            @Override
+            public String toString() {
+                return "inactive";
+            }
+        },
+        @EnumId(130) DELETED
+    }
+
+    private Color primary;
+    private Status status;
+    private EnumSet<Color> colors;
+    private EnumSet<Color> none;
+    private EnumMap<Color, String> names;
+    private EnumMap<Status, Integer> counts;
+    private Set<Color> plain;
+    private List<Status> history;
+
+    public Palette() {
+    }
+
+    public Palette(Color primary, Status status, EnumSet<Color> colors, EnumMap<Color, String> names,
+                   EnumMap<Status, Integer> counts, Set<Color> plain, List<Status> history) {
+        this.primary = primary;
+        this.status = status;
+        this.colors = colors;
+        this.none = EnumSet.noneOf(Color.class);
+        this.names = names;
+        this.counts = counts;
+        this.plain = plain;
+        this.history = history;
+    }
+
+    public EnumSet<Color> getColors() {
+        return colors;
+    }
+
+    public EnumMap<Color, String> getNames() {
+        return names;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Palette that = (Palette) o;
+        return primary == that.primary
+                && status == that.status
+                && Objects.equals(colors, that.colors)
+                && Objects.equals(none, that.none)
+                && Objects.equals(names, that.names)
+                && Objects.equals(counts, that.counts)
+                && Objects.equals(plain, that.plain)
+                && Objects.equals(history, that.history);
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+// Initial version of the evolved Person schema, see EvolutionTest
+@Serialize
+public class PersonV1 {
+
+    public String name;
+    public int age;
+    public String nickname;
+    public String email;
+
+    public PersonV1() {
+    }
+
+    public PersonV1(String name, int age, String nickname, String email) {
+        this.name = name;
+        this.age = age;
+        this.nickname = nickname;
+        this.email = email;
+    }
+}
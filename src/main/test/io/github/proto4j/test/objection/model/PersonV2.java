@@ -0,0 +1,21 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+import io.github.proto4j.objection.annotation.Version;
+
+// Adds the 'phone' field in version 1
+@Serialize
+@Version(1)
+public class PersonV2 {
+
+    public String name;
+    public int age;
+    public String nickname = "unknown";
+    public String email = "n/a";
+
+    @Version(1)
+    public String phone = "none";
+
+    public PersonV2() {
+    }
+}
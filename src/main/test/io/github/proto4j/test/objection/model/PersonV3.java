@@ -0,0 +1,15 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+// Removes the 'nickname' field and changes the type of 'age'
+@Serialize
+public class PersonV3 {
+
+    public String name;
+    public long age = -1;
+    public String email;
+
+    public PersonV3() {
+    }
+}
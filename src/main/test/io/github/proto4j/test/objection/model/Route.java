@@ -0,0 +1,81 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.util.List;
+import java.util.Objects;
+
+@Serialize
+public class Route {
+
+    private String name;
+    private List<Stop> stops;
+
+    public Route() {
+    }
+
+    public Route(String name, List<Stop> stops) {
+        this.name = name;
+        this.stops = stops;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Route that = (Route) o;
+        return Objects.equals(name, that.name) && Objects.equals(stops, that.stops);
+    }
+
+    @Serialize
+    public static class Stop {
+        public String name;
+        public Stop next;
+
+        public Stop() {
+        }
+
+        public Stop(String name, Stop next) {
+            this.name = name;
+            this.next = next;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Stop that = (Stop) o;
+            return Objects.equals(name, that.name) && Objects.equals(next, that.next);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, next);
+        }
+    }
+
+    @Serialize
+    public static class Depot extends Stop {
+        public int bays;
+
+        public Depot() {
+        }
+
+        public Depot(String name, int bays) {
+            super(name, null);
+            this.bays = bays;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return super.equals(o) && bays == ((Depot) o).bays;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + bays;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@Serialize
+public class Samples {
+
+    private double[] values;
+    private String[] labels;
+    private List<Integer> ids;
+
+    public Samples() {
+    }
+
+    public Samples(double[] values, String[] labels, List<Integer> ids) {
+        this.values = values;
+        this.labels = labels;
+        this.ids = ids;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Samples samples = (Samples) o;
+        return Arrays.equals(values, samples.values)
+                && Arrays.equals(labels, samples.labels)
+                && Objects.equals(ids, samples.ids);
+    }
+}
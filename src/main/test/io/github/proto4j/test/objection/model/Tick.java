@@ -0,0 +1,39 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+@Serialize
+public class Tick {
+
+    private long timestamp;
+    private int instrument;
+    private double bid;
+    private double ask;
+    private int volume;
+    private char side;
+    private boolean last;
+
+    public Tick() {
+    }
+
+    public Tick(long timestamp, int instrument, double bid, double ask, int volume, char side, boolean last) {
+        this.timestamp = timestamp;
+        this.instrument = instrument;
+        this.bid = bid;
+        this.ask = ask;
+        this.volume = volume;
+        this.side = side;
+        this.last = last;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Tick that = (Tick) o;
+        return timestamp == that.timestamp && instrument == that.instrument
+                && Double.compare(bid, that.bid) == 0 && Double.compare(ask, that.ask) == 0
+                && volume == that.volume && side == that.side && last == that.last;
+    }
+}
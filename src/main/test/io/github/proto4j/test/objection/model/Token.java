@@ -0,0 +1,34 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.util.Objects;
+
+@Serialize
+public class Token {
+
+    public static int created;
+
+    private final long id;
+    private final String label;
+
+    // private constructors are used as well
+    private Token() {
+        this(0, null);
+    }
+
+    public Token(long id, String label) {
+        this.id = id;
+        this.label = label;
+        created++;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Token that = (Token) o;
+        return id == that.id && Objects.equals(label, that.label);
+    }
+}
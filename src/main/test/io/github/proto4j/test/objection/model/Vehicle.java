@@ -0,0 +1,86 @@
+package io.github.proto4j.test.objection.model; //@date 19.10.2026
+
+import io.github.proto4j.objection.annotation.Serialize;
+
+import java.util.Objects;
+
+@Serialize
+public class Vehicle {
+
+    public String id;
+    public String model;
+    public String owner;
+    public String route;
+    public int seats;
+    public int doors;
+    public int gear;
+    public int passengers;
+    public long odometer;
+    public long updated;
+    public double speed;
+    public double heading;
+    public double fuel;
+    public double temperature;
+    public float pressure;
+    public float load;
+    public short errors;
+    public byte status;
+    public char lane;
+    public Position position;
+
+    public Vehicle() {
+    }
+
+    public Vehicle copy() {
+        Vehicle v = new Vehicle();
+        v.id = id; v.model = model; v.owner = owner; v.route = route;
+        v.seats = seats; v.doors = doors; v.gear = gear; v.passengers = passengers;
+        v.odometer = odometer; v.updated = updated; v.speed = speed;
+        v.heading = heading; v.fuel = fuel; v.temperature = temperature;
+        v.pressure = pressure; v.load = load; v.errors = errors; v.status = status;
+        v.lane = lane;
+        v.position = position == null ? null : new Position(position.latitude, position.longitude);
+        return v;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Vehicle that = (Vehicle) o;
+        return seats == that.seats && doors == that.doors && gear == that.gear
+                && passengers == that.passengers && odometer == that.odometer
+                && updated == that.updated && speed == that.speed
+                && heading == that.heading && fuel == that.fuel
+                && temperature == that.temperature && pressure == that.pressure
+                && load == that.load && errors == that.errors && status == that.status
+                && lane == that.lane && Objects.equals(id, that.id)
+                && Objects.equals(model, that.model) && Objects.equals(owner, that.owner)
+                && Objects.equals(route, that.route) && Objects.equals(position, that.position);
+    }
+
+    @Serialize
+    public static class Position {
+
+        public double latitude;
+        public double longitude;
+
+        public Position() {
+        }
+
+        public Position(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Position that = (Position) o;
+            return latitude == that.latitude && longitude == that.longitude;
+        }
+    }
+}